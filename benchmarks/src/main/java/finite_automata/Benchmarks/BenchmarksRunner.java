@@ -0,0 +1,37 @@
+package finite_automata.Benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options, writing the
+ * results in JSON (to jmh-result.json, unless -rf and -rff are given), so
+ * that they can be compared between the runs.
+ */
+public class BenchmarksRunner
+{
+	private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+				.parent(commandLineOptions);
+
+		if (!commandLineOptions.getResultFormat().hasValue())
+		{
+			optionsBuilder.resultFormat(ResultFormatType.JSON);
+		}
+
+		if (!commandLineOptions.getResult().hasValue())
+		{
+			optionsBuilder.result(BenchmarksRunner.DEFAULT_RESULT_FILE);
+		}
+
+		new Runner(optionsBuilder.build()).run();
+	}
+}
@@ -0,0 +1,83 @@
+package finite_automata.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+/**
+ * Measures adding all the transitions of the random deterministic automata
+ * one by one, into FiniteAutomata and into FiniteAutomataBuilder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstructionBenchmarks
+{
+	@Param({ "1000", "100000" })
+	public int statesCardinality;
+
+	private Transition[] transitions;
+
+	@Param({ "1", "4" })
+	public int transitionsPerState;
+
+	@Benchmark
+	public IFiniteAutomata addTransition() throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata
+				.setAlphabetCardinality(SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+		finiteAutomata.setStatesCardinality(this.statesCardinality);
+
+		for (Transition transition : this.transitions)
+		{
+			finiteAutomata.addTransition(transition);
+		}
+
+		return finiteAutomata;
+	}
+
+	@Benchmark
+	public IFiniteAutomata addTransitionToBuilder() throws Exception
+	{
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		finiteAutomataBuilder
+				.setAlphabetCardinality(SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+		finiteAutomataBuilder.setStatesCardinality(this.statesCardinality);
+
+		for (Transition transition : this.transitions)
+		{
+			finiteAutomataBuilder.addTransition(transition.getFromState(),
+					transition.getCharacter(), transition.getToState());
+		}
+
+		return finiteAutomataBuilder.build();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		this.transitions = SyntheticFiniteAutomata.createRandomTransitions(
+				this.statesCardinality, this.transitionsPerState);
+	}
+}
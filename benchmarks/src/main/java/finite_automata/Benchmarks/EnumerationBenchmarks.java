@@ -0,0 +1,53 @@
+package finite_automata.Benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+/**
+ * Measures enumeration of the words of the tree automata, which accepts a
+ * word per state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumerationBenchmarks
+{
+	@Param({ "2", "8" })
+	public int branching;
+
+	private IFiniteAutomata finiteAutomata;
+
+	@Param({ "1000", "100000" })
+	public int statesCardinality;
+
+	@Benchmark
+	public Set<String> getAllAcceptedWords()
+	{
+		return FiniteAutomataHelper.getAllAcceptedWords(this.finiteAutomata);
+	}
+
+	@Setup
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = SyntheticFiniteAutomata.createTree(
+				this.statesCardinality, this.branching);
+	}
+}
@@ -0,0 +1,98 @@
+package finite_automata.Benchmarks;
+
+import java.util.Random;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.PagedFiniteAutomata;
+import finite_automata.Transition;
+
+/**
+ * Measures the heap, retained by the finite automata with many states and
+ * few random transitions.
+ *
+ * Arguments: [statesCardinality [transitionsCount [--compare]]]. With
+ * --compare FiniteAutomata, which allocates the list of the transitions for
+ * every state, is measured too (it requires the large heap, e.g. -Xmx4g).
+ * It is not a JMH benchmark and is run from the shaded jar by its class name,
+ * e.g. java -cp benchmarks.jar finite_automata.Benchmarks.FootprintBenchmark.
+ */
+public class FootprintBenchmark
+{
+	private static final int DEFAULT_STATES_CARDINALITY = 10000000;
+
+	private static final int DEFAULT_TRANSITIONS_COUNT = 1000000;
+
+	private static final long SEED = 17;
+
+	private static long getUsedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		int statesCardinality = (args.length > 0) ? Integer.parseInt(args[0])
+				: FootprintBenchmark.DEFAULT_STATES_CARDINALITY;
+		int transitionsCount = (args.length > 1) ? Integer.parseInt(args[1])
+				: FootprintBenchmark.DEFAULT_TRANSITIONS_COUNT;
+		boolean compare = args.length > 2 && args[2].equals("--compare");
+
+		FootprintBenchmark.measure(new PagedFiniteAutomata(),
+				statesCardinality, transitionsCount);
+
+		if (compare)
+		{
+			FootprintBenchmark.measure(new FiniteAutomata(), statesCardinality,
+					transitionsCount);
+		}
+	}
+
+	private static void measure(IFiniteAutomata finiteAutomata,
+			int statesCardinality, int transitionsCount) throws Exception
+	{
+		long usedMemory = FootprintBenchmark.getUsedMemory();
+		long startTime = System.nanoTime();
+
+		finiteAutomata.setAlphabetCardinality(26);
+		finiteAutomata.setStatesCardinality(statesCardinality);
+
+		Random random = new Random(FootprintBenchmark.SEED);
+
+		for (int i = 0; i < transitionsCount; i++)
+		{
+			Transition transition = new Transition(
+					random.nextInt(statesCardinality),
+					(char) ('a' + random.nextInt(26)),
+					random.nextInt(statesCardinality));
+
+			if (!finiteAutomata.getTransitionsMap()
+					.get(transition.getFromState()).contains(transition))
+			{
+				finiteAutomata.addTransition(transition);
+			}
+		}
+
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		long footprint = FootprintBenchmark.getUsedMemory() - usedMemory;
+
+		System.out.println(String.format(
+				"%1$s: %2$d states, %3$d transitions: %4$.1f MB (%5$.1f bytes per transition), built in %6$.3f s.",
+				finiteAutomata.getClass().getSimpleName(), statesCardinality,
+				transitionsCount, footprint / 1048576.0,
+				(double) footprint / Math.max(transitionsCount, 1), seconds));
+
+		// Keep the automata reachable until it is measured.
+		if (finiteAutomata.getStatesCardinality() != statesCardinality)
+		{
+			throw new IllegalStateException();
+		}
+	}
+}
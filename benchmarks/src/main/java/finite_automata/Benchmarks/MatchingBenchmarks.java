@@ -0,0 +1,121 @@
+package finite_automata.Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+import finite_automata.Matchers.NonDeterministicMatcher;
+
+/**
+ * Measures matching of the random words against the random deterministic
+ * automata by the compiled table and by the set of the states.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmarks
+{
+	private static final int WORDS_COUNT = 1000;
+
+	private CompiledFiniteAutomata compiledFiniteAutomata;
+
+	private NonDeterministicMatcher nonDeterministicMatcher;
+
+	@Param({ "1000", "100000" })
+	public int statesCardinality;
+
+	@Param({ "4", "26" })
+	public int transitionsPerState;
+
+	@Param({ "64" })
+	public int wordLength;
+
+	private String[] words;
+
+	@Benchmark
+	public int acceptsCompiled()
+	{
+		int acceptedWordsCount = 0;
+
+		for (String word : this.words)
+		{
+			if (this.compiledFiniteAutomata.accepts(word))
+			{
+				acceptedWordsCount++;
+			}
+		}
+
+		return acceptedWordsCount;
+	}
+
+	@Benchmark
+	public int acceptsNonDeterministic()
+	{
+		int acceptedWordsCount = 0;
+
+		for (String word : this.words)
+		{
+			if (this.nonDeterministicMatcher.accepts(word))
+			{
+				acceptedWordsCount++;
+			}
+		}
+
+		return acceptedWordsCount;
+	}
+
+	@Setup
+	public void setUp() throws Exception
+	{
+		IFiniteAutomata finiteAutomata = SyntheticFiniteAutomata
+				.createFiniteAutomata(this.statesCardinality,
+						SyntheticFiniteAutomata.createRandomTransitions(
+								this.statesCardinality,
+								this.transitionsPerState));
+
+		this.compiledFiniteAutomata = new CompiledFiniteAutomata(
+				finiteAutomata);
+		this.nonDeterministicMatcher = new NonDeterministicMatcher(
+				finiteAutomata);
+
+		// Words follow the transitions, so that they are not rejected at the
+		// first characters.
+		Random random = new Random(SyntheticFiniteAutomata.SEED);
+
+		this.words = new String[MatchingBenchmarks.WORDS_COUNT];
+
+		for (int i = 0; i < this.words.length; i++)
+		{
+			StringBuilder word = new StringBuilder();
+			int state = 0;
+
+			for (int j = 0; j < this.wordLength; j++)
+			{
+				Transition transition = finiteAutomata.getTransitionsMap()
+						.get(state).get(random.nextInt(this.transitionsPerState));
+
+				word.append(transition.getCharacter());
+				state = transition.getToState();
+			}
+
+			this.words[i] = word.toString();
+		}
+	}
+}
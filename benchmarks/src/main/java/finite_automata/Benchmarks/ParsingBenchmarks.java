@@ -0,0 +1,68 @@
+package finite_automata.Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromStringListException;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+/**
+ * Measures conversion of the random deterministic automata from and to the
+ * list of strings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmarks
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private List<String> list;
+
+	@Param({ "1000", "100000" })
+	public int statesCardinality;
+
+	@Param({ "1", "4" })
+	public int transitionsPerState;
+
+	@Benchmark
+	public List<String> convertFiniteAutomataToList()
+	{
+		return FiniteAutomataHelper
+				.convertFiniteAutomataToList(this.finiteAutomata);
+	}
+
+	@Benchmark
+	public IFiniteAutomata getFiniteAutomataFromStringList()
+			throws FailedToGetFiniteAutomataFromStringListException
+	{
+		return FiniteAutomataHelper.getFiniteAutomataFromStringList(this.list);
+	}
+
+	@Setup
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = SyntheticFiniteAutomata.createFiniteAutomata(
+				this.statesCardinality, SyntheticFiniteAutomata
+						.createRandomTransitions(this.statesCardinality,
+								this.transitionsPerState));
+		this.list = SyntheticFiniteAutomata
+				.convertToStringList(this.finiteAutomata);
+	}
+}
@@ -0,0 +1,160 @@
+package finite_automata.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+/**
+ * Creates the synthetic finite automata of the given size and density for
+ * the benchmarks. Automata are reproducible: the random ones depend only on
+ * the parameters and the seed.
+ */
+class SyntheticFiniteAutomata
+{
+	/**
+	 * Cardinality of the alphabet (FiniteAutomata.FINITE_AUTOMATA_ALPHABET).
+	 */
+	public static final int ALPHABET_CARDINALITY = 26;
+
+	/**
+	 * Every FINITE_STATES_PERIOD-th state of the random automata is finite.
+	 */
+	private static final int FINITE_STATES_PERIOD = 10;
+
+	public static final long SEED = 17;
+
+	/**
+	 * Converts the finite automata to the list of strings in the format of
+	 * getFiniteAutomataFromStringList: one transition per item
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 */
+	public static List<String> convertToStringList(
+			IFiniteAutomata finiteAutomata)
+	{
+		List<String> list = FiniteAutomataHelper
+				.convertFiniteAutomataToList(finiteAutomata);
+
+		List<String> stringList = new ArrayList<String>(list.subList(0, 4));
+
+		stringList.addAll(Arrays.asList(list.get(4).split("\\R")));
+
+		return stringList;
+	}
+
+	/**
+	 * Creates the finite automata with the transitions
+	 *
+	 * @param statesCardinality
+	 * @param transitions
+	 * @return
+	 * @throws Exception
+	 */
+	public static IFiniteAutomata createFiniteAutomata(int statesCardinality,
+			Transition[] transitions) throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata
+				.setAlphabetCardinality(SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+		finiteAutomata.setStatesCardinality(statesCardinality);
+		finiteAutomata.setInitialState(0);
+
+		for (int state = SyntheticFiniteAutomata.FINITE_STATES_PERIOD - 1; state < statesCardinality; state += SyntheticFiniteAutomata.FINITE_STATES_PERIOD)
+		{
+			finiteAutomata.addFiniteState(state);
+		}
+
+		for (Transition transition : transitions)
+		{
+			finiteAutomata.addTransition(transition);
+		}
+
+		return finiteAutomata;
+	}
+
+	/**
+	 * Creates the random transitions of the deterministic automata: every
+	 * state has transitionsPerState transitions by distinct characters to the
+	 * random targets
+	 *
+	 * @param statesCardinality
+	 * @param transitionsPerState
+	 *            density, not greater than the cardinality of the alphabet
+	 * @return
+	 */
+	public static Transition[] createRandomTransitions(int statesCardinality,
+			int transitionsPerState)
+	{
+		Random random = new Random(SyntheticFiniteAutomata.SEED);
+
+		Transition[] transitions = new Transition[statesCardinality
+				* transitionsPerState];
+		int transitionsCount = 0;
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			int offset = random
+					.nextInt(SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+
+			for (int i = 0; i < transitionsPerState; i++)
+			{
+				char character = FiniteAutomata.FINITE_AUTOMATA_ALPHABET
+						.charAt((offset + i)
+								% SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+
+				transitions[transitionsCount++] = new Transition(state,
+						character, random.nextInt(statesCardinality));
+			}
+		}
+
+		return transitions;
+	}
+
+	/**
+	 * Creates the tree automata: state i has the children branching * i + 1,
+	 * ..., branching * i + branching, all the states are finite, so the
+	 * language is finite and contains a word per state
+	 *
+	 * @param statesCardinality
+	 * @param branching
+	 * @return
+	 * @throws Exception
+	 */
+	public static IFiniteAutomata createTree(int statesCardinality,
+			int branching) throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata
+				.setAlphabetCardinality(SyntheticFiniteAutomata.ALPHABET_CARDINALITY);
+		finiteAutomata.setStatesCardinality(statesCardinality);
+		finiteAutomata.setInitialState(0);
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			finiteAutomata.addFiniteState(state);
+
+			for (int i = 0; i < branching; i++)
+			{
+				int child = branching * state + i + 1;
+
+				if (child < statesCardinality)
+				{
+					finiteAutomata.addTransition(new Transition(state,
+							FiniteAutomata.FINITE_AUTOMATA_ALPHABET.charAt(i),
+							child));
+				}
+			}
+		}
+
+		return finiteAutomata;
+	}
+}
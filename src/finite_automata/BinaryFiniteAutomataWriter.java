@@ -0,0 +1,256 @@
+package finite_automata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Writes the binary file of the finite automata, read by
+ * MappedFiniteAutomata, section by section through the small buffer, so
+ * that the automata never has to be kept in memory as a whole. The header
+ * is written first; then the values of every section (finite states,
+ * offsets, labels, targets) are written in order, each section is closed
+ * by endSection(), and finish() appends the checksum.
+ */
+public class BinaryFiniteAutomataWriter implements Closeable
+{
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Count of the sections after the header.
+	 */
+	private static final int SECTIONS_COUNT = 5;
+
+	private final ByteBuffer buffer;
+
+	private final CRC32 checksum;
+
+	private final FileChannel fileChannel;
+
+	private int section;
+
+	private long[] sectionSizes;
+
+	private long sectionWritten;
+
+	/**
+	 * Creates the file (or truncates the existing one) for writing
+	 *
+	 * @param path
+	 * @throws IOException
+	 */
+	public BinaryFiniteAutomataWriter(Path path) throws IOException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		this.buffer = ByteBuffer.allocateDirect(
+				BinaryFiniteAutomataWriter.BUFFER_SIZE).order(
+				ByteOrder.LITTLE_ENDIAN);
+		this.checksum = new CRC32();
+		this.section = -1;
+		this.sectionSizes = null;
+		this.sectionWritten = 0;
+	}
+
+	private void checkSection(int size)
+	{
+		if (this.section < 0
+				|| this.section >= BinaryFiniteAutomataWriter.SECTIONS_COUNT
+				|| this.sectionWritten + size > this.sectionSizes[this.section])
+		{
+			throw new IllegalStateException(
+					"Value doesn't fit into the current section.");
+		}
+
+		this.sectionWritten += size;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.fileChannel.close();
+	}
+
+	/**
+	 * Closes the current section, checking that it is complete, and aligns
+	 * the next one
+	 *
+	 * @throws IOException
+	 */
+	public void endSection() throws IOException
+	{
+		if (this.section < 0
+				|| this.section >= BinaryFiniteAutomataWriter.SECTIONS_COUNT
+				|| this.sectionWritten != this.sectionSizes[this.section])
+		{
+			throw new IllegalStateException("Section is not complete.");
+		}
+
+		for (long i = this.sectionWritten; i < MappedFiniteAutomata
+				.align(this.sectionWritten); i++)
+		{
+			this.ensureRemaining(1);
+			this.buffer.put((byte) 0);
+		}
+
+		this.section++;
+		this.sectionWritten = 0;
+	}
+
+	private void ensureRemaining(int size) throws IOException
+	{
+		if (this.buffer.remaining() < size)
+		{
+			this.flush();
+		}
+	}
+
+	/**
+	 * Appends the checksum and flushes the file
+	 *
+	 * @throws IOException
+	 */
+	public void finish() throws IOException
+	{
+		if (this.section != BinaryFiniteAutomataWriter.SECTIONS_COUNT)
+		{
+			throw new IllegalStateException("Sections are not complete.");
+		}
+
+		this.flush();
+
+		this.buffer.putLong(this.checksum.getValue());
+		this.buffer.flip();
+
+		while (this.buffer.hasRemaining())
+		{
+			this.fileChannel.write(this.buffer);
+		}
+
+		this.buffer.clear();
+		this.section++;
+	}
+
+	private void flush() throws IOException
+	{
+		this.buffer.flip();
+
+		this.checksum.update(this.buffer.duplicate());
+
+		while (this.buffer.hasRemaining())
+		{
+			this.fileChannel.write(this.buffer);
+		}
+
+		this.buffer.clear();
+	}
+
+	/**
+	 * Writes character of the labels section
+	 *
+	 * @param character
+	 * @throws IOException
+	 */
+	public void writeChar(char character) throws IOException
+	{
+		this.checkSection(2);
+		this.ensureRemaining(2);
+
+		this.buffer.putChar(character);
+	}
+
+	/**
+	 * Writes the header and the alphabet section
+	 *
+	 * @param alphabet
+	 * @param statesCardinality
+	 * @param initialState
+	 * @param transitionsCount
+	 * @throws IOException
+	 */
+	public void writeHeader(List<Character> alphabet, int statesCardinality,
+			int initialState, int transitionsCount) throws IOException
+	{
+		if (this.section != -1)
+		{
+			throw new IllegalStateException("Header is already written.");
+		}
+
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		if (statesCardinality < 0 || statesCardinality >= Integer.MAX_VALUE / 4)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be in range [0; Integer.MAX_VALUE / 4): statesCardinality.");
+		}
+
+		if (transitionsCount < 0 || transitionsCount > Integer.MAX_VALUE / 4)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be in range [0; Integer.MAX_VALUE / 4]: transitionsCount.");
+		}
+
+		this.buffer.putInt(MappedFiniteAutomata.MAGIC);
+		this.buffer.putInt(MappedFiniteAutomata.VERSION);
+		this.buffer.putInt(alphabet.size());
+		this.buffer.putInt(statesCardinality);
+		this.buffer.putInt(initialState);
+		this.buffer.putInt(0);
+		this.buffer.putLong(transitionsCount);
+
+		this.sectionSizes = MappedFiniteAutomata.getSectionSizes(
+				alphabet.size(), statesCardinality, transitionsCount);
+		this.section = 0;
+		this.sectionWritten = 0;
+
+		for (Character character : alphabet)
+		{
+			this.writeChar(character);
+		}
+
+		this.endSection();
+	}
+
+	/**
+	 * Writes integer of the offsets or targets section
+	 *
+	 * @param value
+	 * @throws IOException
+	 */
+	public void writeInt(int value) throws IOException
+	{
+		this.checkSection(4);
+		this.ensureRemaining(4);
+
+		this.buffer.putInt(value);
+	}
+
+	/**
+	 * Writes 64 bits of the finite states section
+	 *
+	 * @param value
+	 * @throws IOException
+	 */
+	public void writeLong(long value) throws IOException
+	{
+		this.checkSection(8);
+		this.ensureRemaining(8);
+
+		this.buffer.putLong(value);
+	}
+}
@@ -0,0 +1,643 @@
+package finite_automata;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+/**
+ * Finite automata with primitive storage: finite states are kept in the
+ * bitset, transitions are kept in CSR layout, sorted by (character; toState)
+ * within every state, so a transition takes 6 bytes. Lists and maps of the
+ * interface are lightweight read-only views, which create Transition objects
+ * on demand.
+ *
+ * Adding or removing a transition shifts the arrays, so it takes time,
+ * proportional to the count of the transitions; large automata should be
+ * loaded in bulk.
+ */
+public class CompactFiniteAutomata implements IFiniteAutomata
+{
+	private class FiniteStatesView extends AbstractList<Integer>
+	{
+		@Override
+		public boolean contains(Object obj)
+		{
+			if (!(obj instanceof Integer))
+			{
+				return false;
+			}
+
+			int state = (Integer) obj;
+
+			return state >= 0
+					&& CompactFiniteAutomata.this.finiteStates.get(state);
+		}
+
+		@Override
+		public Integer get(int index)
+		{
+			if (index < 0)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			BitSet finiteStates = CompactFiniteAutomata.this.finiteStates;
+
+			int state = finiteStates.nextSetBit(0);
+
+			for (int i = 0; i < index && state >= 0; i++)
+			{
+				state = finiteStates.nextSetBit(state + 1);
+			}
+
+			if (state < 0)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			return state;
+		}
+
+		@Override
+		public Iterator<Integer> iterator()
+		{
+			return new Iterator<Integer>()
+			{
+				private int state = CompactFiniteAutomata.this.finiteStates
+						.nextSetBit(0);
+
+				@Override
+				public boolean hasNext()
+				{
+					return this.state >= 0;
+				}
+
+				@Override
+				public Integer next()
+				{
+					if (this.state < 0)
+					{
+						throw new NoSuchElementException();
+					}
+
+					int state = this.state;
+
+					this.state = CompactFiniteAutomata.this.finiteStates
+							.nextSetBit(state + 1);
+
+					return state;
+				}
+			};
+		}
+
+		@Override
+		public int size()
+		{
+			return CompactFiniteAutomata.this.finiteStates.cardinality();
+		}
+	}
+
+	private class StateTransitionsView extends AbstractList<Transition>
+	{
+		private final int state;
+
+		public StateTransitionsView(int state)
+		{
+			this.state = state;
+		}
+
+		@Override
+		public Transition get(int index)
+		{
+			if (index < 0 || index >= this.size())
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			int position = CompactFiniteAutomata.this.offsets[this.state]
+					+ index;
+
+			return new Transition(this.state,
+					CompactFiniteAutomata.this.labels[position],
+					CompactFiniteAutomata.this.targets[position]);
+		}
+
+		@Override
+		public int size()
+		{
+			return CompactFiniteAutomata.this.offsets[this.state + 1]
+					- CompactFiniteAutomata.this.offsets[this.state];
+		}
+	}
+
+	private class TransitionsMapView extends
+			AbstractMap<Integer, List<Transition>>
+	{
+		@Override
+		public boolean containsKey(Object key)
+		{
+			return this.get(key) != null;
+		}
+
+		@Override
+		public Set<Map.Entry<Integer, List<Transition>>> entrySet()
+		{
+			return new AbstractSet<Map.Entry<Integer, List<Transition>>>()
+			{
+				@Override
+				public Iterator<Map.Entry<Integer, List<Transition>>> iterator()
+				{
+					return new Iterator<Map.Entry<Integer, List<Transition>>>()
+					{
+						private int state = 0;
+
+						@Override
+						public boolean hasNext()
+						{
+							return this.state < CompactFiniteAutomata.this.statesCardinality;
+						}
+
+						@Override
+						public Map.Entry<Integer, List<Transition>> next()
+						{
+							if (!this.hasNext())
+							{
+								throw new NoSuchElementException();
+							}
+
+							int state = this.state++;
+
+							return new AbstractMap.SimpleImmutableEntry<Integer, List<Transition>>(
+									state, new StateTransitionsView(state));
+						}
+					};
+				}
+
+				@Override
+				public int size()
+				{
+					return CompactFiniteAutomata.this.statesCardinality;
+				}
+			};
+		}
+
+		@Override
+		public List<Transition> get(Object key)
+		{
+			if (!(key instanceof Integer))
+			{
+				return null;
+			}
+
+			int state = (Integer) key;
+
+			if (state < 0 || state >= CompactFiniteAutomata.this.statesCardinality)
+			{
+				return null;
+			}
+
+			return new StateTransitionsView(state);
+		}
+
+		@Override
+		public int size()
+		{
+			return CompactFiniteAutomata.this.statesCardinality;
+		}
+	}
+
+	private final List<Character> alphabet;
+
+	private final BitSet alphabetCharacters;
+
+	private final BitSet finiteStates;
+
+	private int initialState;
+
+	private char[] labels;
+
+	private int[] offsets;
+
+	private int statesCardinality;
+
+	private int[] targets;
+
+	private int transitionsCount;
+
+	public CompactFiniteAutomata()
+	{
+		this.alphabet = new ArrayList<Character>();
+		this.alphabetCharacters = new BitSet();
+		this.finiteStates = new BitSet();
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.statesCardinality = 0;
+		this.offsets = new int[1];
+		this.labels = new char[0];
+		this.targets = new int[0];
+		this.transitionsCount = 0;
+	}
+
+	/**
+	 * Creates the copy of the finite automata
+	 *
+	 * @param finiteAutomata
+	 */
+	public CompactFiniteAutomata(IFiniteAutomata finiteAutomata)
+	{
+		this();
+
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		for (Character character : finiteAutomata.getAlphabet())
+		{
+			this.alphabet.add(character);
+			this.alphabetCharacters.set(character);
+		}
+
+		this.statesCardinality = finiteAutomataTable.getStatesCardinality();
+		this.initialState = finiteAutomata.getInitialState();
+		this.finiteStates.or(finiteAutomataTable.getFiniteStates());
+
+		SortedTransitions sortedTransitions = new SortedTransitions(
+				finiteAutomataTable);
+
+		this.offsets = sortedTransitions.getOffsets();
+		this.transitionsCount = sortedTransitions.getTransitionsCount();
+		this.labels = new char[this.transitionsCount];
+		this.targets = new int[this.transitionsCount];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			sortedTransitions.getStateTransitions(state, this.labels,
+					this.targets, this.offsets[state]);
+		}
+	}
+
+	/**
+	 * Creates the finite automata from the arrays, which are already
+	 * validated and sorted by FiniteAutomataBuilder
+	 *
+	 * @param alphabet
+	 * @param statesCardinality
+	 * @param initialState
+	 * @param finiteStates
+	 * @param offsets
+	 * @param labels
+	 * @param targets
+	 */
+	CompactFiniteAutomata(List<Character> alphabet, int statesCardinality,
+			int initialState, BitSet finiteStates, int[] offsets,
+			char[] labels, int[] targets)
+	{
+		this();
+
+		for (Character character : alphabet)
+		{
+			this.alphabet.add(character);
+			this.alphabetCharacters.set(character);
+		}
+
+		this.statesCardinality = statesCardinality;
+		this.initialState = initialState;
+		this.finiteStates.or(finiteStates);
+		this.offsets = offsets;
+		this.labels = labels;
+		this.targets = targets;
+		this.transitionsCount = offsets[statesCardinality];
+	}
+
+	@Override
+	public void addFiniteState(int state) throws StateIsAlreadyFinalException
+	{
+		this.checkState(state);
+
+		if (this.finiteStates.get(state))
+		{
+			throw new StateIsAlreadyFinalException(String.format(
+					"State: %1$d is already final.", state));
+		}
+
+		this.finiteStates.set(state);
+	}
+
+	@Override
+	public void addTransition(Transition transition)
+			throws TransitionAlreadyExistsException
+	{
+		this.checkTransition(transition);
+
+		int position = this.findTransition(transition);
+
+		if (position >= 0)
+		{
+			throw new TransitionAlreadyExistsException(String.format(
+					"Transition (%1$d; %2$s; %3$d) already exists.",
+					transition.getFromState(), transition.getCharacter(),
+					transition.getToState()));
+		}
+
+		position = -position - 1;
+
+		if (this.transitionsCount == this.targets.length)
+		{
+			int capacity = Math.max(4, this.transitionsCount
+					+ (this.transitionsCount >> 1));
+
+			this.labels = Arrays.copyOf(this.labels, capacity);
+			this.targets = Arrays.copyOf(this.targets, capacity);
+		}
+
+		System.arraycopy(this.labels, position, this.labels, position + 1,
+				this.transitionsCount - position);
+		System.arraycopy(this.targets, position, this.targets, position + 1,
+				this.transitionsCount - position);
+
+		this.labels[position] = transition.getCharacter();
+		this.targets[position] = transition.getToState();
+		this.transitionsCount++;
+
+		for (int state = transition.getFromState() + 1; state <= this.statesCardinality; state++)
+		{
+			this.offsets[state]++;
+		}
+	}
+
+	private void checkState(int state)
+	{
+		if (state < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: state.");
+		}
+
+		if (state >= this.statesCardinality)
+		{
+			throw new IllegalArgumentException(String.format(
+					"State: %1$d must be less than states cardinality: %2$d",
+					state, this.statesCardinality));
+		}
+	}
+
+	private void checkTransition(Transition transition)
+	{
+		if (transition == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: transition.");
+		}
+
+		int fromState = transition.getFromState();
+		char character = transition.getCharacter();
+		int toState = transition.getToState();
+
+		try
+		{
+			this.checkState(fromState);
+			this.checkState(toState);
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.", fromState,
+					character, toState));
+		}
+
+		if (!this.alphabetCharacters.get(character))
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.", fromState,
+					character, toState));
+		}
+	}
+
+	private void clearTransitions()
+	{
+		this.offsets = new int[this.statesCardinality + 1];
+		this.labels = new char[0];
+		this.targets = new int[0];
+		this.transitionsCount = 0;
+	}
+
+	/**
+	 * Finds the position of the transition
+	 *
+	 * @param transition
+	 * @return position or (-insertionPoint - 1) if there is no such transition
+	 */
+	private int findTransition(Transition transition)
+	{
+		int low = this.offsets[transition.getFromState()];
+		int high = this.offsets[transition.getFromState() + 1] - 1;
+
+		char character = transition.getCharacter();
+		int toState = transition.getToState();
+
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+
+			int comparison = (this.labels[middle] != character) ? Character
+					.compare(this.labels[middle], character) : Integer.compare(
+					this.targets[middle], toState);
+
+			if (comparison < 0)
+			{
+				low = middle + 1;
+			}
+			else if (comparison > 0)
+			{
+				high = middle - 1;
+			}
+			else
+			{
+				return middle;
+			}
+		}
+
+		return -(low + 1);
+	}
+
+	@Override
+	public List<Character> getAlphabet()
+	{
+		return Collections.unmodifiableList(this.alphabet);
+	}
+
+	@Override
+	public List<Integer> getFiniteStates()
+	{
+		return new FiniteStatesView();
+	}
+
+	@Override
+	public int getInitialState()
+	{
+		return this.initialState;
+	}
+
+	@Override
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	@Override
+	public Map<Integer, List<Transition>> getTransitionsMap()
+	{
+		return new TransitionsMapView();
+	}
+
+	/**
+	 * Gets total count of the transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.transitionsCount;
+	}
+
+	@Override
+	public void removeTransition(Transition transition)
+			throws NonExistentTransitionException
+	{
+		this.checkTransition(transition);
+
+		int position = this.findTransition(transition);
+
+		if (position < 0)
+		{
+			throw new NonExistentTransitionException(String.format(
+					"Transition (%1$d; %2$s %3$d) does not exist.",
+					transition.getFromState(), transition.getCharacter(),
+					transition.getToState()));
+		}
+
+		System.arraycopy(this.labels, position + 1, this.labels, position,
+				this.transitionsCount - position - 1);
+		System.arraycopy(this.targets, position + 1, this.targets, position,
+				this.transitionsCount - position - 1);
+
+		this.transitionsCount--;
+
+		for (int state = transition.getFromState() + 1; state <= this.statesCardinality; state++)
+		{
+			this.offsets[state]--;
+		}
+	}
+
+	@Override
+	public void setAlphabet(List<Character> alphabet)
+	{
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		BitSet characters = new BitSet();
+
+		for (Character character : alphabet)
+		{
+			if (character == null || characters.get(character))
+			{
+				throw new IllegalArgumentException(String.format(
+						"Alphabet: %1$s contains null or repeated character.",
+						alphabet));
+			}
+
+			characters.set(character);
+		}
+
+		this.alphabet.clear();
+		this.alphabetCharacters.clear();
+
+		this.clearTransitions();
+
+		this.alphabet.addAll(alphabet);
+		this.alphabetCharacters.or(characters);
+	}
+
+	@Override
+	public void setAlphabetCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		if (cardinality > FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length())
+		{
+			throw new IllegalArgumentException(
+					String.format(
+							"Cardinality: %1$d must be less or equal to FINITE_AUTOMATA_ALPHABET size: %2$d",
+							cardinality,
+							FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length()));
+		}
+
+		this.alphabet.clear();
+		this.alphabetCharacters.clear();
+
+		this.clearTransitions();
+
+		for (int i = 0; i < cardinality; i++)
+		{
+			char character = FiniteAutomata.FINITE_AUTOMATA_ALPHABET.charAt(i);
+
+			this.alphabet.add(character);
+			this.alphabetCharacters.set(character);
+		}
+	}
+
+	@Override
+	public void setInitialState(int state)
+	{
+		this.checkState(state);
+
+		this.initialState = state;
+	}
+
+	@Override
+	public void setStatesCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.finiteStates.clear();
+
+		this.statesCardinality = cardinality;
+
+		this.clearTransitions();
+	}
+
+	@Override
+	public ImmutableFiniteAutomata snapshot()
+	{
+		return new ImmutableFiniteAutomata(this);
+	}
+}
@@ -0,0 +1,52 @@
+package finite_automata.Exceptions;
+
+public class FailedToCompileRegularExpressionException extends Exception
+{
+	private final int position;
+
+	public FailedToCompileRegularExpressionException()
+	{
+		this.position = -1;
+	}
+
+	public FailedToCompileRegularExpressionException(String message)
+	{
+		super(message);
+
+		this.position = -1;
+	}
+
+	public FailedToCompileRegularExpressionException(String message,
+			int position)
+	{
+		super(String.format("Position: %1$d: %2$s", position, message));
+
+		this.position = position;
+	}
+
+	public FailedToCompileRegularExpressionException(String message,
+			Throwable cause)
+	{
+		super(message, cause);
+
+		this.position = -1;
+	}
+
+	public FailedToCompileRegularExpressionException(Throwable cause)
+	{
+		super(cause);
+
+		this.position = -1;
+	}
+
+	/**
+	 * Gets position (starting from 0) of the error in the pattern or -1, if
+	 * it is unknown
+	 *
+	 * @return
+	 */
+	public int getPosition()
+	{
+		return this.position;
+	}
+}
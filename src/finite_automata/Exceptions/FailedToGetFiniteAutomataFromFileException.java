@@ -0,0 +1,75 @@
+package finite_automata.Exceptions;
+
+public class FailedToGetFiniteAutomataFromFileException extends Exception
+{
+	private final long column;
+
+	private final long line;
+
+	public FailedToGetFiniteAutomataFromFileException()
+	{
+		this.line = 0;
+		this.column = 0;
+	}
+	
+	public FailedToGetFiniteAutomataFromFileException(String message)
+	{
+		super(message);
+
+		this.line = 0;
+		this.column = 0;
+	}
+	
+	public FailedToGetFiniteAutomataFromFileException(String message,
+			long line, long column)
+	{
+		this(message, line, column, null);
+	}
+
+	public FailedToGetFiniteAutomataFromFileException(String message,
+			long line, long column, Throwable cause)
+	{
+		super(String.format("Line: %1$d, column: %2$d: %3$s", line, column,
+				message), cause);
+
+		this.line = line;
+		this.column = column;
+	}
+
+	public FailedToGetFiniteAutomataFromFileException(String message,
+			Throwable cause)
+	{
+		super(message, cause);
+
+		this.line = 0;
+		this.column = 0;
+	}
+	
+	public FailedToGetFiniteAutomataFromFileException(Throwable cause)
+	{
+		super(cause);
+
+		this.line = 0;
+		this.column = 0;
+	}
+
+	/**
+	 * Gets column (starting from 1) of the error or 0, if it is unknown
+	 *
+	 * @return
+	 */
+	public long getColumn()
+	{
+		return this.column;
+	}
+
+	/**
+	 * Gets line (starting from 1) of the error or 0, if it is unknown
+	 *
+	 * @return
+	 */
+	public long getLine()
+	{
+		return this.line;
+	}
+}
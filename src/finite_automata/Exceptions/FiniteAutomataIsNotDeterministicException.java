@@ -0,0 +1,25 @@
+package finite_automata.Exceptions;
+
+public class FiniteAutomataIsNotDeterministicException extends Exception
+{
+	public FiniteAutomataIsNotDeterministicException()
+	{
+		
+	}
+	
+	public FiniteAutomataIsNotDeterministicException(String message)
+	{
+		super(message);
+	}
+	
+	public FiniteAutomataIsNotDeterministicException(String message,
+			Throwable cause)
+	{
+		super(message, cause);
+	}
+	
+	public FiniteAutomataIsNotDeterministicException(Throwable cause)
+	{
+		super(cause);
+	}
+}
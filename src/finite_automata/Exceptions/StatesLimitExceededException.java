@@ -0,0 +1,24 @@
+package finite_automata.Exceptions;
+
+public class StatesLimitExceededException extends Exception
+{
+	public StatesLimitExceededException()
+	{
+		
+	}
+	
+	public StatesLimitExceededException(String message)
+	{
+		super(message);
+	}
+	
+	public StatesLimitExceededException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+	
+	public StatesLimitExceededException(Throwable cause)
+	{
+		super(cause);
+	}
+}
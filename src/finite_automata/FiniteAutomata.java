@@ -1,6 +1,7 @@
 package finite_automata;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -168,6 +169,39 @@ public class FiniteAutomata implements IFiniteAutomata
 		stateTransitions.remove(index);
 	}
 	
+	@Override
+	public void setAlphabet(List<Character> alphabet)
+	{
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+		
+		BitSet characters = new BitSet();
+		
+		for (Character character : alphabet)
+		{
+			if (character == null || characters.get(character))
+			{
+				throw new IllegalArgumentException(String.format(
+						"Alphabet: %1$s contains null or repeated character.",
+						alphabet));
+			}
+			
+			characters.set(character);
+		}
+		
+		this.alphabet.clear();
+		
+		for (int i = 0; i < this.statesCardinality; i++)
+		{
+			this.transitionsMap.get(i).clear();
+		}
+		
+		this.alphabet.addAll(alphabet);
+	}
+	
 	@Override
 	public void setAlphabetCardinality(int cardinality)
 	{
@@ -227,4 +261,10 @@ public class FiniteAutomata implements IFiniteAutomata
 			this.transitionsMap.put(i, new ArrayList<Transition>());
 		}
 	}
+
+	@Override
+	public ImmutableFiniteAutomata snapshot()
+	{
+		return new ImmutableFiniteAutomata(this);
+	}
 }
@@ -0,0 +1,457 @@
+package finite_automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+/**
+ * Collects the finite automata in bulk and builds the CompactFiniteAutomata
+ * in one pass. Transitions are validated on arrival using the bitset of the
+ * alphabet characters, kept in primitive arrays and checked for duplicates
+ * by sorting on build.
+ */
+public class FiniteAutomataBuilder
+{
+	private final List<Character> alphabet;
+
+	private final BitSet alphabetCharacters;
+
+	private final BitSet finiteStates;
+
+	private int[] fromStates;
+
+	private int initialState;
+
+	private char[] labels;
+
+	private int statesCardinality;
+
+	private int[] toStates;
+
+	private int transitionsCount;
+
+	public FiniteAutomataBuilder()
+	{
+		this.alphabet = new ArrayList<Character>();
+		this.alphabetCharacters = new BitSet();
+		this.finiteStates = new BitSet();
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.statesCardinality = 0;
+
+		this.clearTransitions();
+	}
+
+	/**
+	 * Adds finite state
+	 *
+	 * @param state
+	 * @return
+	 * @throws StateIsAlreadyFinalException
+	 */
+	public FiniteAutomataBuilder addFiniteState(int state)
+			throws StateIsAlreadyFinalException
+	{
+		this.checkState(state);
+
+		if (this.finiteStates.get(state))
+		{
+			throw new StateIsAlreadyFinalException(String.format(
+					"State: %1$d is already final.", state));
+		}
+
+		this.finiteStates.set(state);
+
+		return this;
+	}
+
+	/**
+	 * Adds transition. Duplicates are detected on build.
+	 *
+	 * @param fromState
+	 * @param character
+	 * @param toState
+	 * @return
+	 */
+	public FiniteAutomataBuilder addTransition(int fromState, char character,
+			int toState)
+	{
+		if (fromState < 0 || fromState >= this.statesCardinality
+				|| toState < 0 || toState >= this.statesCardinality
+				|| !this.alphabetCharacters.get(character))
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.", fromState,
+					character, toState));
+		}
+
+		if (this.transitionsCount == this.fromStates.length)
+		{
+			this.ensureCapacity(this.transitionsCount + 1);
+		}
+
+		this.fromStates[this.transitionsCount] = fromState;
+		this.labels[this.transitionsCount] = character;
+		this.toStates[this.transitionsCount] = toState;
+		this.transitionsCount++;
+
+		return this;
+	}
+
+	/**
+	 * Adds transitions, given as parallel arrays
+	 *
+	 * @param fromStates
+	 * @param characters
+	 * @param toStates
+	 * @return
+	 */
+	public FiniteAutomataBuilder addTransitions(int[] fromStates,
+			char[] characters, int[] toStates)
+	{
+		if (fromStates == null || characters == null || toStates == null)
+		{
+			throw new IllegalArgumentException(
+					"Arguments can't be null: fromStates, characters, toStates.");
+		}
+
+		if (fromStates.length != characters.length
+				|| fromStates.length != toStates.length)
+		{
+			throw new IllegalArgumentException(
+					"Arguments must have the same length: fromStates, characters, toStates.");
+		}
+
+		this.ensureCapacity(this.transitionsCount + fromStates.length);
+
+		for (int i = 0; i < fromStates.length; i++)
+		{
+			this.addTransition(fromStates[i], characters[i], toStates[i]);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Adds transitions from the stream
+	 *
+	 * @param transitions
+	 * @return
+	 */
+	public FiniteAutomataBuilder addTransitions(Stream<Transition> transitions)
+	{
+		if (transitions == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: transitions.");
+		}
+
+		Iterator<Transition> iterator = transitions.iterator();
+
+		while (iterator.hasNext())
+		{
+			Transition transition = iterator.next();
+
+			if (transition == null)
+			{
+				throw new IllegalArgumentException(
+						"Argument can't contain null: transitions.");
+			}
+
+			this.addTransition(transition.getFromState(),
+					transition.getCharacter(), transition.getToState());
+		}
+
+		return this;
+	}
+
+	/**
+	 * Builds the finite automata. The builder can be reused afterwards.
+	 *
+	 * @return
+	 * @throws TransitionAlreadyExistsException
+	 */
+	public CompactFiniteAutomata build()
+			throws TransitionAlreadyExistsException
+	{
+		int[] offsets = new int[this.statesCardinality + 1];
+		long[] keys = this.sortTransitions(offsets);
+
+		char[] labels = new char[this.transitionsCount];
+		int[] targets = new int[this.transitionsCount];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			for (int i = offsets[state]; i < offsets[state + 1]; i++)
+			{
+				if (i > offsets[state] && keys[i] == keys[i - 1])
+				{
+					throw new TransitionAlreadyExistsException(String.format(
+							"Transition (%1$d; %2$s; %3$d) already exists.",
+							state, (char) (keys[i] >>> 32), (int) keys[i]));
+				}
+
+				labels[i] = (char) (keys[i] >>> 32);
+				targets[i] = (int) keys[i];
+			}
+		}
+
+		return new CompactFiniteAutomata(this.alphabet, this.statesCardinality,
+				this.initialState, this.finiteStates, offsets, labels, targets);
+	}
+
+	private void checkState(int state)
+	{
+		if (state < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: state.");
+		}
+
+		if (state >= this.statesCardinality)
+		{
+			throw new IllegalArgumentException(String.format(
+					"State: %1$d must be less than states cardinality: %2$d",
+					state, this.statesCardinality));
+		}
+	}
+
+	private void clearTransitions()
+	{
+		this.fromStates = new int[16];
+		this.labels = new char[16];
+		this.toStates = new int[16];
+		this.transitionsCount = 0;
+	}
+
+	private void ensureCapacity(int capacity)
+	{
+		if (capacity <= this.fromStates.length)
+		{
+			return;
+		}
+
+		capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity,
+				this.fromStates.length * 2L));
+
+		this.fromStates = Arrays.copyOf(this.fromStates, capacity);
+		this.labels = Arrays.copyOf(this.labels, capacity);
+		this.toStates = Arrays.copyOf(this.toStates, capacity);
+	}
+
+	/**
+	 * Finds the transition, which repeats the previously added one, so that
+	 * the caller can locate the source of the duplicate, reported by build
+	 *
+	 * @return index of the transition in the order of the addition or -1, if
+	 *         there are no duplicates
+	 */
+	public int findRepeatedTransition()
+	{
+		int[] offsets = new int[this.statesCardinality + 1];
+		long[] keys = this.sortTransitions(offsets);
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			for (int i = offsets[state] + 1; i < offsets[state + 1]; i++)
+			{
+				if (keys[i] != keys[i - 1])
+				{
+					continue;
+				}
+
+				char character = (char) (keys[i] >>> 32);
+				int toState = (int) keys[i];
+				boolean isFound = false;
+
+				for (int j = 0; j < this.transitionsCount; j++)
+				{
+					if (this.fromStates[j] == state
+							&& this.labels[j] == character
+							&& this.toStates[j] == toState)
+					{
+						if (isFound)
+						{
+							return j;
+						}
+
+						isFound = true;
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets count of the added transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.transitionsCount;
+	}
+
+	/**
+	 * Sets alphabet of arbitrary (distinct) characters and clears the
+	 * transitions
+	 *
+	 * @param alphabet
+	 * @return
+	 */
+	public FiniteAutomataBuilder setAlphabet(List<Character> alphabet)
+	{
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		BitSet characters = new BitSet();
+
+		for (Character character : alphabet)
+		{
+			if (character == null || characters.get(character))
+			{
+				throw new IllegalArgumentException(String.format(
+						"Alphabet: %1$s contains null or repeated character.",
+						alphabet));
+			}
+
+			characters.set(character);
+		}
+
+		this.alphabet.clear();
+		this.alphabetCharacters.clear();
+
+		this.clearTransitions();
+
+		this.alphabet.addAll(alphabet);
+		this.alphabetCharacters.or(characters);
+
+		return this;
+	}
+
+	/**
+	 * Sets cardinality of the alphabet and clears the transitions
+	 *
+	 * @param cardinality
+	 * @return
+	 */
+	public FiniteAutomataBuilder setAlphabetCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		if (cardinality > FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length())
+		{
+			throw new IllegalArgumentException(
+					String.format(
+							"Cardinality: %1$d must be less or equal to FINITE_AUTOMATA_ALPHABET size: %2$d",
+							cardinality,
+							FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length()));
+		}
+
+		this.alphabet.clear();
+		this.alphabetCharacters.clear();
+
+		this.clearTransitions();
+
+		for (int i = 0; i < cardinality; i++)
+		{
+			char character = FiniteAutomata.FINITE_AUTOMATA_ALPHABET.charAt(i);
+
+			this.alphabet.add(character);
+			this.alphabetCharacters.set(character);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Sets initial state
+	 *
+	 * @param state
+	 * @return
+	 */
+	public FiniteAutomataBuilder setInitialState(int state)
+	{
+		this.checkState(state);
+
+		this.initialState = state;
+
+		return this;
+	}
+
+	/**
+	 * Sets cardinality of the states and clears the initial state, finite
+	 * states and transitions
+	 *
+	 * @param cardinality
+	 * @return
+	 */
+	public FiniteAutomataBuilder setStatesCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.finiteStates.clear();
+
+		this.statesCardinality = cardinality;
+
+		this.clearTransitions();
+
+		return this;
+	}
+
+	/**
+	 * Buckets the transitions by fromState and sorts every bucket by
+	 * (character; toState), packed into one long
+	 *
+	 * @param offsets
+	 *            array to fill with the starts of the buckets
+	 * @return
+	 */
+	private long[] sortTransitions(int[] offsets)
+	{
+		for (int i = 0; i < this.transitionsCount; i++)
+		{
+			offsets[this.fromStates[i] + 1]++;
+		}
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			offsets[state + 1] += offsets[state];
+		}
+
+		int[] positions = Arrays.copyOf(offsets, this.statesCardinality);
+		long[] keys = new long[this.transitionsCount];
+
+		for (int i = 0; i < this.transitionsCount; i++)
+		{
+			keys[positions[this.fromStates[i]]++] = ((long) this.labels[i] << 32)
+					| this.toStates[i];
+		}
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			Arrays.sort(keys, offsets[state], offsets[state + 1]);
+		}
+
+		return keys;
+	}
+}
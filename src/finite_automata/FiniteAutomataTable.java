@@ -0,0 +1,489 @@
+package finite_automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only indexed view of the finite automata. Characters, which always
+ * behave identically (have the same transitions from every state), are
+ * merged into one symbol (equivalence class), so that the tables, indexed by
+ * symbols, stay small for large alphabets. Symbols are numbered in the order
+ * of their first characters in the alphabet.
+ *
+ * Transitions are grouped by (state; symbol) cells in CSR layout: targets of
+ * the cell are stored in targets[offsets[cell]..offsets[cell + 1]), sorted
+ * and without duplicates.
+ */
+public class FiniteAutomataTable
+{
+	private final int[] characterSymbols;
+
+	private final BitSet finiteStates;
+
+	private final int initialState;
+
+	private final int[] offsets;
+
+	private final int statesCardinality;
+
+	private final char[][] symbolCharacters;
+
+	private final int[] targets;
+
+	private final int transitionsCount;
+
+	/**
+	 * Creates the table, merging equivalent characters into symbols
+	 *
+	 * @param finiteAutomata
+	 */
+	public FiniteAutomataTable(IFiniteAutomata finiteAutomata)
+	{
+		this(finiteAutomata, true);
+	}
+
+	/**
+	 * Creates the table. Without merging, every character of the alphabet is
+	 * the separate symbol, so iterating over the symbols visits the
+	 * characters in the alphabet order.
+	 *
+	 * @param finiteAutomata
+	 * @param mergeCharacters
+	 */
+	public FiniteAutomataTable(IFiniteAutomata finiteAutomata,
+			boolean mergeCharacters)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		List<Character> alphabet = finiteAutomata.getAlphabet();
+
+		int charactersCount = alphabet.size();
+		int maxCharacter = -1;
+
+		for (Character character : alphabet)
+		{
+			maxCharacter = Math.max(maxCharacter, character);
+		}
+
+		int[] characterIndexes = new int[maxCharacter + 1];
+
+		Arrays.fill(characterIndexes, -1);
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			characterIndexes[alphabet.get(i)] = i;
+		}
+
+		this.statesCardinality = finiteAutomata.getStatesCardinality();
+		this.initialState = (this.statesCardinality > 0) ? finiteAutomata
+				.getInitialState() : -1;
+
+		this.finiteStates = new BitSet(this.statesCardinality);
+
+		for (int state : finiteAutomata.getFiniteStates())
+		{
+			this.finiteStates.set(state);
+		}
+
+		// Group (state; target) pairs by characters; within the character
+		// they are sorted by state and then by target.
+		Map<Integer, List<Transition>> transitionsMap = finiteAutomata
+				.getTransitionsMap();
+
+		int[] characterOffsets = new int[charactersCount + 1];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			List<Transition> stateTransitions = transitionsMap.get(state);
+
+			if (stateTransitions == null)
+			{
+				continue;
+			}
+
+			for (Transition transition : stateTransitions)
+			{
+				characterOffsets[FiniteAutomataTable.getCharacterIndex(
+						characterIndexes, transition) + 1]++;
+			}
+		}
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			characterOffsets[i + 1] += characterOffsets[i];
+		}
+
+		int[] positions = Arrays.copyOf(characterOffsets, charactersCount);
+		long[] pairs = new long[characterOffsets[charactersCount]];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			List<Transition> stateTransitions = transitionsMap.get(state);
+
+			if (stateTransitions == null)
+			{
+				continue;
+			}
+
+			for (Transition transition : stateTransitions)
+			{
+				pairs[positions[FiniteAutomataTable.getCharacterIndex(
+						characterIndexes, transition)]++] = ((long) state << 32)
+						| transition.getToState();
+			}
+		}
+
+		// Sort pairs of every character and squeeze out the duplicates.
+		int count = 0;
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			int start = characterOffsets[i];
+			int end = characterOffsets[i + 1];
+
+			Arrays.sort(pairs, start, end);
+
+			characterOffsets[i] = count;
+
+			for (int j = start; j < end; j++)
+			{
+				if (j == start || pairs[j] != pairs[j - 1])
+				{
+					pairs[count++] = pairs[j];
+				}
+			}
+		}
+
+		characterOffsets[charactersCount] = count;
+
+		this.transitionsCount = count;
+
+		// Characters with equal pairs are merged into one symbol.
+		int[] characterClasses = new int[charactersCount];
+		List<Integer> representatives = new ArrayList<Integer>();
+		Map<Integer, List<Integer>> hashClasses = new HashMap<Integer, List<Integer>>();
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			characterClasses[i] = -1;
+
+			int hash = FiniteAutomataTable.getPairsHash(pairs,
+					characterOffsets[i], characterOffsets[i + 1]);
+
+			List<Integer> classes = hashClasses.get(hash);
+
+			if (mergeCharacters && classes != null)
+			{
+				for (int symbol : classes)
+				{
+					int representative = representatives.get(symbol);
+
+					if (FiniteAutomataTable.arePairsEqual(pairs,
+							characterOffsets[representative],
+							characterOffsets[representative + 1],
+							characterOffsets[i], characterOffsets[i + 1]))
+					{
+						characterClasses[i] = symbol;
+
+						break;
+					}
+				}
+			}
+
+			if (characterClasses[i] == -1)
+			{
+				characterClasses[i] = representatives.size();
+
+				if (classes == null)
+				{
+					classes = new ArrayList<Integer>();
+
+					hashClasses.put(hash, classes);
+				}
+
+				classes.add(representatives.size());
+				representatives.add(i);
+			}
+		}
+
+		int symbolsCount = representatives.size();
+		int[] symbolSizes = new int[symbolsCount];
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			symbolSizes[characterClasses[i]]++;
+		}
+
+		this.characterSymbols = new int[maxCharacter + 1];
+		this.symbolCharacters = new char[symbolsCount][];
+
+		Arrays.fill(this.characterSymbols, -1);
+
+		for (int symbol = 0; symbol < symbolsCount; symbol++)
+		{
+			this.symbolCharacters[symbol] = new char[symbolSizes[symbol]];
+			symbolSizes[symbol] = 0;
+		}
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			char character = alphabet.get(i);
+			int symbol = characterClasses[i];
+
+			this.characterSymbols[character] = symbol;
+			this.symbolCharacters[symbol][symbolSizes[symbol]++] = character;
+		}
+
+		long cellsCount = (long) this.statesCardinality * symbolsCount;
+
+		if (cellsCount >= Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Finite automata is too large: %1$d states, %2$d symbols.",
+					this.statesCardinality, symbolsCount));
+		}
+
+		this.offsets = new int[(int) cellsCount + 1];
+
+		for (int symbol = 0; symbol < symbolsCount; symbol++)
+		{
+			int representative = representatives.get(symbol);
+
+			for (int i = characterOffsets[representative]; i < characterOffsets[representative + 1]; i++)
+			{
+				this.offsets[(int) (pairs[i] >>> 32) * symbolsCount + symbol
+						+ 1]++;
+			}
+		}
+
+		for (int i = 0; i < cellsCount; i++)
+		{
+			this.offsets[i + 1] += this.offsets[i];
+		}
+
+		positions = Arrays.copyOf(this.offsets, (int) cellsCount);
+		this.targets = new int[this.offsets[(int) cellsCount]];
+
+		for (int symbol = 0; symbol < symbolsCount; symbol++)
+		{
+			int representative = representatives.get(symbol);
+
+			for (int i = characterOffsets[representative]; i < characterOffsets[representative + 1]; i++)
+			{
+				this.targets[positions[(int) (pairs[i] >>> 32) * symbolsCount
+						+ symbol]++] = (int) pairs[i];
+			}
+		}
+	}
+
+	private static boolean arePairsEqual(long[] pairs, int start, int end,
+			int otherStart, int otherEnd)
+	{
+		if (end - start != otherEnd - otherStart)
+		{
+			return false;
+		}
+
+		for (int i = start, j = otherStart; i < end; i++, j++)
+		{
+			if (pairs[i] != pairs[j])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static int getCharacterIndex(int[] characterIndexes,
+			Transition transition)
+	{
+		char character = transition.getCharacter();
+
+		if (character >= characterIndexes.length
+				|| characterIndexes[character] < 0)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.",
+					transition.getFromState(), transition.getCharacter(),
+					transition.getToState()));
+		}
+
+		return characterIndexes[character];
+	}
+
+	private static int getPairsHash(long[] pairs, int start, int end)
+	{
+		int hash = 1;
+
+		for (int i = start; i < end; i++)
+		{
+			hash = 31 * hash + Long.hashCode(pairs[i]);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Finds the first cell with more than one target
+	 *
+	 * @return cell index or -1 if the automata is deterministic
+	 */
+	public int findNonDeterministicCell()
+	{
+		for (int cell = 0, count = this.offsets.length - 1; cell < count; cell++)
+		{
+			if (this.offsets[cell + 1] - this.offsets[cell] > 1)
+			{
+				return cell;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets copy of the finite states set
+	 *
+	 * @return
+	 */
+	public BitSet getFiniteStates()
+	{
+		return (BitSet) this.finiteStates.clone();
+	}
+
+	/**
+	 * Gets initial state or -1 if the automata has no states
+	 *
+	 * @return
+	 */
+	public int getInitialState()
+	{
+		return this.initialState;
+	}
+
+	/**
+	 * Gets cardinality of the states
+	 *
+	 * @return
+	 */
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	/**
+	 * Gets symbol of the character
+	 *
+	 * @param character
+	 * @return symbol or -1 if the character is not in the alphabet
+	 */
+	public int getSymbol(char character)
+	{
+		if (character >= this.characterSymbols.length)
+		{
+			return -1;
+		}
+
+		return this.characterSymbols[character];
+	}
+
+	/**
+	 * Gets characters, represented by the symbol. Returned array must not be
+	 * modified.
+	 *
+	 * @param symbol
+	 * @return
+	 */
+	public char[] getSymbolCharacters(int symbol)
+	{
+		return this.symbolCharacters[symbol];
+	}
+
+	/**
+	 * Gets count of the symbols
+	 *
+	 * @return
+	 */
+	public int getSymbolsCount()
+	{
+		return this.symbolCharacters.length;
+	}
+
+	/**
+	 * Gets target state by index
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int getTarget(int index)
+	{
+		return this.targets[index];
+	}
+
+	/**
+	 * Gets end index (exclusive) of the targets of the transitions from the
+	 * state by the symbol
+	 *
+	 * @param state
+	 * @param symbol
+	 * @return
+	 */
+	public int getTargetsEnd(int state, int symbol)
+	{
+		return this.offsets[state * this.symbolCharacters.length + symbol + 1];
+	}
+
+	/**
+	 * Gets start index of the targets of the transitions from the state by the
+	 * symbol
+	 *
+	 * @param state
+	 * @param symbol
+	 * @return
+	 */
+	public int getTargetsStart(int state, int symbol)
+	{
+		return this.offsets[state * this.symbolCharacters.length + symbol];
+	}
+
+	/**
+	 * Gets total count of the targets of all the cells
+	 *
+	 * @return
+	 */
+	public int getTargetsCount()
+	{
+		return this.targets.length;
+	}
+
+	/**
+	 * Gets total count of the distinct transitions (by characters, not by
+	 * symbols)
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.transitionsCount;
+	}
+
+	/**
+	 * Checks whether the state is finite
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean isFiniteState(int state)
+	{
+		return this.finiteStates.get(state);
+	}
+}
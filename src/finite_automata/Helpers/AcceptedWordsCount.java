@@ -0,0 +1,131 @@
+package finite_automata.Helpers;
+
+import java.math.BigInteger;
+
+/**
+ * Counts of the words, accepted by the automata, per length. Counts are kept
+ * either as longs or, in the exact mode, as big integers.
+ */
+public class AcceptedWordsCount
+{
+	private final long[] counts;
+
+	private final BigInteger[] exactCounts;
+
+	private final boolean isLanguageInfinite;
+
+	public AcceptedWordsCount(BigInteger[] exactCounts,
+			boolean isLanguageInfinite)
+	{
+		this.counts = null;
+		this.exactCounts = exactCounts;
+		this.isLanguageInfinite = isLanguageInfinite;
+	}
+
+	public AcceptedWordsCount(long[] counts, boolean isLanguageInfinite)
+	{
+		this.counts = counts;
+		this.exactCounts = null;
+		this.isLanguageInfinite = isLanguageInfinite;
+	}
+
+	/**
+	 * Gets count of the accepted words of the length
+	 *
+	 * @param length
+	 * @return
+	 * @throws ArithmeticException
+	 *             if the exact count does not fit into long
+	 */
+	public long getCount(int length)
+	{
+		this.checkLength(length);
+
+		if (this.counts != null)
+		{
+			return this.counts[length];
+		}
+
+		return this.exactCounts[length].longValueExact();
+	}
+
+	/**
+	 * Gets exact count of the accepted words of the length
+	 *
+	 * @param length
+	 * @return
+	 */
+	public BigInteger getExactCount(int length)
+	{
+		this.checkLength(length);
+
+		if (this.exactCounts != null)
+		{
+			return this.exactCounts[length];
+		}
+
+		return BigInteger.valueOf(this.counts[length]);
+	}
+
+	/**
+	 * Gets exact count of the accepted words of all the lengths up to the
+	 * maximum length
+	 *
+	 * @return
+	 */
+	public BigInteger getExactTotalCount()
+	{
+		BigInteger totalCount = BigInteger.ZERO;
+
+		for (int length = 0, maxLength = this.getMaxLength(); length <= maxLength; length++)
+		{
+			totalCount = totalCount.add(this.getExactCount(length));
+		}
+
+		return totalCount;
+	}
+
+	/**
+	 * Gets maximum length of the counted words
+	 *
+	 * @return
+	 */
+	public int getMaxLength()
+	{
+		return ((this.counts != null) ? this.counts.length
+				: this.exactCounts.length) - 1;
+	}
+
+	/**
+	 * Gets count of the accepted words of all the lengths up to the maximum
+	 * length
+	 *
+	 * @return
+	 * @throws ArithmeticException
+	 *             if the count does not fit into long
+	 */
+	public long getTotalCount()
+	{
+		return this.getExactTotalCount().longValueExact();
+	}
+
+	/**
+	 * Checks whether the automata accepts infinite count of the words
+	 *
+	 * @return
+	 */
+	public boolean isLanguageInfinite()
+	{
+		return this.isLanguageInfinite;
+	}
+
+	private void checkLength(int length)
+	{
+		if (length < 0 || length > this.getMaxLength())
+		{
+			throw new IllegalArgumentException(String.format(
+					"Length: %1$d must be between 0 and %2$d.", length,
+					this.getMaxLength()));
+		}
+	}
+}
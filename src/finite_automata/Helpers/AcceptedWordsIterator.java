@@ -0,0 +1,46 @@
+package finite_automata.Helpers;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+class AcceptedWordsIterator implements Iterator<String>
+{
+	private long count;
+
+	private int length;
+
+	private final long maxCount;
+
+	private final AcceptedWordsWalker walker;
+
+	public AcceptedWordsIterator(AcceptedWordsWalker walker, long maxCount)
+	{
+		this.walker = walker;
+		this.maxCount = maxCount;
+
+		this.length = (maxCount > 0) ? walker.next() : -1;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		return this.length != -1;
+	}
+
+	@Override
+	public String next()
+	{
+		if (this.length == -1)
+		{
+			throw new NoSuchElementException();
+		}
+
+		String word = new String(this.walker.getBuffer(), 0, this.length);
+
+		this.count++;
+
+		this.length = (this.count < this.maxCount) ? this.walker.next() : -1;
+
+		return word;
+	}
+}
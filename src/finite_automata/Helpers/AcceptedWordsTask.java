@@ -0,0 +1,115 @@
+package finite_automata.Helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import finite_automata.FiniteAutomataTable;
+
+/**
+ * Collects the words, accepted by the automata, which start with the prefix.
+ * While other workers are short of tasks, the task forks a subtask per
+ * character of the next position; otherwise it walks its subtree
+ * sequentially. Words are returned in lexicographic order.
+ */
+class AcceptedWordsTask extends RecursiveTask<List<String>>
+{
+	/**
+	 * Count of the queued tasks, above which the task stops splitting.
+	 */
+	private static final int MAX_SURPLUS_QUEUED_TASKS_COUNT = 3;
+
+	private static final long serialVersionUID = 1L;
+
+	private final int[] distances;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private final int maxLength;
+
+	private final char[] prefix;
+
+	private final int[] set;
+
+	public AcceptedWordsTask(FiniteAutomataTable finiteAutomataTable,
+			int[] distances, int maxLength, char[] prefix, int[] set)
+	{
+		this.finiteAutomataTable = finiteAutomataTable;
+		this.distances = distances;
+		this.maxLength = maxLength;
+		this.prefix = prefix;
+		this.set = set;
+	}
+
+	@Override
+	protected List<String> compute()
+	{
+		List<String> words = new ArrayList<String>();
+
+		if (this.prefix.length == this.maxLength
+				|| RecursiveTask.getSurplusQueuedTaskCount() > AcceptedWordsTask.MAX_SURPLUS_QUEUED_TASKS_COUNT)
+		{
+			AcceptedWordsWalker walker = new AcceptedWordsWalker(
+					this.finiteAutomataTable, this.distances, this.maxLength,
+					this.prefix, this.set);
+
+			for (int length = walker.next(); length != -1; length = walker
+					.next())
+			{
+				words.add(new String(walker.getBuffer(), 0, length));
+			}
+
+			return words;
+		}
+
+		for (int state : this.set)
+		{
+			if (this.distances[state] == 0)
+			{
+				words.add(new String(this.prefix));
+
+				break;
+			}
+		}
+
+		List<AcceptedWordsTask> subtasks = new ArrayList<AcceptedWordsTask>();
+
+		for (int symbol = 0, symbolsCount = this.finiteAutomataTable
+				.getSymbolsCount(); symbol < symbolsCount; symbol++)
+		{
+			int[] successors = AcceptedWordsWalker.getSuccessors(
+					this.finiteAutomataTable, this.distances, this.set,
+					symbol, this.maxLength - this.prefix.length - 1);
+
+			if (successors == null)
+			{
+				continue;
+			}
+
+			for (char character : this.finiteAutomataTable
+					.getSymbolCharacters(symbol))
+			{
+				char[] prefix = Arrays.copyOf(this.prefix,
+						this.prefix.length + 1);
+
+				prefix[this.prefix.length] = character;
+
+				AcceptedWordsTask subtask = new AcceptedWordsTask(
+						this.finiteAutomataTable, this.distances,
+						this.maxLength, prefix, successors);
+
+				subtask.fork();
+
+				subtasks.add(subtask);
+			}
+		}
+
+		for (AcceptedWordsTask subtask : subtasks)
+		{
+			words.addAll(subtask.join());
+		}
+
+		return words;
+	}
+}
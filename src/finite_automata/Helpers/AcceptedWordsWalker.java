@@ -0,0 +1,394 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataTable;
+
+/**
+ * Depth-first walker over the words, accepted by the automata, in
+ * lexicographic order of the symbols. Every step works on the set of the
+ * states, reachable by the current prefix, so every word is produced exactly
+ * once even for nondeterministic automata. States, from which no finite state
+ * can be reached within the remaining length, are pruned, so every explored
+ * prefix leads to at least one word. Memory is proportional to the maximum
+ * length of the words, not to the count of them.
+ */
+class AcceptedWordsWalker
+{
+	/**
+	 * Computes the length of the shortest path from every state to any
+	 * finite state
+	 *
+	 * @param finiteAutomataTable
+	 * @return distances, -1 for the states which can't reach finite states
+	 */
+	static int[] getDistancesToFiniteStates(
+			FiniteAutomataTable finiteAutomataTable)
+	{
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		// Reverse adjacency in CSR layout, without symbols.
+		int[] offsets = new int[statesCardinality + 1];
+		int[] sources = new int[finiteAutomataTable.getTargetsCount()];
+
+		for (int i = 0, count = sources.length; i < count; i++)
+		{
+			offsets[finiteAutomataTable.getTarget(i) + 1]++;
+		}
+
+		for (int i = 0; i < statesCardinality; i++)
+		{
+			offsets[i + 1] += offsets[i];
+		}
+
+		int[] positions = Arrays.copyOf(offsets, statesCardinality);
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			// Cells of the state are adjacent, so all its targets are in
+			// one range.
+			for (int i = finiteAutomataTable.getTargetsStart(state, 0), end = finiteAutomataTable
+					.getTargetsEnd(state, symbolsCount - 1); i < end; i++)
+			{
+				sources[positions[finiteAutomataTable.getTarget(i)]++] = state;
+			}
+		}
+
+		int[] distances = new int[statesCardinality];
+		int[] queue = new int[statesCardinality];
+		int queueSize = 0;
+
+		Arrays.fill(distances, -1);
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			if (finiteAutomataTable.isFiniteState(state))
+			{
+				distances[state] = 0;
+				queue[queueSize++] = state;
+			}
+		}
+
+		for (int i = 0; i < queueSize; i++)
+		{
+			int state = queue[i];
+
+			for (int j = offsets[state]; j < offsets[state + 1]; j++)
+			{
+				int source = sources[j];
+
+				if (distances[source] == -1)
+				{
+					distances[source] = distances[state] + 1;
+					queue[queueSize++] = source;
+				}
+			}
+		}
+
+		return distances;
+	}
+
+	/**
+	 * Computes the sorted set of the successors of the states set by the
+	 * symbol, pruning the states which can't reach finite states within the
+	 * remaining length
+	 *
+	 * @param finiteAutomataTable
+	 * @param distances
+	 * @param set
+	 * @param symbol
+	 * @param remainingLength
+	 * @return successors or null if there are no such successors
+	 */
+	static int[] getSuccessors(FiniteAutomataTable finiteAutomataTable,
+			int[] distances, int[] set, int symbol, int remainingLength)
+	{
+		int[] successors = null;
+		int count = 0;
+
+		for (int state : set)
+		{
+			for (int i = finiteAutomataTable.getTargetsStart(state, symbol), end = finiteAutomataTable
+					.getTargetsEnd(state, symbol); i < end; i++)
+			{
+				int target = finiteAutomataTable.getTarget(i);
+				int distance = distances[target];
+
+				if (distance == -1 || distance > remainingLength)
+				{
+					continue;
+				}
+
+				if (successors == null || count == successors.length)
+				{
+					successors = (successors == null) ? new int[4] : Arrays
+							.copyOf(successors, count * 2);
+				}
+
+				successors[count++] = target;
+			}
+		}
+
+		if (count == 0)
+		{
+			return null;
+		}
+
+		Arrays.sort(successors, 0, count);
+
+		int size = 1;
+
+		for (int i = 1; i < count; i++)
+		{
+			if (successors[i] != successors[size - 1])
+			{
+				successors[size++] = successors[i];
+			}
+		}
+
+		return Arrays.copyOf(successors, size);
+	}
+
+	private final char[] buffer;
+
+	private final int[] characterIndices;
+
+	private int depth;
+
+	private final int[] distances;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private boolean isStarted;
+
+	private final boolean[] marks;
+
+	private final int maxLength;
+
+	private final int minDepth;
+
+	private final int[][] sets;
+
+	private final int[] sizes;
+
+	private final int[] symbols;
+
+	public AcceptedWordsWalker(FiniteAutomataTable finiteAutomataTable,
+			int[] distances, int maxLength)
+	{
+		this(finiteAutomataTable, distances, maxLength, new char[0],
+				AcceptedWordsWalker.getInitialSet(finiteAutomataTable,
+						distances, maxLength));
+	}
+
+	/**
+	 * Creates the walker over the words, which start with the prefix
+	 *
+	 * @param finiteAutomataTable
+	 * @param distances
+	 * @param maxLength
+	 * @param prefix
+	 * @param set
+	 *            set of the states, reachable by the prefix, or null if
+	 *            there are no words with such prefix
+	 */
+	public AcceptedWordsWalker(FiniteAutomataTable finiteAutomataTable,
+			int[] distances, int maxLength, char[] prefix, int[] set)
+	{
+		this.finiteAutomataTable = finiteAutomataTable;
+		this.distances = distances;
+		this.maxLength = maxLength;
+		this.minDepth = prefix.length;
+
+		this.buffer = Arrays.copyOf(prefix, maxLength);
+		this.characterIndices = new int[maxLength + 1];
+		this.marks = new boolean[finiteAutomataTable.getStatesCardinality()];
+		this.sets = new int[maxLength + 1][];
+		this.sizes = new int[maxLength + 1];
+		this.symbols = new int[maxLength + 1];
+
+		if (set != null)
+		{
+			this.sets[this.minDepth] = set;
+			this.sizes[this.minDepth] = set.length;
+			this.symbols[this.minDepth] = -1;
+			this.depth = this.minDepth;
+		}
+		else
+		{
+			this.depth = this.minDepth - 1;
+		}
+	}
+
+	/**
+	 * Gets the set, containing the initial state, or null if no words of the
+	 * maximum length are accepted
+	 *
+	 * @param finiteAutomataTable
+	 * @param distances
+	 * @param maxLength
+	 * @return
+	 */
+	static int[] getInitialSet(FiniteAutomataTable finiteAutomataTable,
+			int[] distances, int maxLength)
+	{
+		int initialState = finiteAutomataTable.getInitialState();
+
+		if (initialState >= 0 && distances[initialState] != -1
+				&& distances[initialState] <= maxLength)
+		{
+			return new int[] { initialState };
+		}
+
+		return null;
+	}
+
+	private boolean computeSuccessors(int symbol)
+	{
+		int[] set = this.sets[this.depth];
+		int size = this.sizes[this.depth];
+		int remainingLength = this.maxLength - this.depth - 1;
+
+		int[] nextSet = this.sets[this.depth + 1];
+		int nextSize = 0;
+
+		for (int i = 0; i < size; i++)
+		{
+			for (int j = this.finiteAutomataTable.getTargetsStart(set[i],
+					symbol), end = this.finiteAutomataTable.getTargetsEnd(
+					set[i], symbol); j < end; j++)
+			{
+				int target = this.finiteAutomataTable.getTarget(j);
+				int distance = this.distances[target];
+
+				if (distance == -1 || distance > remainingLength
+						|| this.marks[target])
+				{
+					continue;
+				}
+
+				if (nextSet == null || nextSize == nextSet.length)
+				{
+					nextSet = (nextSet == null) ? new int[Math.max(size, 4)]
+							: Arrays.copyOf(nextSet, nextSize * 2);
+
+					this.sets[this.depth + 1] = nextSet;
+				}
+
+				this.marks[target] = true;
+
+				nextSet[nextSize++] = target;
+			}
+		}
+
+		for (int i = 0; i < nextSize; i++)
+		{
+			this.marks[nextSet[i]] = false;
+		}
+
+		this.sizes[this.depth + 1] = nextSize;
+
+		return nextSize > 0;
+	}
+
+	private boolean containsFiniteState(int depth)
+	{
+		for (int i = 0, size = this.sizes[depth]; i < size; i++)
+		{
+			if (this.distances[this.sets[depth][i]] == 0)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the buffer, containing the last word. The buffer is reused between
+	 * the calls of next().
+	 *
+	 * @return
+	 */
+	public char[] getBuffer()
+	{
+		return this.buffer;
+	}
+
+	/**
+	 * Advances to the next accepted word
+	 *
+	 * @return length of the word in the buffer or -1 if there are no more
+	 *         words
+	 */
+	public int next()
+	{
+		if (!this.isStarted)
+		{
+			this.isStarted = true;
+
+			if (this.depth == this.minDepth
+					&& this.containsFiniteState(this.minDepth))
+			{
+				return this.minDepth;
+			}
+		}
+
+		while (this.depth >= this.minDepth)
+		{
+			int depth = this.depth;
+
+			if (depth == this.maxLength)
+			{
+				this.depth--;
+
+				continue;
+			}
+
+			int symbol = this.symbols[depth];
+
+			if (symbol >= 0
+					&& this.characterIndices[depth] + 1 < this.finiteAutomataTable
+							.getSymbolCharacters(symbol).length)
+			{
+				// Successors of the symbol are still in the next set.
+				this.characterIndices[depth]++;
+			}
+			else
+			{
+				symbol++;
+
+				while (symbol < this.finiteAutomataTable.getSymbolsCount()
+						&& !this.computeSuccessors(symbol))
+				{
+					symbol++;
+				}
+
+				if (symbol == this.finiteAutomataTable.getSymbolsCount())
+				{
+					this.symbols[depth] = -1;
+					this.depth--;
+
+					continue;
+				}
+
+				this.symbols[depth] = symbol;
+				this.characterIndices[depth] = 0;
+			}
+
+			this.buffer[depth] = this.finiteAutomataTable
+					.getSymbolCharacters(symbol)[this.characterIndices[depth]];
+
+			this.depth++;
+			this.symbols[this.depth] = -1;
+
+			if (this.containsFiniteState(this.depth))
+			{
+				return this.depth;
+			}
+		}
+
+		return -1;
+	}
+}
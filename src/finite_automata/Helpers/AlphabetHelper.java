@@ -0,0 +1,137 @@
+package finite_automata.Helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the alphabets for IFiniteAutomata.setAlphabet(). Characters are
+ * UTF-16 code units, so the bytes are the characters [0; 255] and the code
+ * points out of the basic multilingual plane are spelled by their surrogate
+ * pairs.
+ */
+public class AlphabetHelper
+{
+	/**
+	 * Maximum value of the byte character.
+	 */
+	public static final char MAX_BYTE = 0xFF;
+
+	private static void addCharacter(boolean[] marks,
+			List<Character> alphabet, char character)
+	{
+		if (!marks[character])
+		{
+			marks[character] = true;
+			alphabet.add(character);
+		}
+	}
+
+	/**
+	 * Gets the alphabet of the distinct characters of the string, in order
+	 * of their first occurrence
+	 *
+	 * @param characters
+	 * @return
+	 */
+	public static List<Character> getAlphabet(CharSequence characters)
+	{
+		if (characters == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: characters.");
+		}
+
+		boolean[] marks = new boolean[Character.MAX_VALUE + 1];
+
+		List<Character> alphabet = new ArrayList<Character>();
+
+		for (int i = 0, length = characters.length(); i < length; i++)
+		{
+			AlphabetHelper.addCharacter(marks, alphabet, characters.charAt(i));
+		}
+
+		return alphabet;
+	}
+
+	/**
+	 * Gets the alphabet of all the bytes
+	 *
+	 * @return
+	 */
+	public static List<Character> getByteAlphabet()
+	{
+		return AlphabetHelper.getRangeAlphabet((char) 0,
+				AlphabetHelper.MAX_BYTE);
+	}
+
+	/**
+	 * Gets the alphabet of the code units, which spell the code points in
+	 * the range [first; last]. Code points out of the basic multilingual
+	 * plane add their surrogates, so the alphabet never exceeds 65536
+	 * characters.
+	 *
+	 * @param first
+	 * @param last
+	 * @return
+	 */
+	public static List<Character> getCodePointAlphabet(int first, int last)
+	{
+		if (!Character.isValidCodePoint(first))
+		{
+			throw new IllegalArgumentException(
+					"Argument must be valid code point: first.");
+		}
+
+		if (!Character.isValidCodePoint(last) || last < first)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be valid code point, not less than first: last.");
+		}
+
+		boolean[] marks = new boolean[Character.MAX_VALUE + 1];
+
+		List<Character> alphabet = new ArrayList<Character>();
+
+		for (int codePoint = first; codePoint <= last; codePoint++)
+		{
+			if (Character.isBmpCodePoint(codePoint))
+			{
+				AlphabetHelper.addCharacter(marks, alphabet, (char) codePoint);
+			}
+			else
+			{
+				AlphabetHelper.addCharacter(marks, alphabet,
+						Character.highSurrogate(codePoint));
+				AlphabetHelper.addCharacter(marks, alphabet,
+						Character.lowSurrogate(codePoint));
+			}
+		}
+
+		return alphabet;
+	}
+
+	/**
+	 * Gets the alphabet of the characters in the range [first; last]
+	 *
+	 * @param first
+	 * @param last
+	 * @return
+	 */
+	public static List<Character> getRangeAlphabet(char first, char last)
+	{
+		if (last < first)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than first: last.");
+		}
+
+		List<Character> alphabet = new ArrayList<Character>(last - first + 1);
+
+		for (int character = first; character <= last; character++)
+		{
+			alphabet.add((char) character);
+		}
+
+		return alphabet;
+	}
+}
@@ -0,0 +1,65 @@
+package finite_automata.Helpers;
+
+/**
+ * Mutable character sequence view over the prefix of the array, which is not
+ * copied.
+ */
+class CharArrayView implements CharSequence
+{
+	private final char[] array;
+
+	private int length;
+
+	public CharArrayView(char[] array)
+	{
+		this.array = array;
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		if (index < 0 || index >= this.length)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+					"Index: %1$d must be between 0 and %2$d.", index,
+					this.length - 1));
+		}
+
+		return this.array[index];
+	}
+
+	@Override
+	public int length()
+	{
+		return this.length;
+	}
+
+	/**
+	 * Sets length of the view
+	 *
+	 * @param length
+	 */
+	public void setLength(int length)
+	{
+		this.length = length;
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		if (start < 0 || end > this.length || start > end)
+		{
+			throw new IndexOutOfBoundsException(String.format(
+					"Range: [%1$d; %2$d) is invalid for length: %3$d.", start,
+					end, this.length));
+		}
+
+		return new String(this.array, start, end - start);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new String(this.array, 0, this.length);
+	}
+}
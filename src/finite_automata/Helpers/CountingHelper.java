@@ -0,0 +1,426 @@
+package finite_automata.Helpers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+
+public class CountingHelper
+{
+	private static void checkArguments(IFiniteAutomata finiteAutomata,
+			int maxLength)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		if (maxLength < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: maxLength.");
+		}
+	}
+
+	/**
+	 * Counts the words, accepted by the automata, per length up to the
+	 * maximum length, using dynamic programming over the transitions of the
+	 * deterministic automata. Nondeterministic automata is counted over the
+	 * sets of its states instead, see countAcceptedWordsExactly.
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 * @return
+	 * @throws ArithmeticException
+	 *             if any count does not fit into long
+	 */
+	public static AcceptedWordsCount countAcceptedWords(
+			IFiniteAutomata finiteAutomata, int maxLength)
+	{
+		CountingHelper.checkArguments(finiteAutomata, maxLength);
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int[] distances = AcceptedWordsWalker
+				.getDistancesToFiniteStates(finiteAutomataTable);
+
+		if (finiteAutomataTable.findNonDeterministicCell() != -1)
+		{
+			BigInteger[] exactCounts = CountingHelper
+					.countNonDeterministicAcceptedWords(finiteAutomataTable,
+							distances, maxLength);
+
+			long[] counts = new long[maxLength + 1];
+
+			for (int length = 0; length <= maxLength; length++)
+			{
+				counts[length] = exactCounts[length].longValueExact();
+			}
+
+			return new AcceptedWordsCount(counts,
+					CountingHelper.isLanguageInfinite(finiteAutomataTable,
+							distances));
+		}
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int initialState = finiteAutomataTable.getInitialState();
+
+		long[] counts = new long[maxLength + 1];
+		long[] currentCounts = new long[statesCardinality];
+		long[] nextCounts = new long[statesCardinality];
+
+		if (initialState >= 0 && distances[initialState] != -1)
+		{
+			currentCounts[initialState] = 1;
+		}
+
+		for (int length = 0; length <= maxLength; length++)
+		{
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (distances[state] == 0)
+				{
+					counts[length] = Math.addExact(counts[length],
+							currentCounts[state]);
+				}
+			}
+
+			if (length == maxLength)
+			{
+				break;
+			}
+
+			Arrays.fill(nextCounts, 0L);
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (currentCounts[state] == 0)
+				{
+					continue;
+				}
+
+				for (int symbol = 0, symbolsCount = finiteAutomataTable
+						.getSymbolsCount(); symbol < symbolsCount; symbol++)
+				{
+					long count = Math.multiplyExact(currentCounts[state],
+							finiteAutomataTable.getSymbolCharacters(symbol).length);
+
+					for (int i = finiteAutomataTable.getTargetsStart(state,
+							symbol), end = finiteAutomataTable.getTargetsEnd(
+							state, symbol); i < end; i++)
+					{
+						int target = finiteAutomataTable.getTarget(i);
+
+						if (distances[target] != -1)
+						{
+							nextCounts[target] = Math.addExact(
+									nextCounts[target], count);
+						}
+					}
+				}
+			}
+
+			long[] swap = currentCounts;
+
+			currentCounts = nextCounts;
+			nextCounts = swap;
+		}
+
+		return new AcceptedWordsCount(counts,
+				CountingHelper.isLanguageInfinite(finiteAutomataTable,
+						distances));
+	}
+
+	/**
+	 * Counts the words, accepted by the automata, per length up to the
+	 * maximum length exactly, using big integers. Paths of nondeterministic
+	 * automata may spell the same word, so it is counted over the sets of
+	 * its states, reached by the words of every length, without the
+	 * determinization of the whole automata. Count of such sets is bounded
+	 * by the count of the words of the length, so the time and memory may
+	 * still grow exponentially with the maximum length in the worst case.
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 * @return
+	 */
+	public static AcceptedWordsCount countAcceptedWordsExactly(
+			IFiniteAutomata finiteAutomata, int maxLength)
+	{
+		CountingHelper.checkArguments(finiteAutomata, maxLength);
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int[] distances = AcceptedWordsWalker
+				.getDistancesToFiniteStates(finiteAutomataTable);
+
+		if (finiteAutomataTable.findNonDeterministicCell() != -1)
+		{
+			return new AcceptedWordsCount(
+					CountingHelper.countNonDeterministicAcceptedWords(
+							finiteAutomataTable, distances, maxLength),
+					CountingHelper.isLanguageInfinite(finiteAutomataTable,
+							distances));
+		}
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int initialState = finiteAutomataTable.getInitialState();
+
+		BigInteger[] counts = new BigInteger[maxLength + 1];
+		BigInteger[] currentCounts = new BigInteger[statesCardinality];
+		BigInteger[] nextCounts = new BigInteger[statesCardinality];
+
+		if (initialState >= 0 && distances[initialState] != -1)
+		{
+			currentCounts[initialState] = BigInteger.ONE;
+		}
+
+		for (int length = 0; length <= maxLength; length++)
+		{
+			counts[length] = BigInteger.ZERO;
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (distances[state] == 0 && currentCounts[state] != null)
+				{
+					counts[length] = counts[length].add(currentCounts[state]);
+				}
+			}
+
+			if (length == maxLength)
+			{
+				break;
+			}
+
+			Arrays.fill(nextCounts, null);
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (currentCounts[state] == null)
+				{
+					continue;
+				}
+
+				for (int symbol = 0, symbolsCount = finiteAutomataTable
+						.getSymbolsCount(); symbol < symbolsCount; symbol++)
+				{
+					BigInteger count = currentCounts[state]
+							.multiply(BigInteger.valueOf(finiteAutomataTable
+									.getSymbolCharacters(symbol).length));
+
+					for (int i = finiteAutomataTable.getTargetsStart(state,
+							symbol), end = finiteAutomataTable.getTargetsEnd(
+							state, symbol); i < end; i++)
+					{
+						int target = finiteAutomataTable.getTarget(i);
+
+						if (distances[target] != -1)
+						{
+							nextCounts[target] = (nextCounts[target] == null) ? count
+									: nextCounts[target].add(count);
+						}
+					}
+				}
+			}
+
+			BigInteger[] swap = currentCounts;
+
+			currentCounts = nextCounts;
+			nextCounts = swap;
+		}
+
+		return new AcceptedWordsCount(counts,
+				CountingHelper.isLanguageInfinite(finiteAutomataTable,
+						distances));
+	}
+
+	/**
+	 * Counts the words per length over the sets of the states, reached by
+	 * them. Every word reaches exactly one set, so the words, spelled by
+	 * several paths, are counted once. Only the sets of the current length
+	 * are kept, and the states, which can't reach finite states, are
+	 * dropped from them.
+	 *
+	 * @param finiteAutomataTable
+	 * @param distances
+	 * @param maxLength
+	 * @return
+	 */
+	private static BigInteger[] countNonDeterministicAcceptedWords(
+			FiniteAutomataTable finiteAutomataTable, int[] distances,
+			int maxLength)
+	{
+		int initialState = finiteAutomataTable.getInitialState();
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		BigInteger[] counts = new BigInteger[maxLength + 1];
+		Map<BitSet, BigInteger> currentCounts = new HashMap<BitSet, BigInteger>();
+		BitSet nextStates = new BitSet(
+				finiteAutomataTable.getStatesCardinality());
+
+		if (initialState >= 0 && distances[initialState] != -1)
+		{
+			BitSet states = new BitSet();
+
+			states.set(initialState);
+
+			currentCounts.put(states, BigInteger.ONE);
+		}
+
+		for (int length = 0; length <= maxLength; length++)
+		{
+			counts[length] = BigInteger.ZERO;
+
+			for (Map.Entry<BitSet, BigInteger> entry : currentCounts
+					.entrySet())
+			{
+				BitSet states = entry.getKey();
+
+				for (int state = states.nextSetBit(0); state >= 0; state = states
+						.nextSetBit(state + 1))
+				{
+					if (distances[state] == 0)
+					{
+						counts[length] = counts[length].add(entry.getValue());
+
+						break;
+					}
+				}
+			}
+
+			if (length == maxLength)
+			{
+				break;
+			}
+
+			Map<BitSet, BigInteger> nextCounts = new HashMap<BitSet, BigInteger>();
+
+			for (Map.Entry<BitSet, BigInteger> entry : currentCounts
+					.entrySet())
+			{
+				BitSet states = entry.getKey();
+
+				for (int symbol = 0; symbol < symbolsCount; symbol++)
+				{
+					nextStates.clear();
+
+					for (int state = states.nextSetBit(0); state >= 0; state = states
+							.nextSetBit(state + 1))
+					{
+						for (int i = finiteAutomataTable.getTargetsStart(state,
+								symbol), end = finiteAutomataTable.getTargetsEnd(
+								state, symbol); i < end; i++)
+						{
+							int target = finiteAutomataTable.getTarget(i);
+
+							if (distances[target] != -1)
+							{
+								nextStates.set(target);
+							}
+						}
+					}
+
+					if (nextStates.isEmpty())
+					{
+						continue;
+					}
+
+					BigInteger count = entry.getValue().multiply(
+							BigInteger.valueOf(finiteAutomataTable
+									.getSymbolCharacters(symbol).length));
+					BigInteger nextCount = nextCounts.get(nextStates);
+
+					if (nextCount == null)
+					{
+						nextCounts.put((BitSet) nextStates.clone(), count);
+					}
+					else
+					{
+						nextCounts.put(nextStates, nextCount.add(count));
+					}
+				}
+			}
+
+			currentCounts = nextCounts;
+		}
+
+		return counts;
+	}
+
+	/**
+	 * Checks whether there is a cycle, reachable from the initial state,
+	 * through the states, which can reach finite states
+	 *
+	 * @param finiteAutomataTable
+	 * @param distances
+	 * @return
+	 */
+	private static boolean isLanguageInfinite(
+			FiniteAutomataTable finiteAutomataTable, int[] distances)
+	{
+		int initialState = finiteAutomataTable.getInitialState();
+
+		if (initialState < 0 || distances[initialState] == -1)
+		{
+			return false;
+		}
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int lastSymbol = finiteAutomataTable.getSymbolsCount() - 1;
+
+		// 0 - not visited, 1 - on the stack, 2 - done.
+		byte[] colors = new byte[statesCardinality];
+
+		int[] stack = new int[statesCardinality];
+		int[] positions = new int[statesCardinality];
+		int stackSize = 0;
+
+		stack[stackSize++] = initialState;
+		positions[initialState] = finiteAutomataTable.getTargetsStart(
+				initialState, 0);
+		colors[initialState] = 1;
+
+		while (stackSize > 0)
+		{
+			int state = stack[stackSize - 1];
+
+			if (positions[state] == finiteAutomataTable.getTargetsEnd(state,
+					lastSymbol))
+			{
+				colors[state] = 2;
+				stackSize--;
+
+				continue;
+			}
+
+			int target = finiteAutomataTable.getTarget(positions[state]++);
+
+			if (distances[target] == -1)
+			{
+				continue;
+			}
+
+			if (colors[target] == 1)
+			{
+				return true;
+			}
+
+			if (colors[target] == 0)
+			{
+				colors[target] = 1;
+				positions[target] = finiteAutomataTable.getTargetsStart(target,
+						0);
+				stack[stackSize++] = target;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,196 @@
+package finite_automata.Helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.StateSet;
+import finite_automata.Exceptions.StatesLimitExceededException;
+
+public class DeterminizationHelper
+{
+	public static final int DEFAULT_MAX_STATES_COUNT = 1 << 20;
+
+	/**
+	 * Builds deterministic finite automata, equivalent to the given one, with
+	 * the default limit of the produced states
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	public static IFiniteAutomata determinize(IFiniteAutomata finiteAutomata)
+			throws StatesLimitExceededException
+	{
+		return DeterminizationHelper.determinize(finiteAutomata,
+				DeterminizationHelper.DEFAULT_MAX_STATES_COUNT);
+	}
+
+	/**
+	 * Builds deterministic finite automata, equivalent to the given one, using
+	 * subset construction. Only subsets, reachable from the initial state, are
+	 * created; the empty subset is not created, so the result may be partial.
+	 *
+	 * @param finiteAutomata
+	 * @param maxStatesCount
+	 *            maximum count of the states of the result
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	public static IFiniteAutomata determinize(IFiniteAutomata finiteAutomata,
+			int maxStatesCount) throws StatesLimitExceededException
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		if (maxStatesCount < 1)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be greater than zero: maxStatesCount.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+		int initialState = finiteAutomataTable.getInitialState();
+
+		Map<StateSet, Integer> subsetsMap = new HashMap<StateSet, Integer>();
+
+		List<StateSet> subsets = new ArrayList<StateSet>();
+
+		// Triples (fromSubset; symbol; toSubset).
+		int[] transitions = new int[3 * 16];
+		int transitionsCount = 0;
+
+		if (initialState >= 0)
+		{
+			StateSet initialSubset = new StateSet(new int[] { initialState });
+
+			subsetsMap.put(initialSubset, 0);
+			subsets.add(initialSubset);
+		}
+
+		boolean[] marks = new boolean[finiteAutomataTable
+				.getStatesCardinality()];
+		int[] buffer = new int[finiteAutomataTable.getStatesCardinality()];
+
+		for (int i = 0; i < subsets.size(); i++)
+		{
+			StateSet subset = subsets.get(i);
+
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				int count = 0;
+
+				for (int j = 0, size = subset.size(); j < size; j++)
+				{
+					int state = subset.get(j);
+
+					for (int k = finiteAutomataTable.getTargetsStart(state,
+							symbol), end = finiteAutomataTable.getTargetsEnd(
+							state, symbol); k < end; k++)
+					{
+						int target = finiteAutomataTable.getTarget(k);
+
+						if (!marks[target])
+						{
+							marks[target] = true;
+							buffer[count++] = target;
+						}
+					}
+				}
+
+				if (count == 0)
+				{
+					continue;
+				}
+
+				int[] states = Arrays.copyOf(buffer, count);
+
+				for (int state : states)
+				{
+					marks[state] = false;
+				}
+
+				Arrays.sort(states);
+
+				StateSet nextSubset = new StateSet(states);
+
+				Integer index = subsetsMap.get(nextSubset);
+
+				if (index == null)
+				{
+					if (subsets.size() >= maxStatesCount)
+					{
+						throw new StatesLimitExceededException(String.format(
+								"Determinization requires more than %1$d states.",
+								maxStatesCount));
+					}
+
+					index = subsets.size();
+
+					subsetsMap.put(nextSubset, index);
+					subsets.add(nextSubset);
+				}
+
+				if (transitionsCount + 3 > transitions.length)
+				{
+					transitions = Arrays.copyOf(transitions,
+							transitions.length * 2);
+				}
+
+				transitions[transitionsCount++] = i;
+				transitions[transitionsCount++] = symbol;
+				transitions[transitionsCount++] = index;
+			}
+		}
+
+		FiniteAutomataBuilder finiteAutomataBuilder = FiniteAutomataHelper
+				.createFiniteAutomataBuilder(finiteAutomata.getAlphabet(),
+						subsets.size());
+
+		try
+		{
+			for (int i = 0, count = subsets.size(); i < count; i++)
+			{
+				StateSet subset = subsets.get(i);
+
+				for (int j = 0, size = subset.size(); j < size; j++)
+				{
+					if (finiteAutomataTable.isFiniteState(subset.get(j)))
+					{
+						finiteAutomataBuilder.addFiniteState(i);
+
+						break;
+					}
+				}
+			}
+
+			for (int i = 0; i < transitionsCount; i += 3)
+			{
+				for (char character : finiteAutomataTable
+						.getSymbolCharacters(transitions[i + 1]))
+				{
+					finiteAutomataBuilder.addTransition(transitions[i],
+							character, transitions[i + 2]);
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Subsets are distinct and valid, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+}
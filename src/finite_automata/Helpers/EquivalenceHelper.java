@@ -0,0 +1,289 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Primitives.LongIntHashMap;
+
+public class EquivalenceHelper
+{
+	private static void checkArguments(IFiniteAutomata first,
+			IFiniteAutomata second)
+	{
+		if (first == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: first.");
+		}
+
+		if (second == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: second.");
+		}
+	}
+
+	private static int find(int[] parents, int element)
+	{
+		while (parents[element] != element)
+		{
+			// Path halving.
+			parents[element] = parents[parents[element]];
+			element = parents[element];
+		}
+
+		return element;
+	}
+
+	/**
+	 * Finds the shortest word, which is accepted by exactly one of two finite
+	 * automata (nondeterministic operands are determinized first). The
+	 * equivalence is checked by Hopcroft-Karp algorithm in near-linear time;
+	 * only if the automata differ, the shortest word is found by
+	 * breadth-first search over the pairs of the states, which stops at the
+	 * depth of that word.
+	 *
+	 * @param first
+	 * @param second
+	 * @return counterexample or null if the automata are equivalent
+	 * @throws StatesLimitExceededException
+	 */
+	public static String getCounterexample(IFiniteAutomata first,
+			IFiniteAutomata second) throws StatesLimitExceededException
+	{
+		EquivalenceHelper.checkArguments(first, second);
+
+		ProductOperands operands = new ProductOperands(first, second);
+
+		if (EquivalenceHelper.isEquivalent(operands))
+		{
+			return null;
+		}
+
+		return EquivalenceHelper.getShortestCounterexample(operands);
+	}
+
+	/**
+	 * Gets element of the union-find for the state of the operand
+	 *
+	 * @param state
+	 * @param offset
+	 *            first element of the operand
+	 * @param cardinality
+	 *            count of the elements of the operand (the last one is its
+	 *            dead state)
+	 * @return
+	 */
+	private static int getElement(int state, int offset, int cardinality)
+	{
+		return offset
+				+ ((state == ProductOperands.DEAD_STATE) ? cardinality - 1
+						: state);
+	}
+
+	/**
+	 * Finds the shortest counterexample by breadth-first search over the
+	 * pairs of the states, reachable from the pair of the initial states
+	 *
+	 * @param operands
+	 * @return
+	 */
+	private static String getShortestCounterexample(ProductOperands operands)
+	{
+		LongIntHashMap pairsMap = new LongIntHashMap();
+		int[] firstStates = new int[16];
+		int[] secondStates = new int[16];
+		int[] parents = new int[16];
+		int[] symbolPairs = new int[16];
+		int pairsCount = 1;
+
+		firstStates[0] = operands.getFirstInitialState();
+		secondStates[0] = operands.getSecondInitialState();
+		parents[0] = -1;
+
+		pairsMap.put(ProductOperands.getKey(firstStates[0], secondStates[0]),
+				0);
+
+		for (int i = 0; i < pairsCount; i++)
+		{
+			if (operands.isFirstFiniteState(firstStates[i]) != operands
+					.isSecondFiniteState(secondStates[i]))
+			{
+				StringBuilder word = new StringBuilder();
+
+				for (int pair = i; parents[pair] != -1; pair = parents[pair])
+				{
+					word.append(operands.getSymbolPairCharacters(
+							symbolPairs[pair]).get(0));
+				}
+
+				return word.reverse().toString();
+			}
+
+			for (int j = 0; j < operands.getSymbolPairsCount(); j++)
+			{
+				int firstTarget = operands.getFirstTarget(firstStates[i], j);
+				int secondTarget = operands.getSecondTarget(secondStates[i], j);
+
+				// No word is accepted from the pair of the dead states.
+				if (firstTarget == ProductOperands.DEAD_STATE
+						&& secondTarget == ProductOperands.DEAD_STATE)
+				{
+					continue;
+				}
+
+				long key = ProductOperands.getKey(firstTarget, secondTarget);
+
+				if (pairsMap.get(key, -1) != -1)
+				{
+					continue;
+				}
+
+				if (pairsCount == firstStates.length)
+				{
+					firstStates = Arrays.copyOf(firstStates, pairsCount * 2);
+					secondStates = Arrays.copyOf(secondStates, pairsCount * 2);
+					parents = Arrays.copyOf(parents, pairsCount * 2);
+					symbolPairs = Arrays.copyOf(symbolPairs, pairsCount * 2);
+				}
+
+				pairsMap.put(key, pairsCount);
+
+				firstStates[pairsCount] = firstTarget;
+				secondStates[pairsCount] = secondTarget;
+				parents[pairsCount] = i;
+				symbolPairs[pairsCount] = j;
+
+				pairsCount++;
+			}
+		}
+
+		// Operands differ, so this can't happen.
+		throw new IllegalStateException("Counterexample is not found.");
+	}
+
+	/**
+	 * Checks whether two finite automata accept the same language
+	 * (nondeterministic operands are determinized first) by Hopcroft-Karp
+	 * algorithm: the states of both automata are merged by union-find,
+	 * starting from the initial states, and the pair of the targets is
+	 * visited only if they are not merged yet, so at most n1 + n2 + 1 pairs
+	 * are visited and the time is near-linear in the count of the
+	 * transitions.
+	 *
+	 * @param first
+	 * @param second
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	public static boolean isEquivalent(IFiniteAutomata first,
+			IFiniteAutomata second) throws StatesLimitExceededException
+	{
+		EquivalenceHelper.checkArguments(first, second);
+
+		return EquivalenceHelper.isEquivalent(new ProductOperands(first,
+				second));
+	}
+
+	private static boolean isEquivalent(ProductOperands operands)
+	{
+		// Elements: states of the first automata, its dead state, states of
+		// the second automata and its dead state.
+		int firstCardinality = operands.getFirstStatesCardinality() + 1;
+		int elementsCount = firstCardinality
+				+ operands.getSecondStatesCardinality() + 1;
+
+		int[] parents = new int[elementsCount];
+		int[] ranks = new int[elementsCount];
+
+		for (int i = 0; i < elementsCount; i++)
+		{
+			parents[i] = i;
+		}
+
+		// Every visited pair merges two classes, so the queue is bounded.
+		int[] firstStates = new int[elementsCount];
+		int[] secondStates = new int[elementsCount];
+		int pairsCount = 0;
+
+		int firstInitialState = operands.getFirstInitialState();
+		int secondInitialState = operands.getSecondInitialState();
+
+		firstStates[pairsCount] = firstInitialState;
+		secondStates[pairsCount] = secondInitialState;
+		pairsCount++;
+
+		EquivalenceHelper.union(parents, ranks, EquivalenceHelper
+				.getElement(firstInitialState, 0, firstCardinality),
+				EquivalenceHelper.getElement(secondInitialState,
+						firstCardinality, elementsCount - firstCardinality));
+
+		for (int i = 0; i < pairsCount; i++)
+		{
+			int firstState = firstStates[i];
+			int secondState = secondStates[i];
+
+			if (operands.isFirstFiniteState(firstState) != operands
+					.isSecondFiniteState(secondState))
+			{
+				return false;
+			}
+
+			for (int j = 0; j < operands.getSymbolPairsCount(); j++)
+			{
+				int firstTarget = operands.getFirstTarget(firstState, j);
+				int secondTarget = operands.getSecondTarget(secondState, j);
+
+				if (EquivalenceHelper.union(parents, ranks, EquivalenceHelper
+						.getElement(firstTarget, 0, firstCardinality),
+						EquivalenceHelper.getElement(secondTarget,
+								firstCardinality, elementsCount
+										- firstCardinality)))
+				{
+					firstStates[pairsCount] = firstTarget;
+					secondStates[pairsCount] = secondTarget;
+					pairsCount++;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Merges the classes of two elements
+	 *
+	 * @param parents
+	 * @param ranks
+	 * @param firstElement
+	 * @param secondElement
+	 * @return true if the elements were in different classes
+	 */
+	private static boolean union(int[] parents, int[] ranks, int firstElement,
+			int secondElement)
+	{
+		int firstRoot = EquivalenceHelper.find(parents, firstElement);
+		int secondRoot = EquivalenceHelper.find(parents, secondElement);
+
+		if (firstRoot == secondRoot)
+		{
+			return false;
+		}
+
+		if (ranks[firstRoot] < ranks[secondRoot])
+		{
+			parents[firstRoot] = secondRoot;
+		}
+		else if (ranks[firstRoot] > ranks[secondRoot])
+		{
+			parents[secondRoot] = firstRoot;
+		}
+		else
+		{
+			parents[secondRoot] = firstRoot;
+			ranks[firstRoot]++;
+		}
+
+		return true;
+	}
+}
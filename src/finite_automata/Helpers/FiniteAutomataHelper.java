@@ -1,19 +1,34 @@
 package finite_automata.Helpers;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import finite_automata.BinaryFiniteAutomataWriter;
 import finite_automata.FiniteAutomata;
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.FiniteAutomataTable;
 import finite_automata.IFiniteAutomata;
+import finite_automata.SortedTransitions;
 import finite_automata.Transition;
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromFileException;
 import finite_automata.Exceptions.FailedToGetFiniteAutomataFromStringListException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
 
 public class FiniteAutomataHelper
 {
@@ -58,10 +73,10 @@ public class FiniteAutomataHelper
 
 		stringBuilder.append(finiteStatesCount);
 
-		for (int i = 0; i < finiteStatesCount; i++)
+		for (Integer finiteState : finiteStates)
 		{
 			stringBuilder.append(" ");
-			stringBuilder.append(finiteStates.get(i));
+			stringBuilder.append(finiteState);
 		}
 
 		String finiteStatesString = stringBuilder.toString();
@@ -97,6 +112,158 @@ public class FiniteAutomataHelper
 		return transitionsMapString;
 	}
 
+	/**
+	 * Creates the builder of the finite automata with the given alphabet and
+	 * cardinality of the states
+	 *
+	 * @param alphabet
+	 * @param statesCardinality
+	 * @return
+	 */
+	static FiniteAutomataBuilder createFiniteAutomataBuilder(
+			List<Character> alphabet, int statesCardinality)
+	{
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		finiteAutomataBuilder.setAlphabet(alphabet);
+		finiteAutomataBuilder.setStatesCardinality(statesCardinality);
+
+		return finiteAutomataBuilder;
+	}
+
+	/**
+	 * Gets the words, accepted by the automata, enumerating them in parallel
+	 * in the common fork-join pool
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 *            maximum length of the words
+	 * @return words in lexicographic order
+	 */
+	public static List<String> getAcceptedWordsInParallel(
+			IFiniteAutomata finiteAutomata, int maxLength)
+	{
+		return FiniteAutomataHelper.getAcceptedWordsInParallel(finiteAutomata,
+				maxLength, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the words, accepted by the automata, enumerating them in parallel.
+	 * The search is split by prefixes into fork-join tasks, every task
+	 * collects its words into the local buffer.
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 *            maximum length of the words
+	 * @param forkJoinPool
+	 * @return words in lexicographic order
+	 */
+	public static List<String> getAcceptedWordsInParallel(
+			IFiniteAutomata finiteAutomata, int maxLength,
+			ForkJoinPool forkJoinPool)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata");
+		}
+
+		if (maxLength < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: maxLength.");
+		}
+
+		if (forkJoinPool == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: forkJoinPool");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata, false);
+
+		int[] distances = AcceptedWordsWalker
+				.getDistancesToFiniteStates(finiteAutomataTable);
+
+		int[] initialSet = AcceptedWordsWalker.getInitialSet(
+				finiteAutomataTable, distances, maxLength);
+
+		if (initialSet == null)
+		{
+			return new ArrayList<String>();
+		}
+
+		return forkJoinPool.invoke(new AcceptedWordsTask(finiteAutomataTable,
+				distances, maxLength, new char[0], initialSet));
+	}
+
+	/**
+	 * Gets iterator over the words, accepted by the automata, which produces
+	 * the words lazily in lexicographic order
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 *            maximum length of the words
+	 * @param maxCount
+	 *            maximum count of the words
+	 * @return
+	 */
+	public static Iterator<String> getAcceptedWordsIterator(
+			IFiniteAutomata finiteAutomata, int maxLength, long maxCount)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata");
+		}
+
+		if (maxLength < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: maxLength.");
+		}
+
+		if (maxCount < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: maxCount.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata, false);
+
+		AcceptedWordsWalker walker = new AcceptedWordsWalker(
+				finiteAutomataTable,
+				AcceptedWordsWalker
+						.getDistancesToFiniteStates(finiteAutomataTable),
+				maxLength);
+
+		return new AcceptedWordsIterator(walker, maxCount);
+	}
+
+	/**
+	 * Gets sequential stream of the words, accepted by the automata, which
+	 * produces the words lazily in lexicographic order
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 *            maximum length of the words
+	 * @param maxCount
+	 *            maximum count of the words
+	 * @return
+	 */
+	public static Stream<String> getAcceptedWordsStream(
+			IFiniteAutomata finiteAutomata, int maxLength, long maxCount)
+	{
+		Iterator<String> iterator = FiniteAutomataHelper
+				.getAcceptedWordsIterator(finiteAutomata, maxLength, maxCount);
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				iterator, Spliterator.ORDERED | Spliterator.DISTINCT
+						| Spliterator.NONNULL), false);
+	}
+
 	/**
 	 * Gets the list of words, accepted by the automata
 	 *
@@ -104,7 +271,7 @@ public class FiniteAutomataHelper
 	 * @return
 	 */
 	public static Set<String> getAllAcceptedWords(
-			final IFiniteAutomata finiteAutomata)
+			IFiniteAutomata finiteAutomata)
 	{
 		if (finiteAutomata == null)
 		{
@@ -114,7 +281,33 @@ public class FiniteAutomataHelper
 
 		Set<String> words = new HashSet<String>();
 
-		if (finiteAutomata.getTransitionsMap().size() > 0)
+		if (finiteAutomata.getTransitionsMap().size() == 0)
+		{
+			return words;
+		}
+
+		// Dead states never lead to the words, so the transitions into them
+		// are skipped. The transitions are not rebuilt, since the result of
+		// the search depends on their order. The search blocks the words,
+		// which are already popped, so for the nondeterministic automata the
+		// dead branches affect the result and are kept.
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		boolean[] usefulStates;
+
+		if (finiteAutomataTable.findNonDeterministicCell() == -1)
+		{
+			usefulStates = TrimHelper.getUsefulStates(finiteAutomataTable);
+		}
+		else
+		{
+			usefulStates = new boolean[finiteAutomata.getStatesCardinality()];
+
+			Arrays.fill(usefulStates, true);
+		}
+
+		if (usefulStates[finiteAutomata.getInitialState()])
 		{
 			Map<Transition, Integer> visited = new HashMap<Transition, Integer>();
 			
@@ -149,6 +342,11 @@ public class FiniteAutomataHelper
 				
 				for (Transition childTransition : children)
 				{
+					if (!usefulStates[childTransition.getToState()])
+					{
+						continue;
+					}
+
 					Integer childColor = visited.get(childTransition);
 
 					if (childColor == null || childColor < 2)
@@ -191,6 +389,148 @@ public class FiniteAutomataHelper
 		return words;
 	}
 
+	/**
+	 * Gets finite automata from the file in the same format as the list of
+	 * strings. The file is mapped into memory and parsed directly from its
+	 * bytes, streaming the transitions into the builder.
+	 *
+	 * @param path
+	 * @return
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public static IFiniteAutomata getFiniteAutomataFromFile(Path path)
+			throws FailedToGetFiniteAutomataFromFileException
+	{
+		return FiniteAutomataHelper.getFiniteAutomataFromFile(path,
+				MappedFileScanner.DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Gets finite automata from the file, mapping it by windows of the given
+	 * size
+	 *
+	 * @param path
+	 * @param windowSize
+	 * @return
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	static IFiniteAutomata getFiniteAutomataFromFile(Path path,
+			long windowSize) throws FailedToGetFiniteAutomataFromFileException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		// Duplicates are detected on build, so the line of every transition
+		// is kept to point to the repeated one.
+		long[] transitionLines = new long[16];
+		int transitionsCount = 0;
+
+		try (MappedFileScanner scanner = new MappedFileScanner(path,
+				windowSize))
+		{
+			try
+			{
+				finiteAutomataBuilder.setAlphabetCardinality(scanner
+						.readInt());
+				scanner.readEndOfLine();
+
+				finiteAutomataBuilder.setStatesCardinality(scanner.readInt());
+				scanner.readEndOfLine();
+
+				finiteAutomataBuilder.setInitialState(scanner.readInt());
+				scanner.readEndOfLine();
+
+				// Ignore the first parameter - cardinality of the finiteStates
+				// set.
+				scanner.readInt();
+				scanner.skipSpaces();
+
+				if (scanner.isEndOfLine())
+				{
+					throw scanner.createException(
+							"Finite automata must have at least one finite state.",
+							null);
+				}
+
+				while (!scanner.isEndOfLine())
+				{
+					finiteAutomataBuilder.addFiniteState(scanner.readInt());
+					scanner.skipSpaces();
+				}
+
+				scanner.readEndOfLine();
+
+				while (!scanner.isEndOfFile())
+				{
+					scanner.skipSpaces();
+
+					// Skip empty lines.
+					if (scanner.isEndOfLine())
+					{
+						scanner.readEndOfLine();
+
+						continue;
+					}
+
+					long line = scanner.getLine();
+					int fromState = scanner.readInt();
+					char character = scanner.readCharacter();
+					int toState = scanner.readInt();
+
+					finiteAutomataBuilder.addTransition(fromState, character,
+							toState);
+					scanner.readEndOfLine();
+
+					if (transitionsCount == transitionLines.length)
+					{
+						transitionLines = Arrays.copyOf(transitionLines,
+								(int) Math.min(Integer.MAX_VALUE - 8,
+										2L * transitionsCount));
+					}
+
+					transitionLines[transitionsCount++] = line;
+				}
+			}
+			catch (IllegalArgumentException | StateIsAlreadyFinalException exception)
+			{
+				throw scanner.createException(exception.getMessage(),
+						exception);
+			}
+		}
+		catch (FailedToGetFiniteAutomataFromFileException exception)
+		{
+			throw exception;
+		}
+		catch (Exception exception)
+		{
+			throw new FailedToGetFiniteAutomataFromFileException(
+					"Failed to get finite automata from file.", exception);
+		}
+
+		try
+		{
+			return finiteAutomataBuilder.build();
+		}
+		catch (TransitionAlreadyExistsException exception)
+		{
+			int transition = finiteAutomataBuilder.findRepeatedTransition();
+
+			if (transition == -1)
+			{
+				// Build has found the duplicate, so this can't happen.
+				throw new IllegalStateException(exception);
+			}
+
+			throw new FailedToGetFiniteAutomataFromFileException(
+					exception.getMessage(), transitionLines[transition], 0,
+					exception);
+		}
+	}
+
 	/**
 	 * Gets finite automata from the list of strings
 	 *
@@ -265,4 +605,153 @@ public class FiniteAutomataHelper
 
 		return finiteAutomata;
 	}
+
+	/**
+	 * Passes the words, accepted by the automata, to the sink in
+	 * lexicographic order. Every word is the view over the single reused
+	 * buffer, so no memory is allocated per word or per transition.
+	 *
+	 * @param finiteAutomata
+	 * @param maxLength
+	 *            maximum length of the words
+	 * @param wordSink
+	 * @return count of the words, passed to the sink
+	 */
+	public static long visitAcceptedWords(IFiniteAutomata finiteAutomata,
+			int maxLength, IWordSink wordSink)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata");
+		}
+
+		if (maxLength < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: maxLength.");
+		}
+
+		if (wordSink == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: wordSink");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata, false);
+
+		AcceptedWordsWalker walker = new AcceptedWordsWalker(
+				finiteAutomataTable,
+				AcceptedWordsWalker
+						.getDistancesToFiniteStates(finiteAutomataTable),
+				maxLength);
+
+		CharArrayView word = new CharArrayView(walker.getBuffer());
+
+		long count = 0;
+
+		for (int length = walker.next(); length != -1; length = walker.next())
+		{
+			word.setLength(length);
+
+			count++;
+
+			if (!wordSink.accept(word))
+			{
+				break;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Writes finite automata to the binary file, which can be mapped by
+	 * MappedFiniteAutomata
+	 *
+	 * @param finiteAutomata
+	 * @param path
+	 * @throws IOException
+	 */
+	public static void writeFiniteAutomataToBinaryFile(
+			IFiniteAutomata finiteAutomata, Path path) throws IOException
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+
+		SortedTransitions sortedTransitions = new SortedTransitions(
+				finiteAutomataTable);
+
+		// Transitions of one state at a time are copied into the buffers.
+		char[] labels = new char[sortedTransitions
+				.getMaxStateTransitionsCount()];
+		int[] targets = new int[labels.length];
+
+		try (BinaryFiniteAutomataWriter writer = new BinaryFiniteAutomataWriter(
+				path))
+		{
+			writer.writeHeader(finiteAutomata.getAlphabet(), statesCardinality,
+					finiteAutomata.getInitialState(),
+					sortedTransitions.getTransitionsCount());
+
+			long[] finiteStates = finiteAutomataTable.getFiniteStates()
+					.toLongArray();
+
+			for (int i = 0; i < (statesCardinality + 63) >>> 6; i++)
+			{
+				writer.writeLong((i < finiteStates.length) ? finiteStates[i]
+						: 0L);
+			}
+
+			writer.endSection();
+
+			for (int offset : sortedTransitions.getOffsets())
+			{
+				writer.writeInt(offset);
+			}
+
+			writer.endSection();
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				int count = sortedTransitions.getStateTransitions(state,
+						labels, null, 0);
+
+				for (int i = 0; i < count; i++)
+				{
+					writer.writeChar(labels[i]);
+				}
+			}
+
+			writer.endSection();
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				int count = sortedTransitions.getStateTransitions(state, null,
+						targets, 0);
+
+				for (int i = 0; i < count; i++)
+				{
+					writer.writeInt(targets[i]);
+				}
+			}
+
+			writer.endSection();
+			writer.finish();
+		}
+	}
 }
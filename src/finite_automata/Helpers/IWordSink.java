@@ -0,0 +1,13 @@
+package finite_automata.Helpers;
+
+public interface IWordSink
+{
+	/**
+	 * Accepts the word. The word is the view over the buffer, which is reused
+	 * for the next word, so it must be copied (e.g. by toString()) to be kept.
+	 *
+	 * @param word
+	 * @return false to stop the enumeration
+	 */
+	boolean accept(CharSequence word);
+}
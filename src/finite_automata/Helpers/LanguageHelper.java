@@ -0,0 +1,238 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+
+public class LanguageHelper
+{
+	/**
+	 * Finds emptiness, finiteness and the length of the longest word of the
+	 * language in the linear time over the transitions. The states, which
+	 * are reachable from the initial state and can reach finite states, are
+	 * useful; the language is empty, if the initial state is not useful, and
+	 * it is infinite, if any useful state lies on a cycle (belongs to the
+	 * strongly connected component with the cycle). Otherwise useful states
+	 * form the acyclic graph, and the longest word is its longest path to
+	 * a finite state. Nondeterministic automata is not determinized: every
+	 * path spells a word of its length.
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 */
+	public static LanguageProperties getLanguageProperties(
+			IFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int initialState = finiteAutomataTable.getInitialState();
+
+		int[] distances = AcceptedWordsWalker
+				.getDistancesToFiniteStates(finiteAutomataTable);
+
+		if (initialState < 0 || distances[initialState] == -1)
+		{
+			return new LanguageProperties(true, true, -1);
+		}
+
+		int[] components = LanguageHelper
+				.getStronglyConnectedComponents(finiteAutomataTable);
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int componentsCount = 0;
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			componentsCount = Math.max(componentsCount, components[state] + 1);
+		}
+
+		// The only useful state of every component, when the language is
+		// finite.
+		int[] componentStates = new int[componentsCount];
+
+		Arrays.fill(componentStates, -1);
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			if (components[state] == -1 || distances[state] == -1)
+			{
+				continue;
+			}
+
+			if (componentStates[components[state]] != -1)
+			{
+				return new LanguageProperties(false, false, -1);
+			}
+
+			componentStates[components[state]] = state;
+
+			for (int i = LanguageHelper.getEdgesStart(finiteAutomataTable,
+					state), end = LanguageHelper.getEdgesEnd(
+					finiteAutomataTable, state); i < end; i++)
+			{
+				if (finiteAutomataTable.getTarget(i) == state)
+				{
+					return new LanguageProperties(false, false, -1);
+				}
+			}
+		}
+
+		// Components are numbered in reverse topological order, so the
+		// targets are processed before the sources.
+		int[] lengths = new int[statesCardinality];
+
+		for (int component = 0; component < componentsCount; component++)
+		{
+			int state = componentStates[component];
+
+			if (state == -1)
+			{
+				continue;
+			}
+
+			lengths[state] = finiteAutomataTable.isFiniteState(state) ? 0 : -1;
+
+			for (int i = LanguageHelper.getEdgesStart(finiteAutomataTable,
+					state), end = LanguageHelper.getEdgesEnd(
+					finiteAutomataTable, state); i < end; i++)
+			{
+				int target = finiteAutomataTable.getTarget(i);
+
+				if (distances[target] != -1)
+				{
+					lengths[state] = Math.max(lengths[state],
+							lengths[target] + 1);
+				}
+			}
+		}
+
+		return new LanguageProperties(false, true, lengths[initialState]);
+	}
+
+	private static int getEdgesEnd(FiniteAutomataTable finiteAutomataTable,
+			int state)
+	{
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		return (symbolsCount == 0) ? 0 : finiteAutomataTable.getTargetsEnd(
+				state, symbolsCount - 1);
+	}
+
+	private static int getEdgesStart(FiniteAutomataTable finiteAutomataTable,
+			int state)
+	{
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		return (symbolsCount == 0) ? 0 : finiteAutomataTable.getTargetsStart(
+				state, 0);
+	}
+
+	/**
+	 * Finds strongly connected components of the states, reachable from the
+	 * initial state, by Tarjan's algorithm with the explicit stack, so the
+	 * depth of the graph is not limited by the thread stack. Components are
+	 * numbered in order of completion, which is reverse topological: the
+	 * transitions between components lead to components with smaller
+	 * numbers.
+	 *
+	 * @param finiteAutomataTable
+	 * @return component of every state or -1 for unreachable states
+	 */
+	static int[] getStronglyConnectedComponents(
+			FiniteAutomataTable finiteAutomataTable)
+	{
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int initialState = finiteAutomataTable.getInitialState();
+
+		int[] components = new int[statesCardinality];
+
+		Arrays.fill(components, -1);
+
+		if (initialState < 0)
+		{
+			return components;
+		}
+
+		// Indexes of the discovery, starting from 1 (0 - not visited).
+		int[] indexes = new int[statesCardinality];
+		int[] lowLinks = new int[statesCardinality];
+		int[] positions = new int[statesCardinality];
+
+		// States of the depth-first search and the states of the unfinished
+		// components.
+		int[] callStack = new int[statesCardinality];
+		int callStackSize = 0;
+		int[] stack = new int[statesCardinality];
+		int stackSize = 0;
+
+		int index = 0;
+		int componentsCount = 0;
+
+		indexes[initialState] = lowLinks[initialState] = ++index;
+		positions[initialState] = LanguageHelper.getEdgesStart(
+				finiteAutomataTable, initialState);
+		callStack[callStackSize++] = initialState;
+		stack[stackSize++] = initialState;
+
+		while (callStackSize > 0)
+		{
+			int state = callStack[callStackSize - 1];
+
+			if (positions[state] < LanguageHelper.getEdgesEnd(
+					finiteAutomataTable, state))
+			{
+				int target = finiteAutomataTable.getTarget(positions[state]++);
+
+				if (indexes[target] == 0)
+				{
+					indexes[target] = lowLinks[target] = ++index;
+					positions[target] = LanguageHelper.getEdgesStart(
+							finiteAutomataTable, target);
+					callStack[callStackSize++] = target;
+					stack[stackSize++] = target;
+				}
+				else if (components[target] == -1)
+				{
+					// Target is on the stack of the unfinished components.
+					lowLinks[state] = Math.min(lowLinks[state],
+							indexes[target]);
+				}
+
+				continue;
+			}
+
+			callStackSize--;
+
+			if (callStackSize > 0)
+			{
+				int parent = callStack[callStackSize - 1];
+
+				lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[state]);
+			}
+
+			if (lowLinks[state] == indexes[state])
+			{
+				int member;
+
+				do
+				{
+					member = stack[--stackSize];
+					components[member] = componentsCount;
+				}
+				while (member != state);
+
+				componentsCount++;
+			}
+		}
+
+		return components;
+	}
+}
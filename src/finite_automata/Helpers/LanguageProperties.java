@@ -0,0 +1,52 @@
+package finite_automata.Helpers;
+
+/**
+ * Properties of the language of the automata, found by LanguageHelper.
+ */
+public class LanguageProperties
+{
+	private final boolean isEmpty;
+
+	private final boolean isFinite;
+
+	private final int longestWordLength;
+
+	public LanguageProperties(boolean isEmpty, boolean isFinite,
+			int longestWordLength)
+	{
+		this.isEmpty = isEmpty;
+		this.isFinite = isFinite;
+		this.longestWordLength = longestWordLength;
+	}
+
+	/**
+	 * Gets length of the longest accepted word
+	 *
+	 * @return length or -1 if the language is empty or infinite
+	 */
+	public int getLongestWordLength()
+	{
+		return this.longestWordLength;
+	}
+
+	/**
+	 * Checks whether the automata accepts no words
+	 *
+	 * @return
+	 */
+	public boolean isEmpty()
+	{
+		return this.isEmpty;
+	}
+
+	/**
+	 * Checks whether the automata accepts finite count of the words (the
+	 * empty language is finite)
+	 *
+	 * @return
+	 */
+	public boolean isFinite()
+	{
+		return this.isFinite;
+	}
+}
@@ -0,0 +1,340 @@
+package finite_automata.Helpers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromFileException;
+
+/**
+ * Scans the tokens of the UTF-8 text file directly from its bytes, mapping
+ * the file into memory window by window, so that files larger than the heap
+ * (or than 2 GB) can be read without creating any strings. Tracks the line
+ * and column of the current position for the error reporting.
+ */
+class MappedFileScanner implements Closeable
+{
+	/**
+	 * Default size of the window of the file, mapped at once.
+	 */
+	public static final long DEFAULT_WINDOW_SIZE = 1L << 26;
+
+	private long column;
+
+	private final FileChannel fileChannel;
+
+	private final long fileSize;
+
+	private int index;
+
+	private long line;
+
+	private int limit;
+
+	private long tokenColumn;
+
+	private long tokenLine;
+
+	private MappedByteBuffer window;
+
+	private final long windowSize;
+
+	private long windowStart;
+
+	public MappedFileScanner(Path path, long windowSize) throws IOException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		if (windowSize <= 0 || windowSize > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be in range (0; Integer.MAX_VALUE]: windowSize.");
+		}
+
+		this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+		this.fileSize = this.fileChannel.size();
+		this.windowSize = windowSize;
+		this.windowStart = 0;
+		this.index = 0;
+		this.limit = 0;
+		this.line = 1;
+		this.column = 1;
+		this.tokenLine = 1;
+		this.tokenColumn = 1;
+	}
+
+	private void advance()
+	{
+		int value = this.window.get(this.index++);
+
+		if (value == '\n')
+		{
+			this.line++;
+			this.column = 1;
+		}
+		else if ((value & 0xC0) != 0x80)
+		{
+			// Continuation bytes of UTF-8 sequences are not counted.
+			this.column++;
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.fileChannel.close();
+	}
+
+	/**
+	 * Creates the exception, pointing to the last read token
+	 *
+	 * @param message
+	 * @param cause
+	 * @return
+	 */
+	public FailedToGetFiniteAutomataFromFileException createException(
+			String message, Throwable cause)
+	{
+		return new FailedToGetFiniteAutomataFromFileException(message,
+				this.tokenLine, this.tokenColumn, cause);
+	}
+
+	/**
+	 * Gets line (starting from 1) of the current position
+	 *
+	 * @return
+	 */
+	public long getLine()
+	{
+		return this.line;
+	}
+
+	/**
+	 * Checks whether the end of the file is reached
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public boolean isEndOfFile() throws IOException
+	{
+		return this.peek() == -1;
+	}
+
+	/**
+	 * Checks whether the end of the line (or the end of the file) is reached
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public boolean isEndOfLine() throws IOException
+	{
+		int value = this.peek();
+
+		return value == '\r' || value == '\n' || value == -1;
+	}
+
+	private boolean isEndOfToken() throws IOException
+	{
+		int value = this.peek();
+
+		return value == ' ' || value == '\t' || value == '\r'
+				|| value == '\n' || value == -1;
+	}
+
+	private void markToken()
+	{
+		this.tokenLine = this.line;
+		this.tokenColumn = this.column;
+	}
+
+	/**
+	 * Gets the current byte without consuming it or -1, if the end of the
+	 * file is reached
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	private int peek() throws IOException
+	{
+		if (this.index == this.limit)
+		{
+			long position = this.windowStart + this.limit;
+
+			if (position >= this.fileSize)
+			{
+				return -1;
+			}
+
+			this.window = this.fileChannel.map(FileChannel.MapMode.READ_ONLY,
+					position, Math.min(this.windowSize, this.fileSize
+							- position));
+			this.windowStart = position;
+			this.index = 0;
+			this.limit = this.window.limit();
+		}
+
+		return this.window.get(this.index) & 0xFF;
+	}
+
+	/**
+	 * Reads the single UTF-8 encoded character of the Basic Multilingual
+	 * Plane, preceded by spaces
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public char readCharacter() throws IOException,
+			FailedToGetFiniteAutomataFromFileException
+	{
+		this.skipSpaces();
+		this.markToken();
+
+		if (this.isEndOfToken())
+		{
+			throw this.createException("Character is expected.", null);
+		}
+
+		int value = this.peek();
+		int character;
+		int continuationsCount;
+
+		if (value < 0x80)
+		{
+			character = value;
+			continuationsCount = 0;
+		}
+		else if ((value & 0xE0) == 0xC0)
+		{
+			character = value & 0x1F;
+			continuationsCount = 1;
+		}
+		else if ((value & 0xF0) == 0xE0)
+		{
+			character = value & 0x0F;
+			continuationsCount = 2;
+		}
+		else
+		{
+			throw this.createException(
+					"Character must be UTF-8 encoded character of the Basic Multilingual Plane.",
+					null);
+		}
+
+		this.advance();
+
+		for (int i = 0; i < continuationsCount; i++)
+		{
+			value = this.peek();
+
+			if (value == -1 || (value & 0xC0) != 0x80)
+			{
+				throw this.createException("Invalid UTF-8 sequence.", null);
+			}
+
+			character = (character << 6) | (value & 0x3F);
+
+			this.advance();
+		}
+
+		if (!this.isEndOfToken())
+		{
+			throw this.createException("Single character is expected.", null);
+		}
+
+		return (char) character;
+	}
+
+	/**
+	 * Reads the end of the line, preceded by spaces. The end of the file is
+	 * accepted as well.
+	 *
+	 * @throws IOException
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public void readEndOfLine() throws IOException,
+			FailedToGetFiniteAutomataFromFileException
+	{
+		this.skipSpaces();
+		this.markToken();
+
+		if (this.peek() == '\r')
+		{
+			this.advance();
+		}
+
+		if (this.peek() == '\n')
+		{
+			this.advance();
+		}
+		else if (this.peek() != -1)
+		{
+			throw this.createException("End of line is expected.", null);
+		}
+	}
+
+	/**
+	 * Reads the non-negative decimal integer, preceded by spaces
+	 *
+	 * @return
+	 * @throws IOException
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public int readInt() throws IOException,
+			FailedToGetFiniteAutomataFromFileException
+	{
+		this.skipSpaces();
+		this.markToken();
+
+		int value = this.peek();
+
+		if (value < '0' || value > '9')
+		{
+			throw this.createException("Number is expected.", null);
+		}
+
+		int number = 0;
+
+		do
+		{
+			if (number > (Integer.MAX_VALUE - (value - '0')) / 10)
+			{
+				throw this.createException("Number is too large.", null);
+			}
+
+			number = number * 10 + (value - '0');
+
+			this.advance();
+
+			value = this.peek();
+		}
+		while (value >= '0' && value <= '9');
+
+		if (!this.isEndOfToken())
+		{
+			throw this.createException("Number is expected.", null);
+		}
+
+		return number;
+	}
+
+	/**
+	 * Skips spaces and tabs
+	 *
+	 * @throws IOException
+	 */
+	public void skipSpaces() throws IOException
+	{
+		for (int value = this.peek(); value == ' ' || value == '\t'; value = this
+				.peek())
+		{
+			this.advance();
+		}
+	}
+}
@@ -0,0 +1,390 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+
+public class MinimizationHelper
+{
+	/**
+	 * Minimizes deterministic finite automata using Hopcroft's partition
+	 * refinement. Unreachable and dead states are removed, states of the
+	 * result are renumbered in breadth-first order, starting from the initial
+	 * state 0.
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 * @throws FiniteAutomataIsNotDeterministicException
+	 */
+	public static MinimizationResult minimize(IFiniteAutomata finiteAutomata)
+			throws FiniteAutomataIsNotDeterministicException
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		int nonDeterministicCell = finiteAutomataTable
+				.findNonDeterministicCell();
+
+		if (nonDeterministicCell != -1)
+		{
+			throw new FiniteAutomataIsNotDeterministicException(
+					String.format(
+							"State: %1$d has several transitions by character: %2$s.",
+							nonDeterministicCell / symbolsCount,
+							finiteAutomataTable
+									.getSymbolCharacters(nonDeterministicCell
+											% symbolsCount)[0]));
+		}
+
+		int statesCountBefore = finiteAutomata.getStatesCardinality();
+
+		if (finiteAutomataTable.getInitialState() < 0)
+		{
+			try
+			{
+				return new MinimizationResult(FiniteAutomataHelper
+						.createFiniteAutomataBuilder(
+								finiteAutomata.getAlphabet(), 0).build(),
+						statesCountBefore);
+			}
+			catch (Exception exception)
+			{
+				// There are no transitions, so this can't happen.
+				throw new IllegalStateException(exception);
+			}
+		}
+
+		// Renumber the reachable states in breadth-first order.
+		int[] numbers = new int[finiteAutomataTable.getStatesCardinality()];
+		int[] originalStates = new int[finiteAutomataTable
+				.getStatesCardinality()];
+		int reachableStatesCount = 0;
+
+		Arrays.fill(numbers, -1);
+
+		numbers[finiteAutomataTable.getInitialState()] = 0;
+		originalStates[reachableStatesCount++] = finiteAutomataTable
+				.getInitialState();
+
+		for (int i = 0; i < reachableStatesCount; i++)
+		{
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				int start = finiteAutomataTable.getTargetsStart(
+						originalStates[i], symbol);
+
+				if (start == finiteAutomataTable.getTargetsEnd(
+						originalStates[i], symbol))
+				{
+					continue;
+				}
+
+				int target = finiteAutomataTable.getTarget(start);
+
+				if (numbers[target] == -1)
+				{
+					numbers[target] = reachableStatesCount;
+					originalStates[reachableStatesCount++] = target;
+				}
+			}
+		}
+
+		// The last state is the sink, added to make the automata complete.
+		int statesCount = reachableStatesCount + 1;
+		int sink = reachableStatesCount;
+
+		int[] delta = new int[statesCount * symbolsCount];
+
+		Arrays.fill(delta, sink);
+
+		for (int i = 0; i < reachableStatesCount; i++)
+		{
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				int start = finiteAutomataTable.getTargetsStart(
+						originalStates[i], symbol);
+
+				if (start != finiteAutomataTable.getTargetsEnd(
+						originalStates[i], symbol))
+				{
+					delta[i * symbolsCount + symbol] = numbers[finiteAutomataTable
+							.getTarget(start)];
+				}
+			}
+		}
+
+		// Inverse transitions: sources of the transitions by the symbol into
+		// the target are inverseSources[inverseOffsets[symbol * statesCount +
+		// target]..inverseOffsets[symbol * statesCount + target + 1]).
+		int[] inverseOffsets = new int[symbolsCount * statesCount + 1];
+		int[] inverseSources = new int[delta.length];
+
+		for (int state = 0; state < statesCount; state++)
+		{
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				inverseOffsets[symbol * statesCount
+						+ delta[state * symbolsCount + symbol] + 1]++;
+			}
+		}
+
+		for (int i = 0; i < symbolsCount * statesCount; i++)
+		{
+			inverseOffsets[i + 1] += inverseOffsets[i];
+		}
+
+		int[] positions = Arrays.copyOf(inverseOffsets, symbolsCount
+				* statesCount);
+
+		for (int state = 0; state < statesCount; state++)
+		{
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				inverseSources[positions[symbol * statesCount
+						+ delta[state * symbolsCount + symbol]]++] = state;
+			}
+		}
+
+		// Refinable partition: elements of the block are stored in
+		// elements[blockFirst[block]..blockEnd[block]), marked ones are moved
+		// to the front of the block, up to blockMid[block].
+		int[] elements = new int[statesCount];
+		int[] locations = new int[statesCount];
+		int[] blocks = new int[statesCount];
+		int[] blockFirst = new int[statesCount];
+		int[] blockMid = new int[statesCount];
+		int[] blockEnd = new int[statesCount];
+
+		int blocksCount = 0;
+		int finiteStatesCount = 0;
+
+		for (int state = 0; state < sink; state++)
+		{
+			if (finiteAutomataTable.isFiniteState(originalStates[state]))
+			{
+				elements[finiteStatesCount++] = state;
+			}
+		}
+
+		for (int state = 0, index = finiteStatesCount; state < statesCount; state++)
+		{
+			if (state == sink
+					|| !finiteAutomataTable.isFiniteState(originalStates[state]))
+			{
+				elements[index++] = state;
+			}
+		}
+
+		int[] worklist = new int[statesCount];
+		int worklistSize = 0;
+
+		if (finiteStatesCount > 0)
+		{
+			blockFirst[blocksCount] = 0;
+			blockMid[blocksCount] = 0;
+			blockEnd[blocksCount] = finiteStatesCount;
+			blocksCount++;
+		}
+
+		blockFirst[blocksCount] = finiteStatesCount;
+		blockMid[blocksCount] = finiteStatesCount;
+		blockEnd[blocksCount] = statesCount;
+		blocksCount++;
+
+		for (int block = 0; block < blocksCount; block++)
+		{
+			for (int i = blockFirst[block]; i < blockEnd[block]; i++)
+			{
+				blocks[elements[i]] = block;
+				locations[elements[i]] = i;
+			}
+		}
+
+		if (blocksCount == 2)
+		{
+			worklist[worklistSize++] = (finiteStatesCount <= statesCount
+					- finiteStatesCount) ? 0 : 1;
+		}
+
+		int[] predecessors = new int[statesCount];
+		int[] touchedBlocks = new int[statesCount];
+
+		while (worklistSize > 0)
+		{
+			int splitter = worklist[--worklistSize];
+
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				int predecessorsCount = 0;
+
+				for (int i = blockFirst[splitter]; i < blockEnd[splitter]; i++)
+				{
+					int index = symbol * statesCount + elements[i];
+
+					for (int j = inverseOffsets[index]; j < inverseOffsets[index + 1]; j++)
+					{
+						predecessors[predecessorsCount++] = inverseSources[j];
+					}
+				}
+
+				int touchedBlocksCount = 0;
+
+				for (int i = 0; i < predecessorsCount; i++)
+				{
+					int state = predecessors[i];
+					int block = blocks[state];
+					int location = locations[state];
+					int mid = blockMid[block];
+
+					if (location < mid)
+					{
+						continue;
+					}
+
+					if (mid == blockFirst[block])
+					{
+						touchedBlocks[touchedBlocksCount++] = block;
+					}
+
+					int other = elements[mid];
+
+					elements[mid] = state;
+					locations[state] = mid;
+					elements[location] = other;
+					locations[other] = location;
+
+					blockMid[block]++;
+				}
+
+				for (int i = 0; i < touchedBlocksCount; i++)
+				{
+					int block = touchedBlocks[i];
+
+					if (blockMid[block] == blockEnd[block])
+					{
+						blockMid[block] = blockFirst[block];
+
+						continue;
+					}
+
+					int newBlock = blocksCount++;
+
+					// The new block always receives the smaller part.
+					if (blockMid[block] - blockFirst[block] <= blockEnd[block]
+							- blockMid[block])
+					{
+						blockFirst[newBlock] = blockFirst[block];
+						blockEnd[newBlock] = blockMid[block];
+						blockFirst[block] = blockMid[block];
+					}
+					else
+					{
+						blockFirst[newBlock] = blockMid[block];
+						blockEnd[newBlock] = blockEnd[block];
+						blockEnd[block] = blockMid[block];
+					}
+
+					blockMid[block] = blockFirst[block];
+					blockMid[newBlock] = blockFirst[newBlock];
+
+					for (int j = blockFirst[newBlock]; j < blockEnd[newBlock]; j++)
+					{
+						blocks[elements[j]] = newBlock;
+					}
+
+					worklist[worklistSize++] = newBlock;
+				}
+			}
+		}
+
+		// All dead states are equivalent to the sink, so its block is the
+		// only dead one and is dropped.
+		int deadBlock = blocks[sink];
+
+		int[] blockNumbers = new int[blocksCount];
+		int[] order = new int[blocksCount];
+		int count = 0;
+
+		Arrays.fill(blockNumbers, -1);
+
+		blockNumbers[blocks[0]] = count;
+		order[count++] = blocks[0];
+
+		for (int i = 0; i < count; i++)
+		{
+			int representative = elements[blockFirst[order[i]]];
+
+			for (int symbol = 0; symbol < symbolsCount; symbol++)
+			{
+				int block = blocks[delta[representative * symbolsCount
+						+ symbol]];
+
+				if (block != deadBlock && blockNumbers[block] == -1)
+				{
+					blockNumbers[block] = count;
+					order[count++] = block;
+				}
+			}
+		}
+
+		FiniteAutomataBuilder finiteAutomataBuilder = FiniteAutomataHelper
+				.createFiniteAutomataBuilder(finiteAutomata.getAlphabet(), count);
+
+		try
+		{
+			for (int i = 0; i < count; i++)
+			{
+				int representative = elements[blockFirst[order[i]]];
+
+				if (order[i] == deadBlock)
+				{
+					// The language is empty.
+					break;
+				}
+
+				if (finiteAutomataTable
+						.isFiniteState(originalStates[representative]))
+				{
+					finiteAutomataBuilder.addFiniteState(i);
+				}
+
+				for (int symbol = 0; symbol < symbolsCount; symbol++)
+				{
+					int block = blocks[delta[representative * symbolsCount
+							+ symbol]];
+
+					if (block == deadBlock)
+					{
+						continue;
+					}
+
+					for (char character : finiteAutomataTable
+							.getSymbolCharacters(symbol))
+					{
+						finiteAutomataBuilder.addTransition(i, character,
+								blockNumbers[block]);
+					}
+				}
+			}
+
+			return new MinimizationResult(finiteAutomataBuilder.build(),
+					statesCountBefore);
+		}
+		catch (Exception exception)
+		{
+			// Blocks are distinct and valid, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+}
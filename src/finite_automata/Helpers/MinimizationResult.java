@@ -0,0 +1,57 @@
+package finite_automata.Helpers;
+
+import finite_automata.IFiniteAutomata;
+
+public class MinimizationResult
+{
+	private final IFiniteAutomata finiteAutomata;
+
+	private final int statesCountAfter;
+
+	private final int statesCountBefore;
+
+	public MinimizationResult(IFiniteAutomata finiteAutomata,
+			int statesCountBefore)
+	{
+		this.finiteAutomata = finiteAutomata;
+		this.statesCountBefore = statesCountBefore;
+		this.statesCountAfter = finiteAutomata.getStatesCardinality();
+	}
+
+	/**
+	 * Gets the minimized finite automata
+	 *
+	 * @return
+	 */
+	public IFiniteAutomata getFiniteAutomata()
+	{
+		return this.finiteAutomata;
+	}
+
+	/**
+	 * Gets count of the states after minimization
+	 *
+	 * @return
+	 */
+	public int getStatesCountAfter()
+	{
+		return this.statesCountAfter;
+	}
+
+	/**
+	 * Gets count of the states before minimization
+	 *
+	 * @return
+	 */
+	public int getStatesCountBefore()
+	{
+		return this.statesCountBefore;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("States before minimization: %1$d, after: %2$d.",
+				this.statesCountBefore, this.statesCountAfter);
+	}
+}
@@ -0,0 +1,226 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Primitives.LongIntHashMap;
+
+public class ProductHelper
+{
+	public static final int DEFAULT_MAX_STATES_COUNT = 1 << 20;
+
+	/**
+	 * Builds the product of two finite automata with the default limit of
+	 * the produced states
+	 *
+	 * @param first
+	 * @param second
+	 * @param operation
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	public static IFiniteAutomata getProduct(IFiniteAutomata first,
+			IFiniteAutomata second, ProductOperation operation)
+			throws StatesLimitExceededException
+	{
+		return ProductHelper.getProduct(first, second, operation,
+				ProductHelper.DEFAULT_MAX_STATES_COUNT);
+	}
+
+	/**
+	 * Builds deterministic automata, which accepts the words, accepted by the
+	 * operation over two finite automata (nondeterministic operands are
+	 * determinized first). The alphabet of the result is the union of the
+	 * alphabets. Only pairs of the states, reachable from the pair of the
+	 * initial states, are created, using the worklist; pairs, which can't
+	 * lead to accepted words (e.g. with the dead state of either operand for
+	 * the intersection), are not created, so the result may be partial.
+	 *
+	 * @param first
+	 * @param second
+	 * @param operation
+	 * @param maxStatesCount
+	 *            maximum count of the states of the result
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	public static IFiniteAutomata getProduct(IFiniteAutomata first,
+			IFiniteAutomata second, ProductOperation operation,
+			int maxStatesCount) throws StatesLimitExceededException
+	{
+		if (first == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: first.");
+		}
+
+		if (second == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: second.");
+		}
+
+		if (operation == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: operation.");
+		}
+
+		if (maxStatesCount < 1)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be greater than zero: maxStatesCount.");
+		}
+
+		ProductOperands operands = new ProductOperands(first, second);
+
+		int symbolPairsCount = operands.getSymbolPairsCount();
+
+		// Pairs of the states are numbered in the order of the discovery.
+		LongIntHashMap statesMap = new LongIntHashMap();
+		int[] firstStates = new int[16];
+		int[] secondStates = new int[16];
+		int statesCount = 0;
+
+		// Triples (fromState; symbolPair; toState).
+		int[] transitions = new int[3 * 16];
+		int transitionsCount = 0;
+
+		int firstInitialState = operands.getFirstInitialState();
+		int secondInitialState = operands.getSecondInitialState();
+
+		if (!ProductHelper.isDead(operation, firstInitialState,
+				secondInitialState))
+		{
+			statesMap.put(ProductOperands.getKey(firstInitialState,
+					secondInitialState), 0);
+
+			firstStates[0] = firstInitialState;
+			secondStates[0] = secondInitialState;
+			statesCount = 1;
+		}
+
+		for (int i = 0; i < statesCount; i++)
+		{
+			int firstState = firstStates[i];
+			int secondState = secondStates[i];
+
+			for (int j = 0; j < symbolPairsCount; j++)
+			{
+				int firstTarget = operands.getFirstTarget(firstState, j);
+				int secondTarget = operands.getSecondTarget(secondState, j);
+
+				if (ProductHelper.isDead(operation, firstTarget, secondTarget))
+				{
+					continue;
+				}
+
+				long key = ProductOperands.getKey(firstTarget, secondTarget);
+				int index = statesMap.get(key, -1);
+
+				if (index == -1)
+				{
+					if (statesCount >= maxStatesCount)
+					{
+						throw new StatesLimitExceededException(String.format(
+								"Product requires more than %1$d states.",
+								maxStatesCount));
+					}
+
+					if (statesCount == firstStates.length)
+					{
+						firstStates = Arrays.copyOf(firstStates,
+								statesCount * 2);
+						secondStates = Arrays.copyOf(secondStates,
+								statesCount * 2);
+					}
+
+					index = statesCount++;
+
+					statesMap.put(key, index);
+
+					firstStates[index] = firstTarget;
+					secondStates[index] = secondTarget;
+				}
+
+				if (transitionsCount + 3 > transitions.length)
+				{
+					transitions = Arrays.copyOf(transitions,
+							transitions.length * 2);
+				}
+
+				transitions[transitionsCount++] = i;
+				transitions[transitionsCount++] = j;
+				transitions[transitionsCount++] = index;
+			}
+		}
+
+		FiniteAutomataBuilder finiteAutomataBuilder = FiniteAutomataHelper
+				.createFiniteAutomataBuilder(operands.getAlphabet(),
+						statesCount);
+
+		try
+		{
+			for (int i = 0; i < statesCount; i++)
+			{
+				if (operation.accepts(
+						operands.isFirstFiniteState(firstStates[i]),
+						operands.isSecondFiniteState(secondStates[i])))
+				{
+					finiteAutomataBuilder.addFiniteState(i);
+				}
+			}
+
+			for (int i = 0; i < transitionsCount; i += 3)
+			{
+				for (char character : operands
+						.getSymbolPairCharacters(transitions[i + 1]))
+				{
+					finiteAutomataBuilder.addTransition(transitions[i],
+							character, transitions[i + 2]);
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Pairs are distinct and valid, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Checks whether no word can be accepted from the pair of the states,
+	 * judging only by the dead states: the dead operand never accepts
+	 *
+	 * @param operation
+	 * @param firstState
+	 * @param secondState
+	 * @return
+	 */
+	private static boolean isDead(ProductOperation operation,
+			int firstState, int secondState)
+	{
+		boolean isFirstDead = firstState == ProductOperands.DEAD_STATE;
+		boolean isSecondDead = secondState == ProductOperands.DEAD_STATE;
+
+		if (isFirstDead && isSecondDead)
+		{
+			return true;
+		}
+
+		if (isFirstDead)
+		{
+			return !operation.accepts(false, true);
+		}
+
+		if (isSecondDead)
+		{
+			return !operation.accepts(true, false);
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,276 @@
+package finite_automata.Helpers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+import finite_automata.Primitives.LongIntHashMap;
+
+/**
+ * Two finite automata, compiled into the dense tables (nondeterministic ones
+ * are determinized first), for the constructions over the pairs of their
+ * states. Characters of the union alphabet are grouped by the pairs of the
+ * symbols of the operands, since they lead to the same pairs of the states.
+ * The missing transition and the character, which is not in the alphabet of
+ * the operand, lead to its dead state.
+ */
+class ProductOperands
+{
+	public static final int DEAD_STATE = -1;
+
+	private final List<Character> alphabet;
+
+	private final CompiledFiniteAutomata first;
+
+	private final int[] firstSymbols;
+
+	private final CompiledFiniteAutomata second;
+
+	private final int[] secondSymbols;
+
+	private final List<List<Character>> symbolPairCharacters;
+
+	public ProductOperands(IFiniteAutomata first, IFiniteAutomata second)
+			throws StatesLimitExceededException
+	{
+		this.first = ProductOperands.compile(first);
+		this.second = ProductOperands.compile(second);
+
+		this.alphabet = new ArrayList<Character>(first.getAlphabet());
+
+		BitSet alphabetCharacters = new BitSet();
+
+		for (Character character : this.alphabet)
+		{
+			alphabetCharacters.set(character);
+		}
+
+		for (Character character : second.getAlphabet())
+		{
+			if (!alphabetCharacters.get(character))
+			{
+				alphabetCharacters.set(character);
+				this.alphabet.add(character);
+			}
+		}
+
+		LongIntHashMap symbolPairsMap = new LongIntHashMap();
+
+		this.symbolPairCharacters = new ArrayList<List<Character>>();
+		this.firstSymbols = new int[this.alphabet.size()];
+		this.secondSymbols = new int[this.alphabet.size()];
+
+		for (Character character : this.alphabet)
+		{
+			int firstSymbol = this.first.getSymbol(character);
+			int secondSymbol = this.second.getSymbol(character);
+
+			long key = ProductOperands.getKey(firstSymbol, secondSymbol);
+			int index = symbolPairsMap.get(key, -1);
+
+			if (index == -1)
+			{
+				index = this.symbolPairCharacters.size();
+
+				symbolPairsMap.put(key, index);
+				this.symbolPairCharacters.add(new ArrayList<Character>());
+
+				this.firstSymbols[index] = firstSymbol;
+				this.secondSymbols[index] = secondSymbol;
+			}
+
+			this.symbolPairCharacters.get(index).add(character);
+		}
+	}
+
+	/**
+	 * Compiles the finite automata into the dense table, determinizing it
+	 * first if it is nondeterministic
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 * @throws StatesLimitExceededException
+	 */
+	private static CompiledFiniteAutomata compile(
+			IFiniteAutomata finiteAutomata) throws StatesLimitExceededException
+	{
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		try
+		{
+			if (finiteAutomataTable.findNonDeterministicCell() != -1)
+			{
+				return new CompiledFiniteAutomata(
+						DeterminizationHelper.determinize(finiteAutomata));
+			}
+
+			return new CompiledFiniteAutomata(finiteAutomataTable);
+		}
+		catch (FiniteAutomataIsNotDeterministicException exception)
+		{
+			// Automata is checked to be deterministic, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Gets union of the alphabets: the alphabet of the first operand,
+	 * followed by the other characters of the second one
+	 *
+	 * @return
+	 */
+	public List<Character> getAlphabet()
+	{
+		return this.alphabet;
+	}
+
+	/**
+	 * Gets initial state of the first operand or DEAD_STATE if it has no
+	 * states
+	 *
+	 * @return
+	 */
+	public int getFirstInitialState()
+	{
+		return this.first.getInitialState();
+	}
+
+	/**
+	 * Gets cardinality of the states of the first operand (the dead state
+	 * excluded)
+	 *
+	 * @return
+	 */
+	public int getFirstStatesCardinality()
+	{
+		return this.first.getStatesCardinality();
+	}
+
+	/**
+	 * Gets target of the transition of the first operand
+	 *
+	 * @param state
+	 * @param symbolPair
+	 * @return
+	 */
+	public int getFirstTarget(int state, int symbolPair)
+	{
+		return ProductOperands.getTarget(this.first, state,
+				this.firstSymbols[symbolPair]);
+	}
+
+	/**
+	 * Encodes two values, not less than -1 (e.g. the states, including the
+	 * dead ones, or the symbols), as the nonnegative key
+	 *
+	 * @param firstValue
+	 * @param secondValue
+	 * @return
+	 */
+	public static long getKey(int firstValue, int secondValue)
+	{
+		return ((long) (firstValue + 1) << 32) | (secondValue + 1);
+	}
+
+	/**
+	 * Gets initial state of the second operand or DEAD_STATE if it has no
+	 * states
+	 *
+	 * @return
+	 */
+	public int getSecondInitialState()
+	{
+		return this.second.getInitialState();
+	}
+
+	/**
+	 * Gets cardinality of the states of the second operand (the dead state
+	 * excluded)
+	 *
+	 * @return
+	 */
+	public int getSecondStatesCardinality()
+	{
+		return this.second.getStatesCardinality();
+	}
+
+	/**
+	 * Gets target of the transition of the second operand
+	 *
+	 * @param state
+	 * @param symbolPair
+	 * @return
+	 */
+	public int getSecondTarget(int state, int symbolPair)
+	{
+		return ProductOperands.getTarget(this.second, state,
+				this.secondSymbols[symbolPair]);
+	}
+
+	/**
+	 * Gets characters of the pair of the symbols
+	 *
+	 * @param symbolPair
+	 * @return
+	 */
+	public List<Character> getSymbolPairCharacters(int symbolPair)
+	{
+		return this.symbolPairCharacters.get(symbolPair);
+	}
+
+	/**
+	 * Gets count of the pairs of the symbols
+	 *
+	 * @return
+	 */
+	public int getSymbolPairsCount()
+	{
+		return this.symbolPairCharacters.size();
+	}
+
+	private static int getTarget(
+			CompiledFiniteAutomata compiledFiniteAutomata, int state, int symbol)
+	{
+		if (state == ProductOperands.DEAD_STATE || symbol == -1)
+		{
+			return ProductOperands.DEAD_STATE;
+		}
+
+		return compiledFiniteAutomata.getTarget(state, symbol);
+	}
+
+	/**
+	 * Checks whether the state of the first operand is finite
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean isFirstFiniteState(int state)
+	{
+		return ProductOperands.isFiniteState(this.first, state);
+	}
+
+	private static boolean isFiniteState(
+			CompiledFiniteAutomata compiledFiniteAutomata, int state)
+	{
+		return state != ProductOperands.DEAD_STATE
+				&& compiledFiniteAutomata.isFiniteState(state);
+	}
+
+	/**
+	 * Checks whether the state of the second operand is finite
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean isSecondFiniteState(int state)
+	{
+		return ProductOperands.isFiniteState(this.second, state);
+	}
+}
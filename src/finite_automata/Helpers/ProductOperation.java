@@ -0,0 +1,49 @@
+package finite_automata.Helpers;
+
+public enum ProductOperation
+{
+	/**
+	 * Words, accepted by the first automata and not accepted by the second
+	 * one.
+	 */
+	DIFFERENCE,
+
+	/**
+	 * Words, accepted by both the automata.
+	 */
+	INTERSECTION,
+
+	/**
+	 * Words, accepted by exactly one of the automata.
+	 */
+	SYMMETRIC_DIFFERENCE,
+
+	/**
+	 * Words, accepted by any of the automata.
+	 */
+	UNION;
+
+	/**
+	 * Checks whether the word is accepted by the result of the operation
+	 *
+	 * @param isAcceptedByFirst
+	 *            whether the word is accepted by the first automata
+	 * @param isAcceptedBySecond
+	 *            whether the word is accepted by the second automata
+	 * @return
+	 */
+	public boolean accepts(boolean isAcceptedByFirst, boolean isAcceptedBySecond)
+	{
+		switch (this)
+		{
+		case DIFFERENCE:
+			return isAcceptedByFirst && !isAcceptedBySecond;
+		case INTERSECTION:
+			return isAcceptedByFirst && isAcceptedBySecond;
+		case SYMMETRIC_DIFFERENCE:
+			return isAcceptedByFirst != isAcceptedBySecond;
+		default:
+			return isAcceptedByFirst || isAcceptedBySecond;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package finite_automata.Helpers;
+
+import java.util.List;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FailedToCompileRegularExpressionException;
+
+public class RegularExpressionHelper
+{
+	/**
+	 * Compiles the regular expression over the byte alphabet
+	 *
+	 * @param pattern
+	 * @return
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	public static IFiniteAutomata compile(String pattern)
+			throws FailedToCompileRegularExpressionException
+	{
+		return RegularExpressionHelper.compile(pattern,
+				AlphabetHelper.getByteAlphabet());
+	}
+
+	/**
+	 * Compiles the regular expression into nondeterministic finite automata
+	 * without empty transitions, which accepts exactly the words, matching
+	 * the whole pattern. Supported syntax: concatenation, alternation "|",
+	 * groups "(...)", quantifiers "*", "+", "?", "{m}", "{m,}" and "{m,n}",
+	 * the dot, classes "[...]" and "[^...]" with ranges, escapes "\d", "\w",
+	 * "\s", "\t", "\n", "\r", "\f" and escaped metacharacters. The dot and
+	 * the classes match only the characters of the alphabet; the literal
+	 * characters must be in it. The automata has one state per character
+	 * position of the pattern (bounded repetitions are expanded) plus the
+	 * initial state.
+	 *
+	 * @param pattern
+	 * @param alphabet
+	 * @return
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	public static IFiniteAutomata compile(String pattern,
+			List<Character> alphabet)
+			throws FailedToCompileRegularExpressionException
+	{
+		if (pattern == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: pattern.");
+		}
+
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		return new RegularExpressionParser(pattern, alphabet).compile();
+	}
+}
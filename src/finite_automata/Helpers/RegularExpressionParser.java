@@ -0,0 +1,697 @@
+package finite_automata.Helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FailedToCompileRegularExpressionException;
+
+/**
+ * Compiles the regular expression into the nondeterministic automata without
+ * empty transitions by Glushkov construction. Every occurrence of the
+ * character, the class or the dot in the pattern is the position, which
+ * becomes the state; the extra initial state 0 is added. The sets of the
+ * first and the last positions and the nullability are computed for every
+ * subexpression while parsing, and the follow sets are extended in place,
+ * so the pattern is scanned once and no syntax tree is built. The bounded
+ * repetition re-parses its operand to create the fresh positions for every
+ * copy.
+ */
+class RegularExpressionParser
+{
+	/**
+	 * Subexpression: its nullability and its first and last positions.
+	 */
+	private static class Fragment
+	{
+		public final IntList first;
+
+		public final IntList last;
+
+		public final boolean nullable;
+
+		public Fragment(boolean nullable, IntList first, IntList last)
+		{
+			this.nullable = nullable;
+			this.first = first;
+			this.last = last;
+		}
+	}
+
+	private static class IntList
+	{
+		private int size;
+
+		private int[] values;
+
+		public IntList()
+		{
+			this.values = new int[4];
+			this.size = 0;
+		}
+
+		public void add(int value)
+		{
+			if (this.size == this.values.length)
+			{
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+
+			this.values[this.size++] = value;
+		}
+
+		public void addAll(IntList list)
+		{
+			for (int i = 0; i < list.size; i++)
+			{
+				this.add(list.values[i]);
+			}
+		}
+
+		public int get(int index)
+		{
+			return this.values[index];
+		}
+
+		public int size()
+		{
+			return this.size;
+		}
+	}
+
+	/**
+	 * Maximum count in the bounded repetition.
+	 */
+	public static final int MAX_REPETITION_COUNT = 1000;
+
+	private final List<Character> alphabet;
+
+	private final BitSet alphabetCharacters;
+
+	private final List<IntList> follows;
+
+	private int index;
+
+	private final String pattern;
+
+	private final List<char[]> positionCharacters;
+
+	public RegularExpressionParser(String pattern, List<Character> alphabet)
+	{
+		this.pattern = pattern;
+		this.alphabet = alphabet;
+		this.alphabetCharacters = new BitSet();
+		this.follows = new ArrayList<IntList>();
+		this.positionCharacters = new ArrayList<char[]>();
+		this.index = 0;
+
+		for (Character character : alphabet)
+		{
+			this.alphabetCharacters.set(character);
+		}
+	}
+
+	private void addTransitions(FiniteAutomataBuilder finiteAutomataBuilder,
+			int state, int position)
+	{
+		for (char character : this.positionCharacters.get(position))
+		{
+			finiteAutomataBuilder.addTransition(state, character, position + 1);
+		}
+	}
+
+	private Fragment alternate(Fragment left, Fragment right)
+	{
+		return new Fragment(left.nullable || right.nullable,
+				RegularExpressionParser.union(left.first, right.first),
+				RegularExpressionParser.union(left.last, right.last));
+	}
+
+	/**
+	 * Compiles the pattern
+	 *
+	 * @return
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	public IFiniteAutomata compile()
+			throws FailedToCompileRegularExpressionException
+	{
+		Fragment fragment = this.parseAlternation();
+
+		if (this.index < this.pattern.length())
+		{
+			throw new FailedToCompileRegularExpressionException(
+					"Unmatched ')'.", this.index);
+		}
+
+		int positionsCount = this.positionCharacters.size();
+
+		FiniteAutomataBuilder finiteAutomataBuilder = FiniteAutomataHelper
+				.createFiniteAutomataBuilder(this.alphabet, positionsCount + 1);
+
+		try
+		{
+			finiteAutomataBuilder.setInitialState(0);
+
+			if (fragment.nullable)
+			{
+				finiteAutomataBuilder.addFiniteState(0);
+			}
+
+			for (int i = 0; i < fragment.last.size(); i++)
+			{
+				finiteAutomataBuilder.addFiniteState(fragment.last.get(i) + 1);
+			}
+
+			for (int i = 0; i < fragment.first.size(); i++)
+			{
+				this.addTransitions(finiteAutomataBuilder, 0,
+						fragment.first.get(i));
+			}
+
+			// Follow sets may repeat the positions (e.g. in "(a*)*"), so the
+			// targets are marked by the current source.
+			int[] marks = new int[positionsCount];
+
+			Arrays.fill(marks, -1);
+
+			for (int position = 0; position < positionsCount; position++)
+			{
+				IntList follow = this.follows.get(position);
+
+				for (int i = 0; i < follow.size(); i++)
+				{
+					int target = follow.get(i);
+
+					if (marks[target] != position)
+					{
+						marks[target] = position;
+
+						this.addTransitions(finiteAutomataBuilder,
+								position + 1, target);
+					}
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Transitions are distinct and valid, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	private Fragment concatenate(Fragment left, Fragment right)
+	{
+		this.connect(left.last, right.first);
+
+		IntList first = left.nullable ? RegularExpressionParser.union(
+				left.first, right.first) : left.first;
+		IntList last = right.nullable ? RegularExpressionParser.union(
+				left.last, right.last) : right.last;
+
+		return new Fragment(left.nullable && right.nullable, first, last);
+	}
+
+	/**
+	 * Adds the positions to the follow sets of the sources
+	 *
+	 * @param sources
+	 * @param positions
+	 */
+	private void connect(IntList sources, IntList positions)
+	{
+		for (int i = 0; i < sources.size(); i++)
+		{
+			this.follows.get(sources.get(i)).addAll(positions);
+		}
+	}
+
+	private Fragment createEmptyFragment()
+	{
+		return new Fragment(true, new IntList(), new IntList());
+	}
+
+	/**
+	 * Creates the position, matching the characters of the alphabet, which
+	 * are in the set (or not in the set, if it is negated)
+	 *
+	 * @param characters
+	 * @param negated
+	 * @return
+	 */
+	private Fragment createPosition(BitSet characters, boolean negated)
+	{
+		int count = 0;
+		char[] positionCharacters = new char[this.alphabet.size()];
+
+		for (Character character : this.alphabet)
+		{
+			if (characters.get(character) != negated)
+			{
+				positionCharacters[count++] = character;
+			}
+		}
+
+		int position = this.positionCharacters.size();
+
+		this.positionCharacters.add(Arrays.copyOf(positionCharacters, count));
+		this.follows.add(new IntList());
+
+		// Lists of the first and the last positions are extended in place,
+		// so they must not be shared.
+		IntList first = new IntList();
+		IntList last = new IntList();
+
+		first.add(position);
+		last.add(position);
+
+		return new Fragment(false, first, last);
+	}
+
+	private boolean isQuantifier(char character)
+	{
+		return character == '*' || character == '+' || character == '?'
+				|| character == '{';
+	}
+
+	private Fragment parseAlternation()
+			throws FailedToCompileRegularExpressionException
+	{
+		Fragment fragment = this.parseConcatenation();
+
+		while (this.index < this.pattern.length()
+				&& this.pattern.charAt(this.index) == '|')
+		{
+			this.index++;
+
+			fragment = this.alternate(fragment, this.parseConcatenation());
+		}
+
+		return fragment;
+	}
+
+	private Fragment parseAtom()
+			throws FailedToCompileRegularExpressionException
+	{
+		int start = this.index;
+		char character = this.pattern.charAt(this.index++);
+
+		switch (character)
+		{
+		case '(':
+		{
+			Fragment fragment = this.parseAlternation();
+
+			if (this.index == this.pattern.length()
+					|| this.pattern.charAt(this.index) != ')')
+			{
+				throw new FailedToCompileRegularExpressionException(
+						"Missing ')'.", start);
+			}
+
+			this.index++;
+
+			return fragment;
+		}
+		case '[':
+			return this.parseClass(start);
+		case '.':
+			return this.createPosition(new BitSet(), true);
+		case '*':
+		case '+':
+		case '?':
+		case '{':
+			throw new FailedToCompileRegularExpressionException(
+					"Nothing to repeat.", start);
+		default:
+		{
+			BitSet characters = new BitSet();
+
+			if (character == '\\')
+			{
+				this.parseEscape(characters);
+			}
+			else
+			{
+				characters.set(character);
+			}
+
+			// Literal characters must be in the alphabet; classes are
+			// intersected with it.
+			if (characters.cardinality() == 1
+					&& !this.alphabetCharacters.get(characters.nextSetBit(0)))
+			{
+				throw new FailedToCompileRegularExpressionException(
+						String.format("Character: %1$s is not in the alphabet.",
+								(char) characters.nextSetBit(0)), start);
+			}
+
+			return this.createPosition(characters, false);
+		}
+		}
+	}
+
+	/**
+	 * Parses the bounds of the repetition and repeats the fragment:
+	 * x{m,n} = x...x (m copies) followed by n - m optional copies, x{m,} =
+	 * x...x (m - 1 copies) followed by x+
+	 *
+	 * @param fragment
+	 * @param start
+	 *            start of the repeated expression in the pattern
+	 * @param end
+	 *            end of the repeated expression in the pattern
+	 * @return
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	private Fragment parseBoundedRepetition(Fragment fragment, int start,
+			int end) throws FailedToCompileRegularExpressionException
+	{
+		int min = this.parseCount();
+		int max = min;
+
+		if (this.index < this.pattern.length()
+				&& this.pattern.charAt(this.index) == ',')
+		{
+			this.index++;
+
+			max = this.parseCount();
+		}
+
+		if (min == -1 || this.index == this.pattern.length()
+				|| this.pattern.charAt(this.index) != '}')
+		{
+			throw new FailedToCompileRegularExpressionException(
+					"Invalid repetition.", end);
+		}
+
+		this.index++;
+
+		if (max != -1 && max < min)
+		{
+			throw new FailedToCompileRegularExpressionException(
+					"Invalid repetition: maximum is less than minimum.", end);
+		}
+
+		int next = this.index;
+		int copiesCount = (max == -1) ? Math.max(min, 1) : max;
+
+		Fragment result = this.createEmptyFragment();
+
+		for (int i = 0; i < copiesCount; i++)
+		{
+			Fragment copy = fragment;
+
+			// Positions of the first copy are already created.
+			if (i > 0)
+			{
+				this.index = start;
+
+				copy = this.parseRepetition(end);
+			}
+
+			if (max == -1 && i == copiesCount - 1)
+			{
+				this.connect(copy.last, copy.first);
+
+				copy = new Fragment(copy.nullable || min == 0, copy.first,
+						copy.last);
+			}
+			else if (i >= min)
+			{
+				copy = new Fragment(true, copy.first, copy.last);
+			}
+
+			result = this.concatenate(result, copy);
+		}
+
+		this.index = next;
+
+		return result;
+	}
+
+	private Fragment parseClass(int start)
+			throws FailedToCompileRegularExpressionException
+	{
+		BitSet characters = new BitSet();
+		boolean negated = false;
+
+		if (this.index < this.pattern.length()
+				&& this.pattern.charAt(this.index) == '^')
+		{
+			negated = true;
+			this.index++;
+		}
+
+		boolean isFirst = true;
+
+		while (true)
+		{
+			if (this.index == this.pattern.length())
+			{
+				throw new FailedToCompileRegularExpressionException(
+						"Missing ']'.", start);
+			}
+
+			char character = this.pattern.charAt(this.index++);
+
+			// ']' right after '[' or "[^" is the character.
+			if (character == ']' && !isFirst)
+			{
+				break;
+			}
+
+			isFirst = false;
+
+			if (character == '\\')
+			{
+				BitSet escapeCharacters = new BitSet();
+
+				this.parseEscape(escapeCharacters);
+
+				if (escapeCharacters.cardinality() != 1)
+				{
+					characters.or(escapeCharacters);
+
+					continue;
+				}
+
+				character = (char) escapeCharacters.nextSetBit(0);
+			}
+
+			if (this.index + 1 < this.pattern.length()
+					&& this.pattern.charAt(this.index) == '-'
+					&& this.pattern.charAt(this.index + 1) != ']')
+			{
+				this.index++;
+
+				char last = this.pattern.charAt(this.index++);
+
+				if (last == '\\')
+				{
+					BitSet escapeCharacters = new BitSet();
+
+					this.parseEscape(escapeCharacters);
+
+					if (escapeCharacters.cardinality() != 1)
+					{
+						throw new FailedToCompileRegularExpressionException(
+								"Invalid range.", this.index - 2);
+					}
+
+					last = (char) escapeCharacters.nextSetBit(0);
+				}
+
+				if (last < character)
+				{
+					throw new FailedToCompileRegularExpressionException(
+							"Invalid range.", this.index - 1);
+				}
+
+				characters.set(character, last + 1);
+			}
+			else
+			{
+				characters.set(character);
+			}
+		}
+
+		return this.createPosition(characters, negated);
+	}
+
+	private Fragment parseConcatenation()
+			throws FailedToCompileRegularExpressionException
+	{
+		Fragment fragment = this.createEmptyFragment();
+
+		while (this.index < this.pattern.length()
+				&& this.pattern.charAt(this.index) != '|'
+				&& this.pattern.charAt(this.index) != ')')
+		{
+			fragment = this.concatenate(fragment,
+					this.parseRepetition(this.pattern.length()));
+		}
+
+		return fragment;
+	}
+
+	/**
+	 * Parses the count of the bounded repetition
+	 *
+	 * @return count or -1 if there are no digits
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	private int parseCount() throws FailedToCompileRegularExpressionException
+	{
+		int start = this.index;
+		int count = 0;
+
+		while (this.index < this.pattern.length()
+				&& Character.isDigit(this.pattern.charAt(this.index)))
+		{
+			count = count * 10 + (this.pattern.charAt(this.index++) - '0');
+
+			if (count > RegularExpressionParser.MAX_REPETITION_COUNT)
+			{
+				throw new FailedToCompileRegularExpressionException(
+						String.format(
+								"Count of the repetition must be not greater than %1$d.",
+								RegularExpressionParser.MAX_REPETITION_COUNT),
+						start);
+			}
+		}
+
+		return (this.index == start) ? -1 : count;
+	}
+
+	/**
+	 * Parses the escape sequence after '\' into the set of the characters
+	 *
+	 * @param characters
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	private void parseEscape(BitSet characters)
+			throws FailedToCompileRegularExpressionException
+	{
+		if (this.index == this.pattern.length())
+		{
+			throw new FailedToCompileRegularExpressionException(
+					"Incomplete escape sequence.", this.index - 1);
+		}
+
+		char character = this.pattern.charAt(this.index++);
+
+		switch (character)
+		{
+		case 'd':
+			characters.set('0', '9' + 1);
+			break;
+		case 'f':
+			characters.set('\f');
+			break;
+		case 'n':
+			characters.set('\n');
+			break;
+		case 'r':
+			characters.set('\r');
+			break;
+		case 's':
+			characters.set(' ');
+			characters.set('\t');
+			characters.set('\n');
+			characters.set('\u000B');
+			characters.set('\f');
+			characters.set('\r');
+			break;
+		case 't':
+			characters.set('\t');
+			break;
+		case 'w':
+			characters.set('0', '9' + 1);
+			characters.set('A', 'Z' + 1);
+			characters.set('a', 'z' + 1);
+			characters.set('_');
+			break;
+		default:
+			if (Character.isLetterOrDigit(character))
+			{
+				throw new FailedToCompileRegularExpressionException(
+						String.format("Unknown escape sequence: \\%1$s.",
+								character), this.index - 2);
+			}
+
+			characters.set(character);
+		}
+	}
+
+	/**
+	 * Parses the atom and its quantifiers, which end before the limit
+	 *
+	 * @param limit
+	 * @return
+	 * @throws FailedToCompileRegularExpressionException
+	 */
+	private Fragment parseRepetition(int limit)
+			throws FailedToCompileRegularExpressionException
+	{
+		int start = this.index;
+
+		Fragment fragment = this.parseAtom();
+
+		while (this.index < limit
+				&& this.isQuantifier(this.pattern.charAt(this.index)))
+		{
+			int quantifierStart = this.index;
+			char quantifier = this.pattern.charAt(this.index++);
+
+			switch (quantifier)
+			{
+			case '*':
+				this.connect(fragment.last, fragment.first);
+				fragment = new Fragment(true, fragment.first, fragment.last);
+				break;
+			case '+':
+				this.connect(fragment.last, fragment.first);
+				break;
+			case '?':
+				fragment = new Fragment(true, fragment.first, fragment.last);
+				break;
+			default:
+				fragment = this.parseBoundedRepetition(fragment, start,
+						quantifierStart);
+			}
+		}
+
+		return fragment;
+	}
+
+	/**
+	 * Merges two lists of the positions in place: the smaller list is
+	 * appended to the larger one, so that every position is moved O(log n)
+	 * times, and the alternation of k branches takes O(k) time. The lists
+	 * belong to the fragments, which are combined, and are not used after
+	 * that.
+	 *
+	 * @param first
+	 * @param second
+	 * @return
+	 */
+	private static IntList union(IntList first, IntList second)
+	{
+		if (first.size() < second.size())
+		{
+			second.addAll(first);
+
+			return second;
+		}
+
+		first.addAll(second);
+
+		return first;
+	}
+}
@@ -0,0 +1,153 @@
+package finite_automata.Helpers;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+
+public class TrimHelper
+{
+	/**
+	 * Finds the states, which are reachable from the initial state and can
+	 * reach finite states. Forward reachability is found by breadth-first
+	 * search over the transitions, backward reachability - by breadth-first
+	 * search from the finite states over the reverse adjacency index, so the
+	 * time is linear in the count of the transitions.
+	 *
+	 * @param finiteAutomataTable
+	 * @return
+	 */
+	static boolean[] getUsefulStates(FiniteAutomataTable finiteAutomataTable)
+	{
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+		int initialState = finiteAutomataTable.getInitialState();
+
+		int[] distances = AcceptedWordsWalker
+				.getDistancesToFiniteStates(finiteAutomataTable);
+
+		boolean[] usefulStates = new boolean[statesCardinality];
+
+		if (initialState < 0 || distances[initialState] == -1)
+		{
+			return usefulStates;
+		}
+
+		int[] queue = new int[statesCardinality];
+		int queueSize = 0;
+
+		usefulStates[initialState] = true;
+		queue[queueSize++] = initialState;
+
+		for (int i = 0; i < queueSize; i++)
+		{
+			int state = queue[i];
+
+			// Cells of the state are adjacent, so all its targets are in one
+			// range.
+			for (int j = finiteAutomataTable.getTargetsStart(state, 0), end = finiteAutomataTable
+					.getTargetsEnd(state, symbolsCount - 1); j < end; j++)
+			{
+				int target = finiteAutomataTable.getTarget(j);
+
+				if (!usefulStates[target] && distances[target] != -1)
+				{
+					usefulStates[target] = true;
+					queue[queueSize++] = target;
+				}
+			}
+		}
+
+		return usefulStates;
+	}
+
+	/**
+	 * Builds finite automata, equivalent to the given one, without the
+	 * states, which can't be reached from the initial state or can't reach
+	 * finite states. The remaining states are renumbered, keeping their
+	 * order; if the language is empty, the result has no states.
+	 *
+	 * @param finiteAutomata
+	 * @return
+	 */
+	public static IFiniteAutomata trim(IFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		boolean[] usefulStates = TrimHelper
+				.getUsefulStates(finiteAutomataTable);
+
+		int[] numbers = new int[statesCardinality];
+		int usefulStatesCount = 0;
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			numbers[state] = usefulStates[state] ? usefulStatesCount++ : -1;
+		}
+
+		FiniteAutomataBuilder finiteAutomataBuilder = FiniteAutomataHelper
+				.createFiniteAutomataBuilder(finiteAutomata.getAlphabet(),
+						usefulStatesCount);
+
+		try
+		{
+			if (usefulStatesCount > 0)
+			{
+				finiteAutomataBuilder.setInitialState(numbers[finiteAutomataTable
+						.getInitialState()]);
+			}
+
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (numbers[state] == -1)
+				{
+					continue;
+				}
+
+				if (finiteAutomataTable.isFiniteState(state))
+				{
+					finiteAutomataBuilder.addFiniteState(numbers[state]);
+				}
+
+				for (int symbol = 0; symbol < symbolsCount; symbol++)
+				{
+					for (int i = finiteAutomataTable.getTargetsStart(state,
+							symbol), end = finiteAutomataTable.getTargetsEnd(
+							state, symbol); i < end; i++)
+					{
+						int target = numbers[finiteAutomataTable.getTarget(i)];
+
+						if (target == -1)
+						{
+							continue;
+						}
+
+						for (char character : finiteAutomataTable
+								.getSymbolCharacters(symbol))
+						{
+							finiteAutomataBuilder.addTransition(numbers[state],
+									character, target);
+						}
+					}
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Transitions of the table are distinct and valid, so this can't
+			// happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+}
@@ -69,6 +69,14 @@ public interface IFiniteAutomata
 	void removeTransition(Transition transition)
 			throws NonExistentTransitionException;
 	
+	/**
+	 * Sets alphabet of arbitrary (distinct) characters and clears the
+	 * transitions
+	 *
+	 * @param alphabet
+	 */
+	void setAlphabet(List<Character> alphabet);
+	
 	/**
 	 * Sets cardinality of the alphabet
 	 *
@@ -89,4 +97,12 @@ public interface IFiniteAutomata
 	 * @param cardinality
 	 */
 	void setStatesCardinality(int cardinality);
+	
+	/**
+	 * Gets immutable snapshot of the finite automata, which can be shared
+	 * between threads
+	 *
+	 * @return
+	 */
+	ImmutableFiniteAutomata snapshot();
 }
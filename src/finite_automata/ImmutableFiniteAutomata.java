@@ -0,0 +1,127 @@
+package finite_automata;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable finite automata, stored compactly by CompactFiniteAutomata. The
+ * copy is made in the constructor and referenced by the final field, so the
+ * instance is safely published and can be read by any number of threads
+ * without synchronization. Lists and maps, returned by the getters, are
+ * read-only views.
+ */
+public final class ImmutableFiniteAutomata implements IFiniteAutomata
+{
+	private final CompactFiniteAutomata finiteAutomata;
+
+	/**
+	 * Creates the immutable copy of the finite automata
+	 *
+	 * @param finiteAutomata
+	 */
+	public ImmutableFiniteAutomata(IFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		this.finiteAutomata = new CompactFiniteAutomata(finiteAutomata);
+	}
+
+	@Override
+	public void addFiniteState(int state)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public void addTransition(Transition transition)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public List<Character> getAlphabet()
+	{
+		return this.finiteAutomata.getAlphabet();
+	}
+
+	@Override
+	public List<Integer> getFiniteStates()
+	{
+		return this.finiteAutomata.getFiniteStates();
+	}
+
+	@Override
+	public int getInitialState()
+	{
+		return this.finiteAutomata.getInitialState();
+	}
+
+	@Override
+	public int getStatesCardinality()
+	{
+		return this.finiteAutomata.getStatesCardinality();
+	}
+
+	@Override
+	public Map<Integer, List<Transition>> getTransitionsMap()
+	{
+		return this.finiteAutomata.getTransitionsMap();
+	}
+
+	/**
+	 * Gets total count of the transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.finiteAutomata.getTransitionsCount();
+	}
+
+	@Override
+	public void removeTransition(Transition transition)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public void setAlphabet(List<Character> alphabet)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public void setAlphabetCardinality(int cardinality)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public void setInitialState(int state)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public void setStatesCardinality(int cardinality)
+	{
+		throw new UnsupportedOperationException(
+				"Immutable finite automata can't be changed.");
+	}
+
+	@Override
+	public ImmutableFiniteAutomata snapshot()
+	{
+		return this;
+	}
+}
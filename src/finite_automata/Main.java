@@ -4,25 +4,72 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 import finite_automata.Helpers.ExceptionHelper;
 import finite_automata.Helpers.FiniteAutomataHelper;
+import finite_automata.Helpers.LanguageHelper;
+import finite_automata.Helpers.LanguageProperties;
+import finite_automata.Matchers.BatchClassifier;
 
 public class Main
 {
+	/**
+	 * Maximum count of the listed words of the infinite language.
+	 */
+	private static final int MAX_LISTED_WORDS_COUNT = 1000;
+
+	/**
+	 * Classifies the words of the file (one per line) against the finite
+	 * automata and reports the throughput
+	 *
+	 * @param finiteAutomataPath
+	 * @param wordsPath
+	 * @throws Exception
+	 */
+	private static void classify(Path finiteAutomataPath, Path wordsPath)
+			throws Exception
+	{
+		IFiniteAutomata finiteAutomata = FiniteAutomataHelper
+				.getFiniteAutomataFromFile(finiteAutomataPath);
+
+		BatchClassifier batchClassifier = new BatchClassifier(finiteAutomata);
+
+		List<String> words = Files.readAllLines(wordsPath,
+				StandardCharsets.UTF_8);
+
+		long startTime = System.nanoTime();
+
+		BitSet accepted = batchClassifier.classify(words);
+
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+
+		System.out.println(String.format(
+				"%1$d of %2$d word(s) accepted by the automata.",
+				accepted.cardinality(), words.size()));
+		System.out.println(String.format(
+				"Classified in %1$.3f s (%2$.0f words/s).", seconds,
+				words.size() / Math.max(seconds, 1e-9)));
+	}
+
 	public static void main(String[] args)
 	{
 		try
 		{
-			Path path = Paths.get(args[0]);
+			if (args.length == 3 && args[0].equals("--classify"))
+			{
+				Main.classify(Paths.get(args[1]), Paths.get(args[2]));
 
-			List<String> lines = Files.readAllLines(path,
-					StandardCharsets.UTF_8);
+				return;
+			}
+
+			Path path = Paths.get(args[0]);
 
 			IFiniteAutomata finiteAutomata = FiniteAutomataHelper
-					.getFiniteAutomataFromStringList(lines);
+					.getFiniteAutomataFromFile(path);
 
 			for (String string : FiniteAutomataHelper
 					.convertFiniteAutomataToList(finiteAutomata))
@@ -30,10 +77,47 @@ public class Main
 				System.out.println(string);
 			}
 
-			Set<String> words = FiniteAutomataHelper
-					.getAllAcceptedWords(finiteAutomata);
-
 			System.out.println();
+
+			LanguageProperties languageProperties = LanguageHelper
+					.getLanguageProperties(finiteAutomata);
+
+			List<String> words;
+
+			// Enumeration of the infinite language never completes, so at most
+			// MAX_LISTED_WORDS_COUNT words, not longer than the cardinality of
+			// the states, are listed (they may go around short cycles many
+			// times).
+			if (languageProperties.isEmpty())
+			{
+				System.out.println("The language of the automata is empty.");
+
+				words = new ArrayList<String>();
+			}
+			else if (languageProperties.isFinite())
+			{
+				System.out.println(String.format(
+						"The language of the automata is finite, the longest word has length %1$d.",
+						languageProperties.getLongestWordLength()));
+
+				words = FiniteAutomataHelper.getAcceptedWordsStream(
+						finiteAutomata,
+						languageProperties.getLongestWordLength(),
+						Long.MAX_VALUE).collect(Collectors.toList());
+			}
+			else
+			{
+				int maxLength = finiteAutomata.getStatesCardinality();
+
+				System.out.println(String.format(
+						"The language of the automata is infinite, at most %1$d word(s) not longer than %2$d are listed.",
+						Main.MAX_LISTED_WORDS_COUNT, maxLength));
+
+				words = FiniteAutomataHelper.getAcceptedWordsStream(
+						finiteAutomata, maxLength, Main.MAX_LISTED_WORDS_COUNT)
+						.collect(Collectors.toList());
+			}
+
 			System.out
 					.println(String
 							.format("List of the words, accepted by the automata (%1$d word(s) found):",
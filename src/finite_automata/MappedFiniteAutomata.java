@@ -0,0 +1,711 @@
+package finite_automata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromFileException;
+
+/**
+ * Read-only finite automata, served directly from the memory-mapped binary
+ * file, written by BinaryFiniteAutomataWriter. Nothing but the alphabet is
+ * copied into the heap, so opening takes the same time regardless of the
+ * size of the automata (unless the checksum is verified). MappedMatcher
+ * matches the words directly against the mapped sections; building
+ * FiniteAutomataTable (and the matchers, based on it) copies the
+ * transitions into the heap.
+ *
+ * All numbers of the file are little-endian, every section is aligned to 8
+ * bytes:
+ *
+ * header: magic (int), version (int), alphabet cardinality (int), states
+ * cardinality (int), initial state (int), reserved (int), count of the
+ * transitions (long);
+ *
+ * alphabet: characters (char);
+ *
+ * finite states: bitset (long);
+ *
+ * offsets: start of the transitions of every state and the total count of
+ * the transitions (int);
+ *
+ * labels: characters of the transitions (char), sorted within every state;
+ *
+ * targets: target states of the transitions (int), sorted within every
+ * character;
+ *
+ * checksum: CRC32 of all the previous bytes (long).
+ */
+public class MappedFiniteAutomata implements IFiniteAutomata
+{
+	private class FiniteStatesView extends AbstractList<Integer>
+	{
+		@Override
+		public boolean contains(Object obj)
+		{
+			return (obj instanceof Integer)
+					&& MappedFiniteAutomata.this.isFiniteState((Integer) obj);
+		}
+
+		@Override
+		public Integer get(int index)
+		{
+			if (index < 0 || index >= this.size())
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			Iterator<Integer> iterator = this.iterator();
+
+			for (int i = 0; i < index; i++)
+			{
+				iterator.next();
+			}
+
+			return iterator.next();
+		}
+
+		@Override
+		public Iterator<Integer> iterator()
+		{
+			return new Iterator<Integer>()
+			{
+				private int state = MappedFiniteAutomata.this
+						.getNextFiniteState(0);
+
+				@Override
+				public boolean hasNext()
+				{
+					return this.state >= 0;
+				}
+
+				@Override
+				public Integer next()
+				{
+					if (this.state < 0)
+					{
+						throw new NoSuchElementException();
+					}
+
+					int state = this.state;
+
+					this.state = MappedFiniteAutomata.this
+							.getNextFiniteState(state + 1);
+
+					return state;
+				}
+			};
+		}
+
+		@Override
+		public int size()
+		{
+			return MappedFiniteAutomata.this.getFiniteStatesCount();
+		}
+	}
+
+	private class StateTransitionsView extends AbstractList<Transition>
+	{
+		private final int state;
+
+		public StateTransitionsView(int state)
+		{
+			this.state = state;
+		}
+
+		@Override
+		public Transition get(int index)
+		{
+			if (index < 0 || index >= this.size())
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			int position = MappedFiniteAutomata.this.offsets.get(this.state)
+					+ index;
+
+			return new Transition(this.state,
+					MappedFiniteAutomata.this.labels.get(position),
+					MappedFiniteAutomata.this.targets.get(position));
+		}
+
+		@Override
+		public int size()
+		{
+			return MappedFiniteAutomata.this.offsets.get(this.state + 1)
+					- MappedFiniteAutomata.this.offsets.get(this.state);
+		}
+	}
+
+	private class TransitionsMapView extends
+			AbstractMap<Integer, List<Transition>>
+	{
+		@Override
+		public boolean containsKey(Object key)
+		{
+			return this.get(key) != null;
+		}
+
+		@Override
+		public Set<Map.Entry<Integer, List<Transition>>> entrySet()
+		{
+			return new AbstractSet<Map.Entry<Integer, List<Transition>>>()
+			{
+				@Override
+				public Iterator<Map.Entry<Integer, List<Transition>>> iterator()
+				{
+					return new Iterator<Map.Entry<Integer, List<Transition>>>()
+					{
+						private int state = 0;
+
+						@Override
+						public boolean hasNext()
+						{
+							return this.state < MappedFiniteAutomata.this.statesCardinality;
+						}
+
+						@Override
+						public Map.Entry<Integer, List<Transition>> next()
+						{
+							if (!this.hasNext())
+							{
+								throw new NoSuchElementException();
+							}
+
+							int state = this.state++;
+
+							return new AbstractMap.SimpleImmutableEntry<Integer, List<Transition>>(
+									state, new StateTransitionsView(state));
+						}
+					};
+				}
+
+				@Override
+				public int size()
+				{
+					return MappedFiniteAutomata.this.statesCardinality;
+				}
+			};
+		}
+
+		@Override
+		public List<Transition> get(Object key)
+		{
+			if (!(key instanceof Integer))
+			{
+				return null;
+			}
+
+			int state = (Integer) key;
+
+			if (state < 0 || state >= MappedFiniteAutomata.this.statesCardinality)
+			{
+				return null;
+			}
+
+			return new StateTransitionsView(state);
+		}
+
+		@Override
+		public int size()
+		{
+			return MappedFiniteAutomata.this.statesCardinality;
+		}
+	}
+
+	/**
+	 * Size of the header of the file.
+	 */
+	static final int HEADER_SIZE = 32;
+
+	/**
+	 * First 4 bytes of the file: "FATA".
+	 */
+	public static final int MAGIC = 0x41544146;
+
+	/**
+	 * Version of the file format.
+	 */
+	public static final int VERSION = 1;
+
+	private final List<Character> alphabet;
+
+	private final LongBuffer finiteStates;
+
+	/**
+	 * Count of the finite states, counted on the first request, or -1.
+	 */
+	private volatile int finiteStatesCount;
+
+	private final int initialState;
+
+	private final CharBuffer labels;
+
+	private final IntBuffer offsets;
+
+	private final int statesCardinality;
+
+	private final IntBuffer targets;
+
+	private final int transitionsCount;
+
+	/**
+	 * Maps the binary file of the finite automata without verifying the
+	 * checksum
+	 *
+	 * @param path
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public MappedFiniteAutomata(Path path)
+			throws FailedToGetFiniteAutomataFromFileException
+	{
+		this(path, false);
+	}
+
+	/**
+	 * Maps the binary file of the finite automata. Verifying the checksum
+	 * requires reading the whole file; otherwise, only the header and the
+	 * size of the file are checked, and corrupted data may lead to
+	 * IndexOutOfBoundsException on access.
+	 *
+	 * @param path
+	 * @param verifyChecksum
+	 * @throws FailedToGetFiniteAutomataFromFileException
+	 */
+	public MappedFiniteAutomata(Path path, boolean verifyChecksum)
+			throws FailedToGetFiniteAutomataFromFileException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		try (FileChannel fileChannel = FileChannel.open(path,
+				StandardOpenOption.READ))
+		{
+			long fileSize = fileChannel.size();
+
+			if (fileSize < MappedFiniteAutomata.HEADER_SIZE)
+			{
+				throw new FailedToGetFiniteAutomataFromFileException(
+						"File is too short.");
+			}
+
+			ByteBuffer header = MappedFiniteAutomata.map(fileChannel, 0,
+					MappedFiniteAutomata.HEADER_SIZE);
+
+			if (header.getInt(0) != MappedFiniteAutomata.MAGIC)
+			{
+				throw new FailedToGetFiniteAutomataFromFileException(
+						"File is not the binary file of the finite automata.");
+			}
+
+			if (header.getInt(4) != MappedFiniteAutomata.VERSION)
+			{
+				throw new FailedToGetFiniteAutomataFromFileException(
+						String.format("Version: %1$d is not supported.",
+								header.getInt(4)));
+			}
+
+			int alphabetCardinality = header.getInt(8);
+			this.statesCardinality = header.getInt(12);
+			this.initialState = header.getInt(16);
+			long transitionsCount = header.getLong(24);
+
+			// Every section must fit into the single mapping.
+			if (alphabetCardinality < 0 || this.statesCardinality < 0
+					|| this.statesCardinality >= Integer.MAX_VALUE / 4
+					|| transitionsCount < 0
+					|| transitionsCount > Integer.MAX_VALUE / 4)
+			{
+				throw new FailedToGetFiniteAutomataFromFileException(
+						"Header of the file is invalid.");
+			}
+
+			this.transitionsCount = (int) transitionsCount;
+
+			long[] sectionSizes = MappedFiniteAutomata.getSectionSizes(
+					alphabetCardinality, this.statesCardinality,
+					this.transitionsCount);
+			long[] sectionPositions = new long[sectionSizes.length + 1];
+
+			sectionPositions[0] = MappedFiniteAutomata.HEADER_SIZE;
+
+			for (int i = 0; i < sectionSizes.length; i++)
+			{
+				sectionPositions[i + 1] = sectionPositions[i]
+						+ MappedFiniteAutomata.align(sectionSizes[i]);
+			}
+
+			long checksumPosition = sectionPositions[sectionSizes.length];
+
+			if (fileSize != checksumPosition + 8)
+			{
+				throw new FailedToGetFiniteAutomataFromFileException(
+						String.format(
+								"Size of the file: %1$d doesn't match its header, expected: %2$d.",
+								fileSize, checksumPosition + 8));
+			}
+
+			if (verifyChecksum)
+			{
+				MappedFiniteAutomata.verifyChecksum(fileChannel,
+						checksumPosition);
+			}
+
+			CharBuffer alphabet = MappedFiniteAutomata.map(fileChannel,
+					sectionPositions[0], sectionSizes[0]).asCharBuffer();
+			List<Character> characters = new ArrayList<Character>();
+
+			for (int i = 0; i < alphabetCardinality; i++)
+			{
+				characters.add(alphabet.get(i));
+			}
+
+			this.alphabet = Collections.unmodifiableList(characters);
+
+			this.finiteStates = MappedFiniteAutomata.map(fileChannel,
+					sectionPositions[1], sectionSizes[1]).asLongBuffer();
+			this.offsets = MappedFiniteAutomata.map(fileChannel,
+					sectionPositions[2], sectionSizes[2]).asIntBuffer();
+			this.labels = MappedFiniteAutomata.map(fileChannel,
+					sectionPositions[3], sectionSizes[3]).asCharBuffer();
+			this.targets = MappedFiniteAutomata.map(fileChannel,
+					sectionPositions[4], sectionSizes[4]).asIntBuffer();
+
+			this.finiteStatesCount = -1;
+		}
+		catch (IOException exception)
+		{
+			throw new FailedToGetFiniteAutomataFromFileException(
+					"Failed to get finite automata from file.", exception);
+		}
+	}
+
+	/**
+	 * Aligns the size of the section to 8 bytes
+	 *
+	 * @param size
+	 * @return
+	 */
+	static long align(long size)
+	{
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Gets sizes of the sections (alphabet, finite states, offsets, labels,
+	 * targets) in bytes without alignment
+	 *
+	 * @param alphabetCardinality
+	 * @param statesCardinality
+	 * @param transitionsCount
+	 * @return
+	 */
+	static long[] getSectionSizes(int alphabetCardinality,
+			int statesCardinality, int transitionsCount)
+	{
+		return new long[] { 2L * alphabetCardinality,
+				8L * ((statesCardinality + 63L) >>> 6),
+				4L * (statesCardinality + 1L), 2L * transitionsCount,
+				4L * transitionsCount };
+	}
+
+	private static ByteBuffer map(FileChannel fileChannel, long position,
+			long size) throws IOException
+	{
+		MappedByteBuffer buffer = fileChannel.map(
+				FileChannel.MapMode.READ_ONLY, position, size);
+
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		return buffer;
+	}
+
+	private static void verifyChecksum(FileChannel fileChannel,
+			long checksumPosition) throws IOException,
+			FailedToGetFiniteAutomataFromFileException
+	{
+		CRC32 checksum = new CRC32();
+
+		for (long position = 0; position < checksumPosition; position += Integer.MAX_VALUE)
+		{
+			checksum.update(fileChannel.map(FileChannel.MapMode.READ_ONLY,
+					position, Math.min(Integer.MAX_VALUE, checksumPosition
+							- position)));
+		}
+
+		if (checksum.getValue() != MappedFiniteAutomata.map(fileChannel,
+				checksumPosition, 8).getLong(0))
+		{
+			throw new FailedToGetFiniteAutomataFromFileException(
+					"Checksum of the file doesn't match.");
+		}
+	}
+
+	@Override
+	public void addFiniteState(int state)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public void addTransition(Transition transition)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	/**
+	 * Finds the target of the first transition of the state by the
+	 * character, using binary search
+	 *
+	 * @param state
+	 * @param character
+	 * @return target state or -1, if there is no such transition
+	 */
+	public int findTarget(int state, char character)
+	{
+		int position = this.findTransitionsStart(state, character);
+
+		if (position < this.offsets.get(state + 1)
+				&& this.labels.get(position) == character)
+		{
+			return this.targets.get(position);
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the position of the first transition of the state by the
+	 * character (or by the next greater one), using binary search
+	 *
+	 * @param state
+	 * @param character
+	 * @return position of the transition or the end of the transitions of
+	 *         the state
+	 */
+	public int findTransitionsStart(int state, char character)
+	{
+		int low = this.offsets.get(state);
+		int high = this.offsets.get(state + 1) - 1;
+
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+
+			if (this.labels.get(middle) < character)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+
+		return low;
+	}
+
+	@Override
+	public List<Character> getAlphabet()
+	{
+		return this.alphabet;
+	}
+
+	@Override
+	public List<Integer> getFiniteStates()
+	{
+		return new FiniteStatesView();
+	}
+
+	/**
+	 * Gets count of the finite states. The bitset is counted on the first
+	 * request, so that opening the file doesn't read it.
+	 *
+	 * @return
+	 */
+	private int getFiniteStatesCount()
+	{
+		int finiteStatesCount = this.finiteStatesCount;
+
+		if (finiteStatesCount == -1)
+		{
+			finiteStatesCount = 0;
+
+			for (int i = 0, count = this.finiteStates.limit(); i < count; i++)
+			{
+				finiteStatesCount += Long.bitCount(this.finiteStates.get(i));
+			}
+
+			this.finiteStatesCount = finiteStatesCount;
+		}
+
+		return finiteStatesCount;
+	}
+
+	@Override
+	public int getInitialState()
+	{
+		return this.initialState;
+	}
+
+	private int getNextFiniteState(int state)
+	{
+		for (int i = state >>> 6, count = this.finiteStates.limit(); i < count; i++)
+		{
+			long word = this.finiteStates.get(i);
+
+			if (i == state >>> 6)
+			{
+				word &= -1L << state;
+			}
+
+			if (word != 0)
+			{
+				return (i << 6) + Long.numberOfTrailingZeros(word);
+			}
+		}
+
+		return -1;
+	}
+
+	@Override
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	/**
+	 * Gets character of the transition
+	 *
+	 * @param position
+	 * @return
+	 */
+	public char getTransitionCharacter(int position)
+	{
+		return this.labels.get(position);
+	}
+
+	@Override
+	public Map<Integer, List<Transition>> getTransitionsMap()
+	{
+		return new TransitionsMapView();
+	}
+
+	/**
+	 * Gets total count of the transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.transitionsCount;
+	}
+
+	/**
+	 * Gets position after the last transition of the state
+	 *
+	 * @param state
+	 * @return
+	 */
+	public int getTransitionsEnd(int state)
+	{
+		return this.offsets.get(state + 1);
+	}
+
+	/**
+	 * Gets position of the first transition of the state
+	 *
+	 * @param state
+	 * @return
+	 */
+	public int getTransitionsStart(int state)
+	{
+		return this.offsets.get(state);
+	}
+
+	/**
+	 * Gets target state of the transition
+	 *
+	 * @param position
+	 * @return
+	 */
+	public int getTransitionTarget(int position)
+	{
+		return this.targets.get(position);
+	}
+
+	/**
+	 * Checks whether the state is finite
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean isFiniteState(int state)
+	{
+		return state >= 0 && state < this.statesCardinality
+				&& (this.finiteStates.get(state >>> 6) & (1L << state)) != 0;
+	}
+
+	@Override
+	public void removeTransition(Transition transition)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public void setAlphabet(List<Character> alphabet)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public void setAlphabetCardinality(int cardinality)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public void setInitialState(int state)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public void setStatesCardinality(int cardinality)
+	{
+		throw new UnsupportedOperationException(
+				"Mapped finite automata is read-only.");
+	}
+
+	@Override
+	public ImmutableFiniteAutomata snapshot()
+	{
+		return new ImmutableFiniteAutomata(this);
+	}
+}
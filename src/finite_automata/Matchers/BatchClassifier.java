@@ -0,0 +1,146 @@
+package finite_automata.Matchers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import finite_automata.IFiniteAutomata;
+
+/**
+ * Classifies batches of the words against the finite automata, partitioning
+ * every batch across the fork-join pool. Deterministic automata is shared by
+ * the workers; nondeterministic automata is matched by the lazy matcher of
+ * every worker thread (see ConcurrentMatcher). The instance can be shared
+ * between threads.
+ */
+public class BatchClassifier
+{
+	/**
+	 * Count of the words of the stream, buffered and classified at once.
+	 */
+	public static final int STREAM_CHUNK_SIZE = 1 << 16;
+
+	private final IMatcher matcher;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates the classifier, using the common fork-join pool
+	 *
+	 * @param finiteAutomata
+	 */
+	public BatchClassifier(IFiniteAutomata finiteAutomata)
+	{
+		this(finiteAutomata, ForkJoinPool.commonPool());
+	}
+
+	public BatchClassifier(IFiniteAutomata finiteAutomata, ForkJoinPool pool)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		if (pool == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: pool.");
+		}
+
+		this.matcher = new ConcurrentMatcher(finiteAutomata);
+		this.pool = pool;
+	}
+
+	/**
+	 * Classifies the words
+	 *
+	 * @param words
+	 * @return the set of the indexes of the accepted words
+	 */
+	public BitSet classify(List<? extends CharSequence> words)
+	{
+		if (words == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: words.");
+		}
+
+		BitSet accepted = new BitSet(words.size());
+
+		this.classify(words, accepted, 0);
+
+		return accepted;
+	}
+
+	private void classify(List<? extends CharSequence> words,
+			BitSet accepted, int offset)
+	{
+		// Tasks access the words by index.
+		if (!(words instanceof RandomAccess))
+		{
+			words = new ArrayList<CharSequence>(words);
+		}
+
+		boolean[] results = new boolean[words.size()];
+
+		this.pool.invoke(new ClassificationTask(this.matcher, words, results,
+				0, results.length));
+
+		for (int i = 0; i < results.length; i++)
+		{
+			if (results[i])
+			{
+				accepted.set(offset + i);
+			}
+		}
+	}
+
+	/**
+	 * Classifies the words of the stream, buffering them by chunks, so that
+	 * the stream is never held in memory as a whole
+	 *
+	 * @param words
+	 * @return the set of the positions of the accepted words in the stream
+	 */
+	public BitSet classify(Stream<? extends CharSequence> words)
+	{
+		if (words == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: words.");
+		}
+
+		BitSet accepted = new BitSet();
+		List<CharSequence> chunk = new ArrayList<CharSequence>(
+				BatchClassifier.STREAM_CHUNK_SIZE);
+		int offset = 0;
+
+		Iterator<? extends CharSequence> iterator = words.iterator();
+
+		while (iterator.hasNext())
+		{
+			CharSequence word = iterator.next();
+
+			if (word == null)
+			{
+				throw new IllegalArgumentException(
+						"Argument can't contain null: words.");
+			}
+
+			chunk.add(word);
+
+			if (chunk.size() == BatchClassifier.STREAM_CHUNK_SIZE
+					|| !iterator.hasNext())
+			{
+				this.classify(chunk, accepted, offset);
+
+				offset += chunk.size();
+				chunk.clear();
+			}
+		}
+
+		return accepted;
+	}
+}
@@ -0,0 +1,61 @@
+package finite_automata.Matchers;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classifies the range of the words, splitting it in halves until it is
+ * small enough. Every word writes its own element of the results, so the
+ * subtasks don't interfere.
+ */
+class ClassificationTask extends RecursiveAction
+{
+	/**
+	 * Count of the words, classified sequentially.
+	 */
+	private static final int MAX_LEAF_SIZE = 1 << 10;
+
+	private static final long serialVersionUID = 1L;
+
+	private final int from;
+
+	private final IMatcher matcher;
+
+	private final boolean[] results;
+
+	private final int to;
+
+	private final List<? extends CharSequence> words;
+
+	public ClassificationTask(IMatcher matcher,
+			List<? extends CharSequence> words, boolean[] results, int from,
+			int to)
+	{
+		this.matcher = matcher;
+		this.words = words;
+		this.results = results;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected void compute()
+	{
+		if (this.to - this.from <= ClassificationTask.MAX_LEAF_SIZE)
+		{
+			for (int i = this.from; i < this.to; i++)
+			{
+				this.results[i] = this.matcher.accepts(this.words.get(i));
+			}
+
+			return;
+		}
+
+		int middle = (this.from + this.to) >>> 1;
+
+		RecursiveAction.invokeAll(new ClassificationTask(this.matcher,
+				this.words, this.results, this.from, middle),
+				new ClassificationTask(this.matcher, this.words, this.results,
+						middle, this.to));
+	}
+}
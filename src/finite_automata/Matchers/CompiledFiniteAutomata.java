@@ -0,0 +1,228 @@
+package finite_automata.Matchers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+
+/**
+ * Deterministic finite automata, flattened into the dense transitions table
+ * of size statesCardinality * symbolsCount. Matching does not allocate, so
+ * the instance can be shared between threads.
+ */
+public class CompiledFiniteAutomata implements IMatcher
+{
+	private final int[] characterSymbols;
+
+	private final long[] finiteStates;
+
+	private final int initialState;
+
+	private final int statesCardinality;
+
+	private final int symbolsCount;
+
+	private final int[] table;
+
+	public CompiledFiniteAutomata(FiniteAutomataTable finiteAutomataTable)
+			throws FiniteAutomataIsNotDeterministicException
+	{
+		if (finiteAutomataTable == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomataTable.");
+		}
+
+		this.statesCardinality = finiteAutomataTable.getStatesCardinality();
+		this.symbolsCount = finiteAutomataTable.getSymbolsCount();
+		this.initialState = finiteAutomataTable.getInitialState();
+
+		int nonDeterministicCell = finiteAutomataTable
+				.findNonDeterministicCell();
+
+		if (nonDeterministicCell != -1)
+		{
+			throw new FiniteAutomataIsNotDeterministicException(
+					String.format(
+							"State: %1$d has several transitions by character: %2$s.",
+							nonDeterministicCell / this.symbolsCount,
+							finiteAutomataTable
+									.getSymbolCharacters(nonDeterministicCell
+											% this.symbolsCount)[0]));
+		}
+
+		int maxCharacter = -1;
+
+		for (int symbol = 0; symbol < this.symbolsCount; symbol++)
+		{
+			for (char character : finiteAutomataTable
+					.getSymbolCharacters(symbol))
+			{
+				maxCharacter = Math.max(maxCharacter, character);
+			}
+		}
+
+		this.characterSymbols = new int[maxCharacter + 1];
+
+		Arrays.fill(this.characterSymbols, -1);
+
+		for (int symbol = 0; symbol < this.symbolsCount; symbol++)
+		{
+			for (char character : finiteAutomataTable
+					.getSymbolCharacters(symbol))
+			{
+				this.characterSymbols[character] = symbol;
+			}
+		}
+
+		this.table = new int[this.statesCardinality * this.symbolsCount];
+
+		Arrays.fill(this.table, -1);
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			for (int symbol = 0; symbol < this.symbolsCount; symbol++)
+			{
+				int start = finiteAutomataTable.getTargetsStart(state, symbol);
+
+				if (start != finiteAutomataTable.getTargetsEnd(state, symbol))
+				{
+					this.table[state * this.symbolsCount + symbol] = finiteAutomataTable
+							.getTarget(start);
+				}
+			}
+		}
+
+		this.finiteStates = new long[(this.statesCardinality + 63) >>> 6];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			if (finiteAutomataTable.isFiniteState(state))
+			{
+				this.finiteStates[state >>> 6] |= 1L << state;
+			}
+		}
+	}
+
+	public CompiledFiniteAutomata(IFiniteAutomata finiteAutomata)
+			throws FiniteAutomataIsNotDeterministicException
+	{
+		this(new FiniteAutomataTable(finiteAutomata));
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (word == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: word.");
+		}
+
+		int state = this.initialState;
+
+		if (state < 0)
+		{
+			return false;
+		}
+
+		int[] characterSymbols = this.characterSymbols;
+		int[] table = this.table;
+		int symbolsCount = this.symbolsCount;
+
+		for (int i = 0, length = word.length(); i < length; i++)
+		{
+			char character = word.charAt(i);
+
+			if (character >= characterSymbols.length)
+			{
+				return false;
+			}
+
+			int symbol = characterSymbols[character];
+
+			if (symbol < 0)
+			{
+				return false;
+			}
+
+			state = table[state * symbolsCount + symbol];
+
+			if (state < 0)
+			{
+				return false;
+			}
+		}
+
+		return this.isFiniteState(state);
+	}
+
+	/**
+	 * Gets initial state or -1 if the automata has no states
+	 *
+	 * @return
+	 */
+	public int getInitialState()
+	{
+		return this.initialState;
+	}
+
+	/**
+	 * Gets cardinality of the states
+	 *
+	 * @return
+	 */
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	/**
+	 * Gets symbol of the character
+	 *
+	 * @param character
+	 * @return symbol or -1 if the character is not in the alphabet
+	 */
+	public int getSymbol(char character)
+	{
+		if (character >= this.characterSymbols.length)
+		{
+			return -1;
+		}
+
+		return this.characterSymbols[character];
+	}
+
+	/**
+	 * Gets count of the symbols (width of the transitions table)
+	 *
+	 * @return
+	 */
+	public int getSymbolsCount()
+	{
+		return this.symbolsCount;
+	}
+
+	/**
+	 * Gets target state of the transition from the state by the symbol
+	 *
+	 * @param state
+	 * @param symbol
+	 * @return target state or -1 if there is no such transition
+	 */
+	public int getTarget(int state, int symbol)
+	{
+		return this.table[state * this.symbolsCount + symbol];
+	}
+
+	/**
+	 * Checks whether the state is finite
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean isFiniteState(int state)
+	{
+		return (this.finiteStates[state >>> 6] & (1L << state)) != 0;
+	}
+}
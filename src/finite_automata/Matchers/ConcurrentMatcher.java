@@ -0,0 +1,122 @@
+package finite_automata.Matchers;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+
+/**
+ * Thread-safe matcher for any finite automata. Deterministic automata is
+ * compiled into the dense table, which is shared by all the threads;
+ * nondeterministic automata is matched by the lazy deterministic matcher,
+ * created per thread on the first match, since it reuses its buffers.
+ *
+ * The matcher of the new version of the automata may take over the per-thread
+ * slot of the previous one, so every thread keeps at most one lazy matcher for
+ * the whole chain of versions: the matcher of the stale version is dropped,
+ * when the thread matches against the new one. The thread, which matches
+ * against several versions in turn, recreates its lazy matcher every time.
+ */
+public class ConcurrentMatcher implements IMatcher
+{
+	/**
+	 * Memory budget of the lazy deterministic matcher of every thread.
+	 */
+	public static final long THREAD_MEMORY_BUDGET = 1L << 20;
+
+	private final CompiledFiniteAutomata compiledFiniteAutomata;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private final ThreadLocal<LazyDeterministicMatcher> lazyDeterministicMatchers;
+
+	public ConcurrentMatcher(FiniteAutomataTable finiteAutomataTable)
+	{
+		this(finiteAutomataTable, null);
+	}
+
+	/**
+	 * Creates the matcher, which takes over the per-thread matchers of the
+	 * previous one
+	 *
+	 * @param finiteAutomataTable
+	 * @param previousMatcher
+	 *            matcher of the previous version of the automata or null
+	 */
+	public ConcurrentMatcher(FiniteAutomataTable finiteAutomataTable,
+			ConcurrentMatcher previousMatcher)
+	{
+		if (finiteAutomataTable == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomataTable.");
+		}
+
+		if (finiteAutomataTable.findNonDeterministicCell() == -1)
+		{
+			try
+			{
+				this.compiledFiniteAutomata = new CompiledFiniteAutomata(
+						finiteAutomataTable);
+			}
+			catch (FiniteAutomataIsNotDeterministicException exception)
+			{
+				// Automata is checked to be deterministic, so this can't
+				// happen.
+				throw new IllegalStateException(exception);
+			}
+
+			this.finiteAutomataTable = null;
+		}
+		else
+		{
+			this.compiledFiniteAutomata = null;
+			this.finiteAutomataTable = finiteAutomataTable;
+		}
+
+		this.lazyDeterministicMatchers = (previousMatcher != null) ? previousMatcher.lazyDeterministicMatchers
+				: new ThreadLocal<LazyDeterministicMatcher>();
+	}
+
+	public ConcurrentMatcher(IFiniteAutomata finiteAutomata)
+	{
+		this(new FiniteAutomataTable(finiteAutomata));
+	}
+
+	/**
+	 * Creates the matcher, which takes over the per-thread matchers of the
+	 * previous one
+	 *
+	 * @param finiteAutomata
+	 * @param previousMatcher
+	 *            matcher of the previous version of the automata or null
+	 */
+	public ConcurrentMatcher(IFiniteAutomata finiteAutomata,
+			ConcurrentMatcher previousMatcher)
+	{
+		this(new FiniteAutomataTable(finiteAutomata), previousMatcher);
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (this.compiledFiniteAutomata != null)
+		{
+			return this.compiledFiniteAutomata.accepts(word);
+		}
+
+		LazyDeterministicMatcher lazyDeterministicMatcher = this.lazyDeterministicMatchers
+				.get();
+
+		if (lazyDeterministicMatcher == null
+				|| lazyDeterministicMatcher.getFiniteAutomataTable() != this.finiteAutomataTable)
+		{
+			lazyDeterministicMatcher = new LazyDeterministicMatcher(
+					this.finiteAutomataTable,
+					ConcurrentMatcher.THREAD_MEMORY_BUDGET);
+
+			this.lazyDeterministicMatchers.set(lazyDeterministicMatcher);
+		}
+
+		return lazyDeterministicMatcher.accepts(word);
+	}
+}
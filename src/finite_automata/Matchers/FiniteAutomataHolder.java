@@ -0,0 +1,135 @@
+package finite_automata.Matchers;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import finite_automata.CompactFiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.ImmutableFiniteAutomata;
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+/**
+ * Holds the immutable snapshot of the finite automata together with the
+ * thread-safe matcher for it. Readers match against the current snapshot
+ * without locking; writers edit the private copy of the snapshot and
+ * atomically swap in the new one (copy-on-write), so readers never observe
+ * the partially applied edit. Writers are serialized. Matchers of the
+ * snapshots share the per-thread slots, so the stale per-thread matchers are
+ * dropped, when the threads match against the new snapshot.
+ */
+public class FiniteAutomataHolder implements IMatcher
+{
+	private static class Snapshot
+	{
+		public final ImmutableFiniteAutomata finiteAutomata;
+
+		public final ConcurrentMatcher matcher;
+
+		public Snapshot(ImmutableFiniteAutomata finiteAutomata,
+				Snapshot previousSnapshot)
+		{
+			this.finiteAutomata = finiteAutomata;
+			this.matcher = new ConcurrentMatcher(finiteAutomata,
+					(previousSnapshot != null) ? previousSnapshot.matcher : null);
+		}
+	}
+
+	private final AtomicReference<Snapshot> snapshot;
+
+	public FiniteAutomataHolder(IFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		this.snapshot = new AtomicReference<Snapshot>(new Snapshot(
+				finiteAutomata.snapshot(), null));
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		return this.snapshot.get().matcher.accepts(word);
+	}
+
+	/**
+	 * Gets the current snapshot of the finite automata
+	 *
+	 * @return
+	 */
+	public ImmutableFiniteAutomata getFiniteAutomata()
+	{
+		return this.snapshot.get().finiteAutomata;
+	}
+
+	/**
+	 * Gets thread-safe matcher of the current snapshot. Unlike the holder
+	 * itself, the matcher keeps matching against the same snapshot after the
+	 * updates.
+	 *
+	 * @return
+	 */
+	public IMatcher getMatcher()
+	{
+		return this.snapshot.get().matcher;
+	}
+
+	/**
+	 * Replaces the finite automata
+	 *
+	 * @param finiteAutomata
+	 * @return the new snapshot
+	 */
+	public synchronized ImmutableFiniteAutomata set(
+			IFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		Snapshot snapshot = new Snapshot(finiteAutomata.snapshot(),
+				this.snapshot.get());
+
+		this.snapshot.set(snapshot);
+
+		return snapshot.finiteAutomata;
+	}
+
+	/**
+	 * Applies the edit to the copy of the current snapshot and publishes the
+	 * result. If the editor throws, the current snapshot is kept.
+	 *
+	 * @param editor
+	 * @return the new snapshot
+	 * @throws StateIsAlreadyFinalException
+	 * @throws TransitionAlreadyExistsException
+	 * @throws NonExistentTransitionException
+	 */
+	public synchronized ImmutableFiniteAutomata update(
+			IFiniteAutomataEditor editor) throws StateIsAlreadyFinalException,
+			TransitionAlreadyExistsException, NonExistentTransitionException
+	{
+		if (editor == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: editor.");
+		}
+
+		IFiniteAutomata finiteAutomata = new CompactFiniteAutomata(
+				this.snapshot.get().finiteAutomata);
+
+		editor.edit(finiteAutomata);
+
+		Snapshot snapshot = new Snapshot(finiteAutomata.snapshot(),
+				this.snapshot.get());
+
+		this.snapshot.set(snapshot);
+
+		return snapshot.finiteAutomata;
+	}
+}
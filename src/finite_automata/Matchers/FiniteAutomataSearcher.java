@@ -0,0 +1,758 @@
+package finite_automata.Matchers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Helpers.DeterminizationHelper;
+import finite_automata.Helpers.TrimHelper;
+import finite_automata.Primitives.LongIntHashMap;
+
+/**
+ * Searches the text for the substrings, which are nonempty words of the
+ * language of the automata. The text is scanned forward through the sliding
+ * window, which keeps only the characters, the pending matches may start
+ * at, so readers and files of any size are searched in the memory,
+ * proportional to the longest match (or the longest prefix of a match).
+ *
+ * In the all-matches mode the text is scanned by the unanchored
+ * deterministic automata (the automata with the initial state, looping by
+ * every character), which finds the ends of the matches in a single linear
+ * pass, and the starts are found by the automata of the reversed language,
+ * running backward from every end, so the time is linear in the length of
+ * the text plus the length of the backward scans. In the leftmost-longest
+ * mode the anchored automata runs forward from every position after the
+ * previous match; the pairs of the state and the position, visited after
+ * the last finite state of a scan, are remembered as failed, and the later
+ * scans stop on them (Reps' maximal munch), so the time is at most the
+ * length of the text times the count of the states of the automata, and
+ * linear for the typical patterns.
+ *
+ * All the automata are flattened into dense tables with the extra column for
+ * the characters out of the alphabet. The instance can be shared between
+ * threads; every thread reuses its own buffers of the text and of the
+ * failed pairs, which keep their size after the longest scan. Failed pairs
+ * take about 24 bytes per position, scanned after the last match of the
+ * scan, and they are dropped, when the later scans pass them.
+ */
+public class FiniteAutomataSearcher
+{
+	private static class DenseTable
+	{
+		public final boolean[] finiteStates;
+
+		public final int initialState;
+
+		public final int[] table;
+
+		public DenseTable(int[] table, boolean[] finiteStates,
+				int initialState)
+		{
+			this.table = table;
+			this.finiteStates = finiteStates;
+			this.initialState = initialState;
+		}
+	}
+
+	/**
+	 * Buffers of the search, reused by the thread.
+	 */
+	private static class SearchBuffers
+	{
+		public final LongIntHashMap failedPairs;
+
+		public int[] states;
+
+		public long[] starts;
+
+		public char[] text;
+
+		public SearchBuffers()
+		{
+			this.failedPairs = new LongIntHashMap();
+			this.states = new int[16];
+			this.starts = new long[16];
+			this.text = new char[FiniteAutomataSearcher.DEFAULT_BUFFER_SIZE];
+		}
+	}
+
+	/**
+	 * Default size of the buffer of the text.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Size of the window of the file, mapped at once.
+	 */
+	public static final long DEFAULT_WINDOW_SIZE = 1L << 26;
+
+	private final DenseTable anchoredTable;
+
+	private final int[] characterIndexes;
+
+	private final DenseTable reversedTable;
+
+	private final ThreadLocal<SearchBuffers> searchBuffers;
+
+	private final DenseTable unanchoredTable;
+
+	/**
+	 * Width of the rows of the tables: symbols of the automata and the
+	 * column for the other characters.
+	 */
+	private final int width;
+
+	public FiniteAutomataSearcher(IFiniteAutomata finiteAutomata)
+			throws StatesLimitExceededException
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		List<Character> alphabet = finiteAutomata.getAlphabet();
+
+		// Dead states would keep the unanchored automata away from its
+		// initial state, so the window of the text would never be dropped.
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				TrimHelper.trim(finiteAutomata));
+
+		this.searchBuffers = new ThreadLocal<SearchBuffers>()
+		{
+			@Override
+			protected SearchBuffers initialValue()
+			{
+				return new SearchBuffers();
+			}
+		};
+
+		char maxCharacter = 0;
+
+		for (Character character : alphabet)
+		{
+			maxCharacter = (char) Math.max(maxCharacter, character);
+		}
+
+		// Columns of the tables are the symbols of the automata (classes of
+		// the characters, which behave identically), so their count doesn't
+		// depend on the size of the alphabet.
+		this.width = finiteAutomataTable.getSymbolsCount() + 1;
+		this.characterIndexes = new int[maxCharacter + 1];
+
+		Arrays.fill(this.characterIndexes, this.width - 1);
+
+		for (Character character : alphabet)
+		{
+			this.characterIndexes[character] = finiteAutomataTable
+					.getSymbol(character);
+		}
+
+		if (finiteAutomataTable.getInitialState() < 0)
+		{
+			this.anchoredTable = null;
+			this.reversedTable = null;
+			this.unanchoredTable = null;
+
+			return;
+		}
+
+		this.anchoredTable = this.createDenseTable(
+				FiniteAutomataSearcher.createSearchAutomata(alphabet,
+						finiteAutomataTable, false, false),
+				finiteAutomataTable, false);
+		this.unanchoredTable = this.createDenseTable(
+				FiniteAutomataSearcher.createSearchAutomata(alphabet,
+						finiteAutomataTable, true, false),
+				finiteAutomataTable, true);
+		this.reversedTable = this.createDenseTable(
+				FiniteAutomataSearcher.createSearchAutomata(alphabet,
+						finiteAutomataTable, false, true),
+				finiteAutomataTable, false);
+	}
+
+	/**
+	 * Creates nondeterministic automata for the nonempty words of the
+	 * language: the new initial state copies the transitions of the initial
+	 * state, but it is not finite. The unanchored automata also loops in the
+	 * new initial state by every character; the reversed automata has all the
+	 * transitions reversed, copying the transitions to the finite states for
+	 * the new initial state, and has the original initial state as the only
+	 * finite one.
+	 *
+	 * @param alphabet
+	 * @param finiteAutomataTable
+	 * @param isUnanchored
+	 * @param isReversed
+	 * @return
+	 */
+	private static IFiniteAutomata createSearchAutomata(
+			List<Character> alphabet, FiniteAutomataTable finiteAutomataTable,
+			boolean isUnanchored, boolean isReversed)
+	{
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int initialState = finiteAutomataTable.getInitialState();
+		int newInitialState = statesCardinality;
+
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		finiteAutomataBuilder.setAlphabet(alphabet);
+		finiteAutomataBuilder.setStatesCardinality(statesCardinality + 1);
+		finiteAutomataBuilder.setInitialState(newInitialState);
+
+		// Transitions of the new initial state are collected as
+		// (character; target) pairs to drop the duplicates.
+		long[] initialTransitions = new long[16];
+		int initialTransitionsCount = 0;
+
+		try
+		{
+			for (int state = 0; state < statesCardinality; state++)
+			{
+				if (isReversed ? (state == initialState) : finiteAutomataTable
+						.isFiniteState(state))
+				{
+					finiteAutomataBuilder.addFiniteState(state);
+				}
+
+				for (int symbol = 0, symbolsCount = finiteAutomataTable
+						.getSymbolsCount(); symbol < symbolsCount; symbol++)
+				{
+					for (int i = finiteAutomataTable.getTargetsStart(state,
+							symbol), end = finiteAutomataTable.getTargetsEnd(
+							state, symbol); i < end; i++)
+					{
+						int target = finiteAutomataTable.getTarget(i);
+
+						for (char character : finiteAutomataTable
+								.getSymbolCharacters(symbol))
+						{
+							if (isReversed)
+							{
+								finiteAutomataBuilder.addTransition(target,
+										character, state);
+							}
+							else
+							{
+								finiteAutomataBuilder.addTransition(state,
+										character, target);
+							}
+
+							if (isReversed ? finiteAutomataTable
+									.isFiniteState(target)
+									: (state == initialState))
+							{
+								if (initialTransitionsCount == initialTransitions.length)
+								{
+									initialTransitions = Arrays.copyOf(
+											initialTransitions,
+											initialTransitionsCount * 2);
+								}
+
+								initialTransitions[initialTransitionsCount++] = ((long) character << 32)
+										| (isReversed ? state : target);
+							}
+						}
+					}
+				}
+			}
+
+			Arrays.sort(initialTransitions, 0, initialTransitionsCount);
+
+			for (int i = 0; i < initialTransitionsCount; i++)
+			{
+				if (i == 0 || initialTransitions[i] != initialTransitions[i - 1])
+				{
+					finiteAutomataBuilder.addTransition(newInitialState,
+							(char) (initialTransitions[i] >>> 32),
+							(int) initialTransitions[i]);
+				}
+			}
+
+			if (isUnanchored)
+			{
+				for (Character character : alphabet)
+				{
+					finiteAutomataBuilder.addTransition(newInitialState,
+							character, newInitialState);
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Transitions are distinct and valid, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	private DenseTable createDenseTable(IFiniteAutomata finiteAutomata,
+			FiniteAutomataTable finiteAutomataTable, boolean isUnanchored)
+			throws StatesLimitExceededException
+	{
+		CompiledFiniteAutomata compiledFiniteAutomata;
+
+		try
+		{
+			compiledFiniteAutomata = new CompiledFiniteAutomata(
+					DeterminizationHelper.determinize(finiteAutomata));
+		}
+		catch (StatesLimitExceededException exception)
+		{
+			throw exception;
+		}
+		catch (Exception exception)
+		{
+			// Determinized automata is deterministic, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+
+		int statesCardinality = compiledFiniteAutomata.getStatesCardinality();
+		int initialState = compiledFiniteAutomata.getInitialState();
+
+		int[] table = new int[statesCardinality * this.width];
+		boolean[] finiteStates = new boolean[statesCardinality];
+
+		int symbolsCount = this.width - 1;
+
+		// Search automata doesn't split the symbols of the original one, so
+		// any character of the symbol represents it.
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			for (int i = 0; i < symbolsCount; i++)
+			{
+				int symbol = compiledFiniteAutomata
+						.getSymbol(finiteAutomataTable.getSymbolCharacters(i)[0]);
+
+				table[state * this.width + i] = (symbol == -1) ? -1
+						: compiledFiniteAutomata.getTarget(state, symbol);
+			}
+
+			// The unanchored automata starts over on the other characters.
+			table[state * this.width + symbolsCount] = isUnanchored ? initialState
+					: -1;
+
+			finiteStates[state] = compiledFiniteAutomata.isFiniteState(state);
+		}
+
+		return new DenseTable(table, finiteStates, initialState);
+	}
+
+	private int getIndex(char character)
+	{
+		return (character < this.characterIndexes.length) ? this.characterIndexes[character]
+				: this.width - 1;
+	}
+
+
+	/**
+	 * Puts the buffers back to the thread, keeping the grown buffer of the
+	 * text
+	 *
+	 * @param searchBuffers
+	 * @param searchText
+	 */
+	private void putSearchBuffers(SearchBuffers searchBuffers,
+			SearchText searchText)
+	{
+		searchBuffers.text = searchText.getBuffer();
+
+		this.searchBuffers.set(searchBuffers);
+	}
+
+	/**
+	 * Searches the text for the matches
+	 *
+	 * @param text
+	 * @param mode
+	 * @return
+	 */
+	public List<Match> search(CharSequence text, SearchMode mode)
+	{
+		final List<Match> matches = new ArrayList<Match>();
+
+		this.search(text, mode, new IMatchSink()
+		{
+			@Override
+			public boolean accept(long start, long end)
+			{
+				// Positions of the character sequence fit into int.
+				matches.add(new Match((int) start, (int) end));
+
+				return true;
+			}
+		});
+
+		return matches;
+	}
+
+	/**
+	 * Searches the text for the matches, passing them to the sink
+	 *
+	 * @param text
+	 * @param mode
+	 * @param matchSink
+	 * @return count of the accepted matches
+	 */
+	public long search(CharSequence text, SearchMode mode, IMatchSink matchSink)
+	{
+		if (text == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: text.");
+		}
+
+		SearchBuffers searchBuffers = this.takeSearchBuffers();
+		SearchText searchText = new SearchText.CharSequenceText(text,
+				searchBuffers.text);
+
+		try
+		{
+			return this.search(searchText, mode, matchSink, searchBuffers);
+		}
+		catch (IOException exception)
+		{
+			// Character sequence is in memory, so this can't happen.
+			throw new IllegalStateException(exception);
+		}
+		finally
+		{
+			this.putSearchBuffers(searchBuffers, searchText);
+		}
+	}
+
+	/**
+	 * Searches the file of single-byte characters (ASCII or ISO-8859-1) for
+	 * the matches, passing them to the sink. Positions of the matches are the
+	 * offsets in bytes. The file is mapped into memory window by window with
+	 * the default size of the window.
+	 *
+	 * @param path
+	 * @param mode
+	 * @param matchSink
+	 * @return count of the accepted matches
+	 * @throws IOException
+	 */
+	public long search(Path path, SearchMode mode, IMatchSink matchSink)
+			throws IOException
+	{
+		return this.search(path, mode, matchSink,
+				FiniteAutomataSearcher.DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * Searches the file of single-byte characters (ASCII or ISO-8859-1) for
+	 * the matches, passing them to the sink. Positions of the matches are the
+	 * offsets in bytes. The file is mapped into memory window by window, so
+	 * it may be larger than 2 GB.
+	 *
+	 * @param path
+	 * @param mode
+	 * @param matchSink
+	 * @param windowSize
+	 *            size of the window of the file, mapped at once
+	 * @return count of the accepted matches
+	 * @throws IOException
+	 */
+	public long search(Path path, SearchMode mode, IMatchSink matchSink,
+			long windowSize) throws IOException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		if (windowSize <= 0 || windowSize > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be in range (0; Integer.MAX_VALUE]: windowSize.");
+		}
+
+		try (FileChannel fileChannel = FileChannel.open(path,
+				StandardOpenOption.READ))
+		{
+			SearchBuffers searchBuffers = this.takeSearchBuffers();
+			SearchText searchText = new SearchText.MappedFileText(
+					fileChannel, windowSize, searchBuffers.text);
+
+			try
+			{
+				return this.search(searchText, mode, matchSink, searchBuffers);
+			}
+			finally
+			{
+				this.putSearchBuffers(searchBuffers, searchText);
+			}
+		}
+	}
+
+	/**
+	 * Searches the text of the reader for the matches, passing them to the
+	 * sink. The text is read chunk by chunk.
+	 *
+	 * @param reader
+	 * @param mode
+	 * @param matchSink
+	 * @return count of the accepted matches
+	 * @throws IOException
+	 */
+	public long search(Reader reader, SearchMode mode, IMatchSink matchSink)
+			throws IOException
+	{
+		if (reader == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: reader.");
+		}
+
+		SearchBuffers searchBuffers = this.takeSearchBuffers();
+		SearchText searchText = new SearchText.ReaderText(reader,
+				searchBuffers.text);
+
+		try
+		{
+			return this.search(searchText, mode, matchSink, searchBuffers);
+		}
+		finally
+		{
+			this.putSearchBuffers(searchBuffers, searchText);
+		}
+	}
+
+	private long search(SearchText text, SearchMode mode,
+			IMatchSink matchSink, SearchBuffers searchBuffers)
+			throws IOException
+	{
+		if (mode == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: mode.");
+		}
+
+		if (matchSink == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: matchSink.");
+		}
+
+		if (this.unanchoredTable == null)
+		{
+			return 0;
+		}
+
+		return (mode == SearchMode.ALL) ? this.searchAll(text, matchSink,
+				searchBuffers) : this.searchLeftmostLongest(text, matchSink,
+				searchBuffers);
+	}
+
+	private long searchAll(SearchText text, IMatchSink matchSink,
+			SearchBuffers searchBuffers) throws IOException
+	{
+		int[] table = this.unanchoredTable.table;
+		boolean[] finiteStates = this.unanchoredTable.finiteStates;
+		int initialState = this.unanchoredTable.initialState;
+		int[] reversedTable = this.reversedTable.table;
+		boolean[] reversedFiniteStates = this.reversedTable.finiteStates;
+
+		long count = 0;
+
+		int state = initialState;
+
+		for (long end = 1; text.load(end - 1); end++)
+		{
+			state = table[state * this.width
+					+ this.getIndex(text.charAt(end - 1))];
+
+			// No match is in progress, so the next matches start after the
+			// end.
+			if (state == initialState)
+			{
+				text.retain(end);
+
+				continue;
+			}
+
+			if (!finiteStates[state])
+			{
+				continue;
+			}
+
+			int startsCount = 0;
+			int reversedState = this.reversedTable.initialState;
+
+			for (long i = end - 1, retainedPosition = text
+					.getRetainedPosition(); i >= retainedPosition; i--)
+			{
+				reversedState = reversedTable[reversedState * this.width
+						+ this.getIndex(text.charAt(i))];
+
+				if (reversedState == -1)
+				{
+					break;
+				}
+
+				if (reversedFiniteStates[reversedState])
+				{
+					if (startsCount == searchBuffers.starts.length)
+					{
+						searchBuffers.starts = Arrays.copyOf(
+								searchBuffers.starts, startsCount * 2);
+					}
+
+					searchBuffers.starts[startsCount++] = i;
+				}
+			}
+
+			for (int i = startsCount - 1; i >= 0; i--)
+			{
+				count++;
+
+				if (!matchSink.accept(searchBuffers.starts[i], end))
+				{
+					return count;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds the leftmost-longest matches: the anchored automata runs from
+	 * every position after the previous match, until it dies, the text ends
+	 * or the failed pair of the state and the position is reached. The pairs
+	 * after the last finite state of the scan can't lead to the finite states,
+	 * so they are remembered as failed; every pair fails at most once, so the
+	 * scans take at most the length of the text times the count of the
+	 * states. Failed pairs are dropped, when the scans pass them.
+	 *
+	 * @param text
+	 * @param matchSink
+	 * @param searchBuffers
+	 * @return count of the accepted matches
+	 * @throws IOException
+	 */
+	private long searchLeftmostLongest(SearchText text, IMatchSink matchSink,
+			SearchBuffers searchBuffers) throws IOException
+	{
+		int[] table = this.anchoredTable.table;
+		boolean[] finiteStates = this.anchoredTable.finiteStates;
+		int initialState = this.anchoredTable.initialState;
+
+		// Pair of the state and the position is keyed by
+		// position * statesCardinality + state.
+		long statesCardinality = finiteStates.length;
+
+		LongIntHashMap failedPairs = searchBuffers.failedPairs;
+		long lastFailedPosition = -1;
+		long count = 0;
+
+		failedPairs.clear();
+
+		for (long start = 0; text.load(start);)
+		{
+			text.retain(start);
+
+			// Scans visit the positions after the start only.
+			if (start >= lastFailedPosition && failedPairs.size() > 0)
+			{
+				failedPairs.clear();
+			}
+
+			int state = initialState;
+			long position = start;
+			long end = -1;
+
+			// States after the last finite one.
+			int statesCount = 0;
+
+			while (text.load(position))
+			{
+				state = table[state * this.width
+						+ this.getIndex(text.charAt(position))];
+
+				if (state == -1)
+				{
+					break;
+				}
+
+				position++;
+
+				if (finiteStates[state])
+				{
+					end = position;
+					statesCount = 0;
+
+					continue;
+				}
+
+				if (failedPairs.size() > 0
+						&& failedPairs.containsKey(position
+								* statesCardinality + state))
+				{
+					break;
+				}
+
+				if (statesCount == searchBuffers.states.length)
+				{
+					searchBuffers.states = Arrays.copyOf(searchBuffers.states,
+							statesCount * 2);
+				}
+
+				searchBuffers.states[statesCount++] = state;
+			}
+
+			long failedStart = (end == -1) ? start : end;
+
+			for (int i = 0; i < statesCount; i++)
+			{
+				failedPairs.put((failedStart + 1 + i) * statesCardinality
+						+ searchBuffers.states[i], 0);
+			}
+
+			lastFailedPosition = Math.max(lastFailedPosition, failedStart
+					+ statesCount);
+
+			if (end == -1)
+			{
+				start++;
+
+				continue;
+			}
+
+			count++;
+
+			if (!matchSink.accept(start, end))
+			{
+				return count;
+			}
+
+			start = end;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Takes the buffers of the thread. The sink may start the nested search,
+	 * which gets the new buffers meanwhile.
+	 *
+	 * @return
+	 */
+	private SearchBuffers takeSearchBuffers()
+	{
+		SearchBuffers searchBuffers = this.searchBuffers.get();
+
+		this.searchBuffers.remove();
+
+		return searchBuffers;
+	}
+}
@@ -0,0 +1,21 @@
+package finite_automata.Matchers;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+public interface IFiniteAutomataEditor
+{
+	/**
+	 * Edits the private copy of the finite automata
+	 *
+	 * @param finiteAutomata
+	 * @throws StateIsAlreadyFinalException
+	 * @throws TransitionAlreadyExistsException
+	 * @throws NonExistentTransitionException
+	 */
+	void edit(IFiniteAutomata finiteAutomata)
+			throws StateIsAlreadyFinalException,
+			TransitionAlreadyExistsException, NonExistentTransitionException;
+}
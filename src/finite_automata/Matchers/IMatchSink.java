@@ -0,0 +1,15 @@
+package finite_automata.Matchers;
+
+public interface IMatchSink
+{
+	/**
+	 * Accepts the match
+	 *
+	 * @param start
+	 *            position of the first character of the match
+	 * @param end
+	 *            position after the last character of the match
+	 * @return false to stop the search
+	 */
+	boolean accept(long start, long end);
+}
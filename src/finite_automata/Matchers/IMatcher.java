@@ -0,0 +1,12 @@
+package finite_automata.Matchers;
+
+public interface IMatcher
+{
+	/**
+	 * Checks whether the word is accepted by the automata
+	 *
+	 * @param word
+	 * @return
+	 */
+	boolean accepts(CharSequence word);
+}
@@ -0,0 +1,384 @@
+package finite_automata.Matchers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+
+/**
+ * Determinizes the finite automata on demand while matching. Discovered
+ * deterministic states (sets of the original states) and their transitions
+ * are cached within the fixed memory budget. The cache starts small and grows
+ * on demand up to the budget. When the budget is exhausted the whole cache is
+ * flushed; if flushes happen too often, the current match
+ * falls back to the simulation of the nondeterministic automata.
+ *
+ * The instance reuses its buffers and is not thread-safe.
+ */
+public class LazyDeterministicMatcher implements IMatcher
+{
+	private static class StatesKey
+	{
+		private final int hashCode;
+
+		private final long[] states;
+
+		public StatesKey(long[] states)
+		{
+			this.states = states;
+			this.hashCode = Arrays.hashCode(states);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+			{
+				return true;
+			}
+
+			if (obj == null || this.getClass() != obj.getClass())
+			{
+				return false;
+			}
+
+			StatesKey other = (StatesKey) obj;
+
+			return this.hashCode == other.hashCode
+					&& Arrays.equals(this.states, other.states);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return this.hashCode;
+		}
+	}
+
+	public static final long DEFAULT_MEMORY_BUDGET = 8L << 20;
+
+	/**
+	 * Minimum average count of the characters, processed per cached state
+	 * between two flushes. Below it the cache is considered thrashing.
+	 */
+	public static final int MIN_CHARACTERS_PER_STATE = 10;
+
+	private static final int DEAD_STATE = -1;
+
+	/**
+	 * Estimated memory, used by the cached state besides its transitions
+	 * and states set: key object, hash table entry and array headers.
+	 */
+	private static final int STATE_OVERHEAD_BYTES = 96;
+
+	private static final int UNKNOWN_STATE = -2;
+
+	private final Map<StatesKey, Integer> cache;
+
+	private long[][] cachedStates;
+
+	private int cachedStatesCount;
+
+	private long charactersSinceFlush;
+
+	private long fallbacksCount;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private boolean[] finiteStates;
+
+	private long flushesCount;
+
+	private long hitsCount;
+
+	private int initialState;
+
+	private final int maxCachedStatesCount;
+
+	private long missesCount;
+
+	private final NonDeterministicMatcher nonDeterministicMatcher;
+
+	private final long[] nextStates;
+
+	private final int symbolsCount;
+
+	private int[] transitions;
+
+	public LazyDeterministicMatcher(FiniteAutomataTable finiteAutomataTable)
+	{
+		this(finiteAutomataTable, LazyDeterministicMatcher.DEFAULT_MEMORY_BUDGET);
+	}
+
+	public LazyDeterministicMatcher(FiniteAutomataTable finiteAutomataTable,
+			long memoryBudget)
+	{
+		if (finiteAutomataTable == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomataTable.");
+		}
+
+		this.finiteAutomataTable = finiteAutomataTable;
+		this.nonDeterministicMatcher = new NonDeterministicMatcher(
+				finiteAutomataTable);
+		this.symbolsCount = finiteAutomataTable.getSymbolsCount();
+
+		long stateBytes = 4L * this.symbolsCount + 8L
+				* this.nonDeterministicMatcher.getWordsCount()
+				+ LazyDeterministicMatcher.STATE_OVERHEAD_BYTES;
+
+		long maxCachedStatesCount = Math.min(memoryBudget / stateBytes,
+				Integer.MAX_VALUE / Math.max(this.symbolsCount, 1));
+
+		if (maxCachedStatesCount < 2)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Memory budget: %1$d is too small, at least %2$d required.",
+					memoryBudget, 2 * stateBytes));
+		}
+
+		this.maxCachedStatesCount = (int) maxCachedStatesCount;
+
+		int capacity = Math.min(16, this.maxCachedStatesCount);
+
+		this.cache = new HashMap<StatesKey, Integer>();
+		this.cachedStates = new long[capacity][];
+		this.finiteStates = new boolean[capacity];
+		this.transitions = new int[capacity * this.symbolsCount];
+		this.nextStates = new long[this.nonDeterministicMatcher
+				.getWordsCount()];
+
+		this.flush();
+	}
+
+	public LazyDeterministicMatcher(IFiniteAutomata finiteAutomata)
+	{
+		this(new FiniteAutomataTable(finiteAutomata));
+	}
+
+	public LazyDeterministicMatcher(IFiniteAutomata finiteAutomata,
+			long memoryBudget)
+	{
+		this(new FiniteAutomataTable(finiteAutomata), memoryBudget);
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (word == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: word.");
+		}
+
+		int state = this.initialState;
+
+		if (state < 0)
+		{
+			return false;
+		}
+
+		for (int i = 0, length = word.length(); i < length; i++)
+		{
+			int symbol = this.finiteAutomataTable.getSymbol(word.charAt(i));
+
+			if (symbol < 0)
+			{
+				return false;
+			}
+
+			this.charactersSinceFlush++;
+
+			int nextState = this.transitions[state * this.symbolsCount
+					+ symbol];
+
+			if (nextState >= 0)
+			{
+				this.hitsCount++;
+
+				state = nextState;
+
+				continue;
+			}
+
+			if (nextState == LazyDeterministicMatcher.DEAD_STATE)
+			{
+				this.hitsCount++;
+
+				return false;
+			}
+
+			this.missesCount++;
+
+			if (!this.nonDeterministicMatcher.step(this.cachedStates[state],
+					symbol, this.nextStates))
+			{
+				this.transitions[state * this.symbolsCount + symbol] = LazyDeterministicMatcher.DEAD_STATE;
+
+				return false;
+			}
+
+			Integer cachedState = this.cache.get(new StatesKey(this.nextStates));
+
+			if (cachedState != null)
+			{
+				nextState = cachedState;
+			}
+			else
+			{
+				if (this.cachedStatesCount == this.maxCachedStatesCount)
+				{
+					boolean isThrashing = this.charactersSinceFlush < (long) LazyDeterministicMatcher.MIN_CHARACTERS_PER_STATE
+							* this.maxCachedStatesCount;
+
+					this.flush();
+
+					if (isThrashing)
+					{
+						this.fallbacksCount++;
+
+						return this.nonDeterministicMatcher.accepts(word, i + 1,
+								this.nextStates.clone());
+					}
+
+					// The current state is gone, so the transition into the
+					// new one is not recorded.
+					state = this.addState(this.nextStates.clone());
+
+					continue;
+				}
+
+				nextState = this.addState(this.nextStates.clone());
+			}
+
+			this.transitions[state * this.symbolsCount + symbol] = nextState;
+
+			state = nextState;
+		}
+
+		return this.finiteStates[state];
+	}
+
+	private int addState(long[] states)
+	{
+		int state = this.cachedStatesCount++;
+
+		if (state == this.cachedStates.length)
+		{
+			int capacity = (int) Math.min(2L * state,
+					this.maxCachedStatesCount);
+
+			this.cachedStates = Arrays.copyOf(this.cachedStates, capacity);
+			this.finiteStates = Arrays.copyOf(this.finiteStates, capacity);
+			this.transitions = Arrays.copyOf(this.transitions, capacity
+					* this.symbolsCount);
+		}
+
+		this.cache.put(new StatesKey(states), state);
+		this.cachedStates[state] = states;
+		this.finiteStates[state] = this.nonDeterministicMatcher
+				.containsFiniteState(states);
+
+		Arrays.fill(this.transitions, state * this.symbolsCount, (state + 1)
+				* this.symbolsCount, LazyDeterministicMatcher.UNKNOWN_STATE);
+
+		return state;
+	}
+
+	private void flush()
+	{
+		if (this.cachedStatesCount > 0)
+		{
+			this.flushesCount++;
+		}
+
+		this.cache.clear();
+
+		Arrays.fill(this.cachedStates, 0, this.cachedStatesCount, null);
+
+		this.cachedStatesCount = 0;
+		this.charactersSinceFlush = 0;
+
+		long[] initialStates = new long[this.nonDeterministicMatcher
+				.getWordsCount()];
+
+		this.initialState = this.nonDeterministicMatcher
+				.setInitialStates(initialStates) ? this.addState(initialStates)
+				: -1;
+	}
+
+	/**
+	 * Gets count of the cached deterministic states
+	 *
+	 * @return
+	 */
+	public int getCachedStatesCount()
+	{
+		return this.cachedStatesCount;
+	}
+
+	/**
+	 * Gets count of the matches, finished by simulation of the
+	 * nondeterministic automata because of the cache thrashing
+	 *
+	 * @return
+	 */
+	public long getFallbacksCount()
+	{
+		return this.fallbacksCount;
+	}
+
+	/**
+	 * Gets the finite automata table, matched by the matcher
+	 *
+	 * @return
+	 */
+	public FiniteAutomataTable getFiniteAutomataTable()
+	{
+		return this.finiteAutomataTable;
+	}
+
+	/**
+	 * Gets count of the cache flushes
+	 *
+	 * @return
+	 */
+	public long getFlushesCount()
+	{
+		return this.flushesCount;
+	}
+
+	/**
+	 * Gets count of the transitions, found in the cache
+	 *
+	 * @return
+	 */
+	public long getHitsCount()
+	{
+		return this.hitsCount;
+	}
+
+	/**
+	 * Gets maximum count of the cached deterministic states, allowed by the
+	 * memory budget
+	 *
+	 * @return
+	 */
+	public int getMaxCachedStatesCount()
+	{
+		return this.maxCachedStatesCount;
+	}
+
+	/**
+	 * Gets count of the transitions, computed because they were not found in
+	 * the cache
+	 *
+	 * @return
+	 */
+	public long getMissesCount()
+	{
+		return this.missesCount;
+	}
+}
@@ -0,0 +1,129 @@
+package finite_automata.Matchers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import finite_automata.MappedFiniteAutomata;
+
+/**
+ * Matches the words directly against the memory-mapped finite automata,
+ * without copying its transitions into the heap. The set of the active
+ * states is kept as the list, and the transitions of every active state by
+ * the character are found by binary search over its sorted labels, so
+ * deterministic automata takes one search per character, and
+ * nondeterministic one is simulated without determinization.
+ *
+ * The instance reuses its state buffers and is not thread-safe.
+ */
+public class MappedMatcher implements IMatcher
+{
+	private int[] activeStates;
+
+	private final MappedFiniteAutomata finiteAutomata;
+
+	private int[] nextStates;
+
+	/**
+	 * Marks of the next states; only the set bits are cleared, so the bitset
+	 * takes the memory only for the visited states.
+	 */
+	private final BitSet nextStatesMarks;
+
+	public MappedMatcher(MappedFiniteAutomata finiteAutomata)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		this.finiteAutomata = finiteAutomata;
+		this.activeStates = new int[16];
+		this.nextStates = new int[16];
+		this.nextStatesMarks = new BitSet();
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (word == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: word.");
+		}
+
+		int initialState = this.finiteAutomata.getInitialState();
+
+		if (initialState < 0
+				|| initialState >= this.finiteAutomata.getStatesCardinality())
+		{
+			return false;
+		}
+
+		this.activeStates[0] = initialState;
+
+		int activeStatesCount = 1;
+
+		for (int i = 0, length = word.length(); i < length; i++)
+		{
+			char character = word.charAt(i);
+			int nextStatesCount = 0;
+
+			for (int j = 0; j < activeStatesCount; j++)
+			{
+				int state = this.activeStates[j];
+
+				for (int position = this.finiteAutomata.findTransitionsStart(
+						state, character), end = this.finiteAutomata
+						.getTransitionsEnd(state); position < end
+						&& this.finiteAutomata
+								.getTransitionCharacter(position) == character; position++)
+				{
+					int target = this.finiteAutomata
+							.getTransitionTarget(position);
+
+					if (this.nextStatesMarks.get(target))
+					{
+						continue;
+					}
+
+					this.nextStatesMarks.set(target);
+
+					if (nextStatesCount == this.nextStates.length)
+					{
+						this.nextStates = Arrays.copyOf(this.nextStates,
+								nextStatesCount * 2);
+					}
+
+					this.nextStates[nextStatesCount++] = target;
+				}
+			}
+
+			for (int j = 0; j < nextStatesCount; j++)
+			{
+				this.nextStatesMarks.clear(this.nextStates[j]);
+			}
+
+			if (nextStatesCount == 0)
+			{
+				return false;
+			}
+
+			int[] states = this.activeStates;
+
+			this.activeStates = this.nextStates;
+			this.nextStates = states;
+
+			activeStatesCount = nextStatesCount;
+		}
+
+		for (int j = 0; j < activeStatesCount; j++)
+		{
+			if (this.finiteAutomata.isFiniteState(this.activeStates[j]))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
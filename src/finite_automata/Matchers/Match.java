@@ -0,0 +1,76 @@
+package finite_automata.Matchers;
+
+public class Match
+{
+	private final int end;
+
+	private final int start;
+
+	public Match(int start, int end)
+	{
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+
+		if (obj == null)
+		{
+			return false;
+		}
+
+		if (this.getClass() != obj.getClass())
+		{
+			return false;
+		}
+
+		Match other = (Match) obj;
+
+		return this.start == other.start && this.end == other.end;
+	}
+
+	/**
+	 * Gets index after the last character of the match
+	 *
+	 * @return
+	 */
+	public int getEnd()
+	{
+		return this.end;
+	}
+
+	/**
+	 * Gets index of the first character of the match
+	 *
+	 * @return
+	 */
+	public int getStart()
+	{
+		return this.start;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+
+		int result = 1;
+
+		result = prime * result + this.start;
+		result = prime * result + this.end;
+
+		return result;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("[%1$d; %2$d)", this.start, this.end);
+	}
+}
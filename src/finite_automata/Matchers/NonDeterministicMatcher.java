@@ -0,0 +1,266 @@
+package finite_automata.Matchers;
+
+import java.util.Arrays;
+
+import finite_automata.FiniteAutomataTable;
+import finite_automata.IFiniteAutomata;
+
+/**
+ * Simulates the (possibly nondeterministic) finite automata without building
+ * the deterministic one. The set of the active states is kept in the bitset,
+ * which is advanced by OR-ing precomputed successor bitsets of the (state;
+ * symbol) cells. Successor bitsets are stored clipped to the words they
+ * actually occupy, so sparse automata stay cheap.
+ *
+ * The instance reuses its state buffers and is not thread-safe.
+ */
+public class NonDeterministicMatcher implements IMatcher
+{
+	private long[] activeStates;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private final long[] finiteStates;
+
+	private long[] nextStates;
+
+	private final int statesCardinality;
+
+	private final int[] successorFirstWords;
+
+	private final long[][] successorWords;
+
+	private final int symbolsCount;
+
+	private final int wordsCount;
+
+	public NonDeterministicMatcher(FiniteAutomataTable finiteAutomataTable)
+	{
+		if (finiteAutomataTable == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomataTable.");
+		}
+
+		this.finiteAutomataTable = finiteAutomataTable;
+		this.statesCardinality = finiteAutomataTable.getStatesCardinality();
+		this.symbolsCount = finiteAutomataTable.getSymbolsCount();
+		this.wordsCount = (this.statesCardinality + 63) >>> 6;
+
+		int cellsCount = this.statesCardinality * this.symbolsCount;
+
+		this.successorFirstWords = new int[cellsCount];
+		this.successorWords = new long[cellsCount][];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			for (int symbol = 0; symbol < this.symbolsCount; symbol++)
+			{
+				int start = finiteAutomataTable.getTargetsStart(state, symbol);
+				int end = finiteAutomataTable.getTargetsEnd(state, symbol);
+
+				if (start == end)
+				{
+					continue;
+				}
+
+				// Targets are sorted, so the first and the last ones bound
+				// the occupied words.
+				int firstWord = finiteAutomataTable.getTarget(start) >>> 6;
+				int lastWord = finiteAutomataTable.getTarget(end - 1) >>> 6;
+
+				long[] words = new long[lastWord - firstWord + 1];
+
+				for (int i = start; i < end; i++)
+				{
+					int target = finiteAutomataTable.getTarget(i);
+
+					words[(target >>> 6) - firstWord] |= 1L << target;
+				}
+
+				int cell = state * this.symbolsCount + symbol;
+
+				this.successorFirstWords[cell] = firstWord;
+				this.successorWords[cell] = words;
+			}
+		}
+
+		this.finiteStates = new long[this.wordsCount];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			if (finiteAutomataTable.isFiniteState(state))
+			{
+				this.finiteStates[state >>> 6] |= 1L << state;
+			}
+		}
+
+		this.activeStates = new long[this.wordsCount];
+		this.nextStates = new long[this.wordsCount];
+	}
+
+	public NonDeterministicMatcher(IFiniteAutomata finiteAutomata)
+	{
+		this(new FiniteAutomataTable(finiteAutomata));
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (word == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: word.");
+		}
+
+		if (!this.setInitialStates(this.activeStates))
+		{
+			return false;
+		}
+
+		return this.accepts(word, 0, this.activeStates);
+	}
+
+	/**
+	 * Continues simulation from the given states set. The set is used as the
+	 * working buffer and is modified.
+	 *
+	 * @param word
+	 * @param from
+	 *            index of the first character to process
+	 * @param states
+	 * @return
+	 */
+	boolean accepts(CharSequence word, int from, long[] states)
+	{
+		long[] activeStates = states;
+		long[] nextStates = (states == this.nextStates) ? this.activeStates
+				: this.nextStates;
+
+		for (int i = from, length = word.length(); i < length; i++)
+		{
+			int symbol = this.finiteAutomataTable.getSymbol(word.charAt(i));
+
+			if (symbol < 0 || !this.step(activeStates, symbol, nextStates))
+			{
+				return false;
+			}
+
+			long[] swap = activeStates;
+
+			activeStates = nextStates;
+			nextStates = swap;
+		}
+
+		return this.containsFiniteState(activeStates);
+	}
+
+	/**
+	 * Checks whether the states set contains at least one finite state
+	 *
+	 * @param states
+	 * @return
+	 */
+	boolean containsFiniteState(long[] states)
+	{
+		for (int i = 0; i < this.wordsCount; i++)
+		{
+			if ((states[i] & this.finiteStates[i]) != 0)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets the indexed automata, simulated by the matcher
+	 *
+	 * @return
+	 */
+	FiniteAutomataTable getFiniteAutomataTable()
+	{
+		return this.finiteAutomataTable;
+	}
+
+	/**
+	 * Gets count of the longs in the states set
+	 *
+	 * @return
+	 */
+	int getWordsCount()
+	{
+		return this.wordsCount;
+	}
+
+	/**
+	 * Sets the states set to contain the initial state only
+	 *
+	 * @param states
+	 * @return false if the automata has no states
+	 */
+	boolean setInitialStates(long[] states)
+	{
+		Arrays.fill(states, 0L);
+
+		int initialState = this.finiteAutomataTable.getInitialState();
+
+		if (initialState < 0)
+		{
+			return false;
+		}
+
+		states[initialState >>> 6] |= 1L << initialState;
+
+		return true;
+	}
+
+	/**
+	 * Computes the set of the states, reachable from the states set by the
+	 * symbol
+	 *
+	 * @param states
+	 * @param symbol
+	 * @param nextStates
+	 *            receives the result, must not be the same array as states
+	 * @return false if the result is empty
+	 */
+	boolean step(long[] states, int symbol, long[] nextStates)
+	{
+		Arrays.fill(nextStates, 0L);
+
+		boolean isEmpty = true;
+
+		for (int i = 0; i < this.wordsCount; i++)
+		{
+			long word = states[i];
+
+			while (word != 0)
+			{
+				int state = (i << 6) + Long.numberOfTrailingZeros(word);
+
+				word &= word - 1;
+
+				int cell = state * this.symbolsCount + symbol;
+
+				long[] successors = this.successorWords[cell];
+
+				if (successors == null)
+				{
+					continue;
+				}
+
+				int firstWord = this.successorFirstWords[cell];
+
+				for (int j = 0; j < successors.length; j++)
+				{
+					nextStates[firstWord + j] |= successors[j];
+				}
+
+				isEmpty = false;
+			}
+		}
+
+		return !isEmpty;
+	}
+}
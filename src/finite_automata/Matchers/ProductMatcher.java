@@ -0,0 +1,86 @@
+package finite_automata.Matchers;
+
+import finite_automata.IFiniteAutomata;
+import finite_automata.Helpers.ProductOperation;
+
+/**
+ * Thread-safe matcher for the product of two finite automata, which is never
+ * built: the word is matched by the operands, and the results are combined
+ * by the operation. The second operand is skipped, when the result of the
+ * first one decides (e.g. the word, rejected by the first operand of the
+ * intersection).
+ */
+public class ProductMatcher implements IMatcher
+{
+	private final IMatcher first;
+
+	private final ProductOperation operation;
+
+	private final IMatcher second;
+
+	public ProductMatcher(IFiniteAutomata first, IFiniteAutomata second,
+			ProductOperation operation)
+	{
+		this(new ConcurrentMatcher(ProductMatcher.checkNotNull(first,
+				"first")), new ConcurrentMatcher(ProductMatcher.checkNotNull(
+				second, "second")), operation);
+	}
+
+	public ProductMatcher(IMatcher first, IMatcher second,
+			ProductOperation operation)
+	{
+		if (first == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: first.");
+		}
+
+		if (second == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: second.");
+		}
+
+		if (operation == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: operation.");
+		}
+
+		this.first = first;
+		this.second = second;
+		this.operation = operation;
+	}
+
+	private static IFiniteAutomata checkNotNull(IFiniteAutomata finiteAutomata,
+			String name)
+	{
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Argument can't be null: %1$s.", name));
+		}
+
+		return finiteAutomata;
+	}
+
+	@Override
+	public boolean accepts(CharSequence word)
+	{
+		if (word == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: word.");
+		}
+
+		boolean isAcceptedByFirst = this.first.accepts(word);
+
+		// The result doesn't depend on the second operand.
+		if (this.operation.accepts(isAcceptedByFirst, false) == this.operation
+				.accepts(isAcceptedByFirst, true))
+		{
+			return this.operation.accepts(isAcceptedByFirst, false);
+		}
+
+		return this.operation.accepts(isAcceptedByFirst,
+				this.second.accepts(word));
+	}
+}
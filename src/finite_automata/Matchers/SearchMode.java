@@ -0,0 +1,16 @@
+package finite_automata.Matchers;
+
+public enum SearchMode
+{
+	/**
+	 * Every pair of positions, such that the substring between them is the
+	 * nonempty word of the language, ordered by the end and then by the start.
+	 */
+	ALL,
+
+	/**
+	 * Non-overlapping matches, found from left to right; of all the matches,
+	 * starting at the leftmost position, the longest one is chosen.
+	 */
+	LEFTMOST_LONGEST
+}
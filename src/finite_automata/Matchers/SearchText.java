@@ -0,0 +1,277 @@
+package finite_automata.Matchers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Sliding window over the text of the search. The text is read chunk by
+ * chunk into the reusable buffer, which keeps only the characters from the
+ * retained position on, so the memory doesn't depend on the length of the
+ * text. Positions are counted from the start of the text.
+ */
+abstract class SearchText
+{
+	/**
+	 * Text of the character sequence.
+	 */
+	public static class CharSequenceText extends SearchText
+	{
+		private int position;
+
+		private final CharSequence text;
+
+		public CharSequenceText(CharSequence text, char[] buffer)
+		{
+			super(buffer);
+
+			this.text = text;
+			this.position = 0;
+		}
+
+		@Override
+		protected int read(char[] buffer, int offset, int length)
+		{
+			int count = Math.min(length, this.text.length() - this.position);
+
+			if (count == 0)
+			{
+				return -1;
+			}
+
+			for (int i = 0; i < count; i++)
+			{
+				buffer[offset + i] = this.text.charAt(this.position++);
+			}
+
+			return count;
+		}
+	}
+
+	/**
+	 * Text of the file of single-byte characters (ASCII or ISO-8859-1),
+	 * mapped into memory window by window, so that files larger than 2 GB can
+	 * be searched.
+	 */
+	public static class MappedFileText extends SearchText
+	{
+		private final FileChannel fileChannel;
+
+		private final long fileSize;
+
+		private MappedByteBuffer window;
+
+		private final long windowSize;
+
+		private long windowStart;
+
+		public MappedFileText(FileChannel fileChannel, long windowSize,
+				char[] buffer) throws IOException
+		{
+			super(buffer);
+
+			this.fileChannel = fileChannel;
+			this.fileSize = fileChannel.size();
+			this.windowSize = windowSize;
+			this.windowStart = 0;
+			this.window = null;
+		}
+
+		@Override
+		protected int read(char[] buffer, int offset, int length)
+				throws IOException
+		{
+			if (this.window == null || !this.window.hasRemaining())
+			{
+				long position = (this.window == null) ? 0 : this.windowStart
+						+ this.window.limit();
+
+				if (position >= this.fileSize)
+				{
+					return -1;
+				}
+
+				this.window = this.fileChannel.map(
+						FileChannel.MapMode.READ_ONLY, position,
+						Math.min(this.windowSize, this.fileSize - position));
+				this.windowStart = position;
+			}
+
+			int count = Math.min(length, this.window.remaining());
+
+			for (int i = 0; i < count; i++)
+			{
+				buffer[offset + i] = (char) (this.window.get() & 0xFF);
+			}
+
+			return count;
+		}
+	}
+
+	/**
+	 * Text of the reader.
+	 */
+	public static class ReaderText extends SearchText
+	{
+		private final Reader reader;
+
+		public ReaderText(Reader reader, char[] buffer)
+		{
+			super(buffer);
+
+			this.reader = reader;
+		}
+
+		@Override
+		protected int read(char[] buffer, int offset, int length)
+				throws IOException
+		{
+			return this.reader.read(buffer, offset, length);
+		}
+	}
+
+	private char[] buffer;
+
+	private int count;
+
+	private boolean isEndOfText;
+
+	private long retainedPosition;
+
+	/**
+	 * Position of the first character of the buffer.
+	 */
+	private long start;
+
+	protected SearchText(char[] buffer)
+	{
+		this.buffer = buffer;
+		this.count = 0;
+		this.isEndOfText = false;
+		this.retainedPosition = 0;
+		this.start = 0;
+	}
+
+	/**
+	 * Gets the character at the position, which must be loaded and retained
+	 *
+	 * @param position
+	 * @return
+	 */
+	public char charAt(long position)
+	{
+		return this.buffer[(int) (position - this.start)];
+	}
+
+	/**
+	 * Reads the next chunk of the text, dropping the characters before the
+	 * retained position. The buffer grows, if the retained characters take
+	 * more than its half, so every character is moved a constant number of
+	 * times on average.
+	 *
+	 * @throws IOException
+	 */
+	private void fill() throws IOException
+	{
+		int offset = (int) (this.retainedPosition - this.start);
+
+		if (offset > 0)
+		{
+			System.arraycopy(this.buffer, offset, this.buffer, 0, this.count
+					- offset);
+
+			this.start += offset;
+			this.count -= offset;
+		}
+
+		if (this.count > this.buffer.length / 2)
+		{
+			char[] buffer = new char[(int) Math.min(Integer.MAX_VALUE - 8,
+					this.buffer.length * 2L)];
+
+			System.arraycopy(this.buffer, 0, buffer, 0, this.count);
+
+			this.buffer = buffer;
+		}
+
+		int count = this.read(this.buffer, this.count, this.buffer.length
+				- this.count);
+
+		if (count == -1)
+		{
+			this.isEndOfText = true;
+		}
+		else
+		{
+			this.count += count;
+		}
+	}
+
+	/**
+	 * Gets the buffer, which may have grown, for the reuse
+	 *
+	 * @return
+	 */
+	public char[] getBuffer()
+	{
+		return this.buffer;
+	}
+
+	/**
+	 * Gets the position, before which the characters are dropped
+	 *
+	 * @return
+	 */
+	public long getRetainedPosition()
+	{
+		return this.retainedPosition;
+	}
+
+	/**
+	 * Loads the text up to the position
+	 *
+	 * @param position
+	 * @return false if the position is after the end of the text
+	 * @throws IOException
+	 */
+	public boolean load(long position) throws IOException
+	{
+		while (position >= this.start + this.count)
+		{
+			if (this.isEndOfText)
+			{
+				return false;
+			}
+
+			this.fill();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the characters into the buffer
+	 *
+	 * @param buffer
+	 * @param offset
+	 * @param length
+	 *            count of the characters to read, greater than zero
+	 * @return count of the read characters or -1, if the end of the text is
+	 *         reached
+	 * @throws IOException
+	 */
+	protected abstract int read(char[] buffer, int offset, int length)
+			throws IOException;
+
+	/**
+	 * Allows to drop the characters before the position, which is not less
+	 * than the retained one and not after the loaded text
+	 *
+	 * @param position
+	 */
+	public void retain(long position)
+	{
+		this.retainedPosition = position;
+	}
+}
@@ -0,0 +1,892 @@
+package finite_automata;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+import finite_automata.Primitives.IntIntHashMap;
+
+/**
+ * Finite automata for the large sparse graphs, where the cardinality of the
+ * states is just a number: nothing is allocated per state. Transitions are
+ * kept in the shared paged arrays as the linked lists, sorted by (character;
+ * toState) within every state, and the heads and tails of the lists are kept
+ * in the primitive hash maps only for the states, which have transitions. So
+ * the memory is proportional to the count of the transitions (about 26 bytes
+ * per transition), and the pages are allocated as the transitions are added.
+ * Finite states are kept in the bitset.
+ *
+ * Adding the transition after the last one of its state, as well as
+ * copying the automata, takes constant time per transition: the copy
+ * constructor sorts the transitions of every state once and appends them.
+ * Otherwise adding or removing a transition takes time, proportional to the
+ * count of the transitions of its state. Lists and maps of the interface
+ * are lightweight read-only views, which create Transition objects on
+ * demand.
+ */
+public class PagedFiniteAutomata implements IFiniteAutomata
+{
+	private class FiniteStatesView extends AbstractList<Integer>
+	{
+		@Override
+		public boolean contains(Object obj)
+		{
+			if (!(obj instanceof Integer))
+			{
+				return false;
+			}
+
+			int state = (Integer) obj;
+
+			return state >= 0
+					&& PagedFiniteAutomata.this.finiteStates.get(state);
+		}
+
+		@Override
+		public Integer get(int index)
+		{
+			if (index < 0)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			BitSet finiteStates = PagedFiniteAutomata.this.finiteStates;
+
+			int state = finiteStates.nextSetBit(0);
+
+			for (int i = 0; i < index && state >= 0; i++)
+			{
+				state = finiteStates.nextSetBit(state + 1);
+			}
+
+			if (state < 0)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			return state;
+		}
+
+		@Override
+		public Iterator<Integer> iterator()
+		{
+			return new Iterator<Integer>()
+			{
+				private int state = PagedFiniteAutomata.this.finiteStates
+						.nextSetBit(0);
+
+				@Override
+				public boolean hasNext()
+				{
+					return this.state >= 0;
+				}
+
+				@Override
+				public Integer next()
+				{
+					if (this.state < 0)
+					{
+						throw new NoSuchElementException();
+					}
+
+					int state = this.state;
+
+					this.state = PagedFiniteAutomata.this.finiteStates
+							.nextSetBit(state + 1);
+
+					return state;
+				}
+			};
+		}
+
+		@Override
+		public int size()
+		{
+			return PagedFiniteAutomata.this.finiteStates.cardinality();
+		}
+	}
+
+	private class StateTransitionsView extends AbstractList<Transition>
+	{
+		private final int state;
+
+		public StateTransitionsView(int state)
+		{
+			this.state = state;
+		}
+
+		@Override
+		public Transition get(int index)
+		{
+			if (index < 0)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			int edge = PagedFiniteAutomata.this.getHead(this.state);
+
+			for (int i = 0; i < index && edge != -1; i++)
+			{
+				edge = PagedFiniteAutomata.this.getNext(edge);
+			}
+
+			if (edge == -1)
+			{
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			return PagedFiniteAutomata.this.getTransition(this.state, edge);
+		}
+
+		@Override
+		public Iterator<Transition> iterator()
+		{
+			return new Iterator<Transition>()
+			{
+				private int edge = PagedFiniteAutomata.this
+						.getHead(StateTransitionsView.this.state);
+
+				@Override
+				public boolean hasNext()
+				{
+					return this.edge != -1;
+				}
+
+				@Override
+				public Transition next()
+				{
+					if (this.edge == -1)
+					{
+						throw new NoSuchElementException();
+					}
+
+					int edge = this.edge;
+
+					this.edge = PagedFiniteAutomata.this.getNext(edge);
+
+					return PagedFiniteAutomata.this.getTransition(
+							StateTransitionsView.this.state, edge);
+				}
+			};
+		}
+
+		@Override
+		public int size()
+		{
+			int size = 0;
+
+			for (int edge = PagedFiniteAutomata.this.getHead(this.state); edge != -1; edge = PagedFiniteAutomata.this
+					.getNext(edge))
+			{
+				size++;
+			}
+
+			return size;
+		}
+	}
+
+	private class TransitionsMapView extends
+			AbstractMap<Integer, List<Transition>>
+	{
+		@Override
+		public boolean containsKey(Object key)
+		{
+			return this.get(key) != null;
+		}
+
+		@Override
+		public Set<Map.Entry<Integer, List<Transition>>> entrySet()
+		{
+			return new AbstractSet<Map.Entry<Integer, List<Transition>>>()
+			{
+				@Override
+				public Iterator<Map.Entry<Integer, List<Transition>>> iterator()
+				{
+					return new Iterator<Map.Entry<Integer, List<Transition>>>()
+					{
+						private int state = 0;
+
+						@Override
+						public boolean hasNext()
+						{
+							return this.state < PagedFiniteAutomata.this.statesCardinality;
+						}
+
+						@Override
+						public Map.Entry<Integer, List<Transition>> next()
+						{
+							if (!this.hasNext())
+							{
+								throw new NoSuchElementException();
+							}
+
+							int state = this.state++;
+
+							return new AbstractMap.SimpleImmutableEntry<Integer, List<Transition>>(
+									state, new StateTransitionsView(state));
+						}
+					};
+				}
+
+				@Override
+				public int size()
+				{
+					return PagedFiniteAutomata.this.statesCardinality;
+				}
+			};
+		}
+
+		@Override
+		public List<Transition> get(Object key)
+		{
+			if (!(key instanceof Integer))
+			{
+				return null;
+			}
+
+			int state = (Integer) key;
+
+			if (state < 0 || state >= PagedFiniteAutomata.this.statesCardinality)
+			{
+				return null;
+			}
+
+			return new StateTransitionsView(state);
+		}
+
+		@Override
+		public int size()
+		{
+			return PagedFiniteAutomata.this.statesCardinality;
+		}
+	}
+
+	/**
+	 * Count of the transitions in the page is 2^PAGE_SHIFT.
+	 */
+	private static final int PAGE_SHIFT = 14;
+
+	private static final int PAGE_SIZE = 1 << PagedFiniteAutomata.PAGE_SHIFT;
+
+	private static final int PAGE_MASK = PagedFiniteAutomata.PAGE_SIZE - 1;
+
+	private final List<Character> alphabet;
+
+	private final BitSet alphabetCharacters;
+
+	/**
+	 * Count of the used slots of the pages, including the free ones.
+	 */
+	private int edgesCount;
+
+	private final BitSet finiteStates;
+
+	/**
+	 * Head of the list of the free slots, linked through the next pages.
+	 */
+	private int freeEdge;
+
+	/**
+	 * First transition of every state, which has transitions.
+	 */
+	private final IntIntHashMap heads;
+
+	private int initialState;
+
+	private char[][] labelPages;
+
+	private int[][] nextPages;
+
+	private int statesCardinality;
+
+	/**
+	 * Last transition of every state, which has transitions.
+	 */
+	private final IntIntHashMap tails;
+
+	private int[][] targetPages;
+
+	private int transitionsCount;
+
+	public PagedFiniteAutomata()
+	{
+		this.alphabet = new ArrayList<Character>();
+		this.alphabetCharacters = new BitSet();
+		this.finiteStates = new BitSet();
+		this.heads = new IntIntHashMap();
+		this.tails = new IntIntHashMap();
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.statesCardinality = 0;
+
+		this.clearTransitions();
+	}
+
+	/**
+	 * Creates the copy of the finite automata
+	 *
+	 * @param finiteAutomata
+	 */
+	public PagedFiniteAutomata(IFiniteAutomata finiteAutomata)
+	{
+		this();
+
+		if (finiteAutomata == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomata.");
+		}
+
+		this.setAlphabet(finiteAutomata.getAlphabet());
+		this.setStatesCardinality(finiteAutomata.getStatesCardinality());
+
+		if (this.statesCardinality > 0)
+		{
+			this.setInitialState(finiteAutomata.getInitialState());
+		}
+
+		for (int state : finiteAutomata.getFiniteStates())
+		{
+			this.checkState(state);
+
+			this.finiteStates.set(state);
+		}
+
+		Map<Integer, List<Transition>> transitionsMap = finiteAutomata
+				.getTransitionsMap();
+
+		// Transitions are packed as (character; toState) into longs, sorted
+		// and appended, so the copy doesn't search the lists.
+		long[] keys = new long[16];
+
+		for (int state = 0; state < this.statesCardinality; state++)
+		{
+			List<Transition> stateTransitions = transitionsMap.get(state);
+
+			if (stateTransitions == null)
+			{
+				continue;
+			}
+
+			int count = 0;
+
+			for (Transition transition : stateTransitions)
+			{
+				this.checkTransition(transition);
+
+				if (transition.getFromState() != state)
+				{
+					throw new IllegalArgumentException(String.format(
+							"Transition (%1$d; %2$s; %3$d) is invalid.",
+							transition.getFromState(),
+							transition.getCharacter(), transition.getToState()));
+				}
+
+				if (count == keys.length)
+				{
+					keys = Arrays.copyOf(keys, 2 * count);
+				}
+
+				keys[count++] = ((long) transition.getCharacter() << 32)
+						| transition.getToState();
+			}
+
+			Arrays.sort(keys, 0, count);
+
+			for (int i = 0; i < count; i++)
+			{
+				if (i > 0 && keys[i] == keys[i - 1])
+				{
+					continue;
+				}
+
+				this.insertEdge(state, this.tails.get(state, -1), -1,
+						(char) (keys[i] >>> 32), (int) keys[i]);
+			}
+		}
+	}
+
+	@Override
+	public void addFiniteState(int state) throws StateIsAlreadyFinalException
+	{
+		this.checkState(state);
+
+		if (this.finiteStates.get(state))
+		{
+			throw new StateIsAlreadyFinalException(String.format(
+					"State: %1$d is already final.", state));
+		}
+
+		this.finiteStates.set(state);
+	}
+
+	@Override
+	public void addTransition(Transition transition)
+			throws TransitionAlreadyExistsException
+	{
+		this.checkTransition(transition);
+
+		if (!this.insertTransition(transition))
+		{
+			throw new TransitionAlreadyExistsException(String.format(
+					"Transition (%1$d; %2$s; %3$d) already exists.",
+					transition.getFromState(), transition.getCharacter(),
+					transition.getToState()));
+		}
+	}
+
+	private int allocateEdge()
+	{
+		if (this.freeEdge != -1)
+		{
+			int edge = this.freeEdge;
+
+			this.freeEdge = this.getNext(edge);
+
+			return edge;
+		}
+
+		if (this.edgesCount == Integer.MAX_VALUE)
+		{
+			throw new IllegalStateException(
+					"Count of the transitions exceeds Integer.MAX_VALUE.");
+		}
+
+		int page = this.edgesCount >>> PagedFiniteAutomata.PAGE_SHIFT;
+
+		if (page == this.labelPages.length)
+		{
+			int capacity = Math.max(4, page + (page >> 1));
+
+			this.labelPages = Arrays.copyOf(this.labelPages, capacity);
+			this.nextPages = Arrays.copyOf(this.nextPages, capacity);
+			this.targetPages = Arrays.copyOf(this.targetPages,
+					capacity);
+		}
+
+		if (this.labelPages[page] == null)
+		{
+			this.labelPages[page] = new char[PagedFiniteAutomata.PAGE_SIZE];
+			this.nextPages[page] = new int[PagedFiniteAutomata.PAGE_SIZE];
+			this.targetPages[page] = new int[PagedFiniteAutomata.PAGE_SIZE];
+		}
+
+		return this.edgesCount++;
+	}
+
+	private void checkState(int state)
+	{
+		if (state < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: state.");
+		}
+
+		if (state >= this.statesCardinality)
+		{
+			throw new IllegalArgumentException(String.format(
+					"State: %1$d must be less than states cardinality: %2$d",
+					state, this.statesCardinality));
+		}
+	}
+
+	private void checkTransition(Transition transition)
+	{
+		if (transition == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: transition.");
+		}
+
+		int fromState = transition.getFromState();
+		char character = transition.getCharacter();
+		int toState = transition.getToState();
+
+		try
+		{
+			this.checkState(fromState);
+			this.checkState(toState);
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.", fromState,
+					character, toState));
+		}
+
+		if (!this.alphabetCharacters.get(character))
+		{
+			throw new IllegalArgumentException(String.format(
+					"Transition (%1$d; %2$s; %3$d) is invalid.", fromState,
+					character, toState));
+		}
+	}
+
+	private void clearTransitions()
+	{
+		this.heads.clear();
+		this.tails.clear();
+		this.labelPages = new char[0][];
+		this.nextPages = new int[0][];
+		this.targetPages = new int[0][];
+		this.edgesCount = 0;
+		this.freeEdge = -1;
+		this.transitionsCount = 0;
+	}
+
+	/**
+	 * Compares the transition in the slot with the (character; toState)
+	 *
+	 * @param edge
+	 * @param character
+	 * @param toState
+	 * @return
+	 */
+	private int compareEdge(int edge, char character, int toState)
+	{
+		char label = this.getLabel(edge);
+
+		return (label != character) ? Character.compare(label, character)
+				: Integer.compare(this.getTarget(edge), toState);
+	}
+
+	@Override
+	public List<Character> getAlphabet()
+	{
+		return Collections.unmodifiableList(this.alphabet);
+	}
+
+	@Override
+	public List<Integer> getFiniteStates()
+	{
+		return new FiniteStatesView();
+	}
+
+	private int getHead(int state)
+	{
+		return this.heads.get(state, -1);
+	}
+
+	@Override
+	public int getInitialState()
+	{
+		return this.initialState;
+	}
+
+	private char getLabel(int edge)
+	{
+		return this.labelPages[edge >>> PagedFiniteAutomata.PAGE_SHIFT][edge
+				& PagedFiniteAutomata.PAGE_MASK];
+	}
+
+	private int getNext(int edge)
+	{
+		return this.nextPages[edge >>> PagedFiniteAutomata.PAGE_SHIFT][edge
+				& PagedFiniteAutomata.PAGE_MASK];
+	}
+
+	@Override
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	private int getTarget(int edge)
+	{
+		return this.targetPages[edge >>> PagedFiniteAutomata.PAGE_SHIFT][edge
+				& PagedFiniteAutomata.PAGE_MASK];
+	}
+
+	private Transition getTransition(int state, int edge)
+	{
+		return new Transition(state, this.getLabel(edge), this.getTarget(edge));
+	}
+
+	@Override
+	public Map<Integer, List<Transition>> getTransitionsMap()
+	{
+		return new TransitionsMapView();
+	}
+
+	/**
+	 * Gets total count of the transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.transitionsCount;
+	}
+
+	/**
+	 * Links the new slot with the transition between the slots of the state
+	 *
+	 * @param state
+	 * @param previous
+	 *            slot before the new one or -1, if it is the head
+	 * @param next
+	 *            slot after the new one or -1, if it is the tail
+	 * @param character
+	 * @param toState
+	 */
+	private void insertEdge(int state, int previous, int next, char character,
+			int toState)
+	{
+		int newEdge = this.allocateEdge();
+
+		this.labelPages[newEdge >>> PagedFiniteAutomata.PAGE_SHIFT][newEdge
+				& PagedFiniteAutomata.PAGE_MASK] = character;
+		this.targetPages[newEdge >>> PagedFiniteAutomata.PAGE_SHIFT][newEdge
+				& PagedFiniteAutomata.PAGE_MASK] = toState;
+		this.setNext(newEdge, next);
+
+		if (previous == -1)
+		{
+			this.heads.put(state, newEdge);
+		}
+		else
+		{
+			this.setNext(previous, newEdge);
+		}
+
+		if (next == -1)
+		{
+			this.tails.put(state, newEdge);
+		}
+
+		this.transitionsCount++;
+	}
+
+	/**
+	 * Inserts the valid transition, keeping the list of its state sorted
+	 *
+	 * @param transition
+	 * @return false if the transition already exists
+	 */
+	private boolean insertTransition(Transition transition)
+	{
+		int state = transition.getFromState();
+		char character = transition.getCharacter();
+		int toState = transition.getToState();
+
+		int tail = this.tails.get(state, -1);
+
+		// Sorted transitions are appended without the search.
+		if (tail != -1)
+		{
+			int comparison = this.compareEdge(tail, character, toState);
+
+			if (comparison == 0)
+			{
+				return false;
+			}
+
+			if (comparison < 0)
+			{
+				this.insertEdge(state, tail, -1, character, toState);
+
+				return true;
+			}
+		}
+
+		int previous = -1;
+		int edge = this.getHead(state);
+
+		while (edge != -1)
+		{
+			int comparison = this.compareEdge(edge, character, toState);
+
+			if (comparison == 0)
+			{
+				return false;
+			}
+
+			if (comparison > 0)
+			{
+				break;
+			}
+
+			previous = edge;
+			edge = this.getNext(edge);
+		}
+
+		this.insertEdge(state, previous, edge, character, toState);
+
+		return true;
+	}
+
+	@Override
+	public void removeTransition(Transition transition)
+			throws NonExistentTransitionException
+	{
+		this.checkTransition(transition);
+
+		int state = transition.getFromState();
+
+		int previous = -1;
+		int edge = this.getHead(state);
+
+		while (edge != -1
+				&& this.compareEdge(edge, transition.getCharacter(),
+						transition.getToState()) < 0)
+		{
+			previous = edge;
+			edge = this.getNext(edge);
+		}
+
+		if (edge == -1
+				|| this.compareEdge(edge, transition.getCharacter(),
+						transition.getToState()) != 0)
+		{
+			throw new NonExistentTransitionException(String.format(
+					"Transition (%1$d; %2$s %3$d) does not exist.",
+					transition.getFromState(), transition.getCharacter(),
+					transition.getToState()));
+		}
+
+		int next = this.getNext(edge);
+
+		if (previous != -1)
+		{
+			this.setNext(previous, next);
+		}
+		else if (next != -1)
+		{
+			this.heads.put(state, next);
+		}
+		else
+		{
+			this.heads.remove(state);
+		}
+
+		if (next == -1)
+		{
+			if (previous != -1)
+			{
+				this.tails.put(state, previous);
+			}
+			else
+			{
+				this.tails.remove(state);
+			}
+		}
+
+		this.setNext(edge, this.freeEdge);
+		this.freeEdge = edge;
+		this.transitionsCount--;
+	}
+
+	@Override
+	public void setAlphabet(List<Character> alphabet)
+	{
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		BitSet characters = new BitSet();
+
+		for (Character character : alphabet)
+		{
+			if (character == null || characters.get(character))
+			{
+				throw new IllegalArgumentException(String.format(
+						"Alphabet: %1$s contains null or repeated character.",
+						alphabet));
+			}
+
+			characters.set(character);
+		}
+
+		this.alphabet.clear();
+		this.alphabetCharacters.clear();
+
+		this.clearTransitions();
+
+		this.alphabet.addAll(alphabet);
+		this.alphabetCharacters.or(characters);
+	}
+
+	@Override
+	public void setAlphabetCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		if (cardinality > FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length())
+		{
+			throw new IllegalArgumentException(
+					String.format(
+							"Cardinality: %1$d must be less or equal to FINITE_AUTOMATA_ALPHABET size: %2$d",
+							cardinality,
+							FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length()));
+		}
+
+		List<Character> alphabet = new ArrayList<Character>();
+
+		for (int i = 0; i < cardinality; i++)
+		{
+			alphabet.add(FiniteAutomata.FINITE_AUTOMATA_ALPHABET.charAt(i));
+		}
+
+		this.setAlphabet(alphabet);
+	}
+
+	@Override
+	public void setInitialState(int state)
+	{
+		this.checkState(state);
+
+		this.initialState = state;
+	}
+
+	private void setNext(int edge, int next)
+	{
+		this.nextPages[edge >>> PagedFiniteAutomata.PAGE_SHIFT][edge
+				& PagedFiniteAutomata.PAGE_MASK] = next;
+	}
+
+	/**
+	 * Sets cardinality of the states and clears the transitions, finite
+	 * states and initial state. Nothing is allocated for the states.
+	 *
+	 * @param cardinality
+	 */
+	@Override
+	public void setStatesCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		this.initialState = FiniteAutomata.DEFAULT_INITIAL_STATE;
+		this.finiteStates.clear();
+
+		this.statesCardinality = cardinality;
+
+		this.clearTransitions();
+	}
+
+	@Override
+	public ImmutableFiniteAutomata snapshot()
+	{
+		return new ImmutableFiniteAutomata(this);
+	}
+}
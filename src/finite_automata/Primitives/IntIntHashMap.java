@@ -0,0 +1,252 @@
+package finite_automata.Primitives;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from the int keys to the int values without boxing: keys and
+ * values are kept in two arrays with open addressing and linear probing, so
+ * an entry takes 8 bytes (about 16 bytes with the empty slots). Keys must be
+ * not less than zero, because -1 marks the empty slots.
+ */
+public class IntIntHashMap
+{
+	private static final int EMPTY_KEY = -1;
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+
+	private int size;
+
+	private int[] values;
+
+	public IntIntHashMap()
+	{
+		this(0);
+	}
+
+	/**
+	 * Creates the map, which holds the given count of the entries without
+	 * rehashing
+	 *
+	 * @param expectedSize
+	 */
+	public IntIntHashMap(int expectedSize)
+	{
+		if (expectedSize < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: expectedSize.");
+		}
+
+		this.allocate(IntIntHashMap.getCapacity(expectedSize));
+	}
+
+	private void allocate(int capacity)
+	{
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		this.size = 0;
+
+		Arrays.fill(this.keys, IntIntHashMap.EMPTY_KEY);
+	}
+
+	private static void checkKey(int key)
+	{
+		if (key < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: key.");
+		}
+	}
+
+	/**
+	 * Removes all the entries
+	 */
+	public void clear()
+	{
+		this.allocate(IntIntHashMap.MIN_CAPACITY);
+	}
+
+	/**
+	 * Checks whether the map contains the key
+	 *
+	 * @param key
+	 * @return
+	 */
+	public boolean containsKey(int key)
+	{
+		IntIntHashMap.checkKey(key);
+
+		return this.keys[this.findSlot(key)] != IntIntHashMap.EMPTY_KEY;
+	}
+
+	/**
+	 * Finds the slot of the key or the empty slot, where it should be put
+	 *
+	 * @param key
+	 * @return
+	 */
+	private int findSlot(int key)
+	{
+		int mask = this.keys.length - 1;
+		int slot = IntIntHashMap.hash(key) & mask;
+
+		while (this.keys[slot] != IntIntHashMap.EMPTY_KEY
+				&& this.keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Gets the value of the key
+	 *
+	 * @param key
+	 * @param defaultValue
+	 * @return value or defaultValue if there is no such key
+	 */
+	public int get(int key, int defaultValue)
+	{
+		IntIntHashMap.checkKey(key);
+
+		int slot = this.findSlot(key);
+
+		return (this.keys[slot] != IntIntHashMap.EMPTY_KEY) ? this.values[slot]
+				: defaultValue;
+	}
+
+	private static int getCapacity(int expectedSize)
+	{
+		// The table is kept at most half full.
+		long capacity = IntIntHashMap.MIN_CAPACITY;
+
+		while (capacity < 2L * expectedSize)
+		{
+			capacity <<= 1;
+		}
+
+		if (capacity > (1 << 30))
+		{
+			throw new IllegalArgumentException(String.format(
+					"Map can't hold %1$d entries.", expectedSize));
+		}
+
+		return (int) capacity;
+	}
+
+	private static int hash(int key)
+	{
+		int hash = key * 0x9E3779B9;
+
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Puts the value of the key
+	 *
+	 * @param key
+	 * @param value
+	 */
+	public void put(int key, int value)
+	{
+		IntIntHashMap.checkKey(key);
+
+		int slot = this.findSlot(key);
+
+		if (this.keys[slot] == IntIntHashMap.EMPTY_KEY)
+		{
+			if (2 * (this.size + 1) > this.keys.length)
+			{
+				this.rehash(IntIntHashMap.getCapacity(this.size + 1));
+
+				slot = this.findSlot(key);
+			}
+
+			this.keys[slot] = key;
+			this.size++;
+		}
+
+		this.values[slot] = value;
+	}
+
+	private void rehash(int capacity)
+	{
+		int[] keys = this.keys;
+		int[] values = this.values;
+
+		this.allocate(capacity);
+
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (keys[i] != IntIntHashMap.EMPTY_KEY)
+			{
+				int slot = this.findSlot(keys[i]);
+
+				this.keys[slot] = keys[i];
+				this.values[slot] = values[i];
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes the key
+	 *
+	 * @param key
+	 * @return true if the key was removed
+	 */
+	public boolean remove(int key)
+	{
+		IntIntHashMap.checkKey(key);
+
+		int mask = this.keys.length - 1;
+		int slot = this.findSlot(key);
+
+		if (this.keys[slot] == IntIntHashMap.EMPTY_KEY)
+		{
+			return false;
+		}
+
+		// Shift the following entries of the cluster back, so that the
+		// probing never stops at the removed slot.
+		int next = slot;
+
+		while (true)
+		{
+			next = (next + 1) & mask;
+
+			if (this.keys[next] == IntIntHashMap.EMPTY_KEY)
+			{
+				break;
+			}
+
+			int home = IntIntHashMap.hash(this.keys[next]) & mask;
+
+			if (((next - home) & mask) >= ((next - slot) & mask))
+			{
+				this.keys[slot] = this.keys[next];
+				this.values[slot] = this.values[next];
+
+				slot = next;
+			}
+		}
+
+		this.keys[slot] = IntIntHashMap.EMPTY_KEY;
+		this.size--;
+
+		return true;
+	}
+
+	/**
+	 * Gets count of the entries
+	 *
+	 * @return
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+}
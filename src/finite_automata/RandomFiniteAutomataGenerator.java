@@ -0,0 +1,859 @@
+package finite_automata;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Generates random finite automata, reproducible from the seed. Transitions
+ * of every state are drawn from its own pseudo-random sequence, derived from
+ * the seed and the state, so they can be drawn again at any time instead of
+ * being kept: the automata is streamed to the text or binary file by several
+ * passes over the states, and the memory doesn't depend on the count of the
+ * transitions.
+ *
+ * Every state gets floor(d) or floor(d) + 1 transitions (d is the count of
+ * the transitions per state), so that d is their average. Characters of the
+ * transitions of the state are distinct in the deterministic automata; in
+ * the nondeterministic one the characters and the targets are chosen
+ * independently and the repeated transitions are dropped. Every state is
+ * finite with the given probability; if no state is finite, the last one is
+ * made finite, since the text format requires the finite state.
+ *
+ * Accessible automata keeps only the states, reachable from the initial
+ * state 0, renumbered in breadth-first order (which takes 8 bytes per
+ * state). For the complete deterministic automata (the count of the
+ * transitions per state is the cardinality of the alphabet) its transition
+ * structure is uniformly random among the accessible ones of its size, which
+ * is about a constant fraction of the cardinality of the states.
+ */
+public class RandomFiniteAutomataGenerator
+{
+	/**
+	 * States of the generated automata: the given ones or their accessible
+	 * part
+	 */
+	private static class Layout
+	{
+		/**
+		 * Count of the finite states, including the forced one
+		 */
+		public int finiteStatesCount;
+
+		/**
+		 * Whether the last state is made finite
+		 */
+		public boolean isLastStateForced;
+
+		/**
+		 * Generated state for every given state (-1 if it is not
+		 * accessible) or null if all the states are kept
+		 */
+		public int[] numbers;
+
+		/**
+		 * Given state for every generated state or null if all the states are
+		 * kept
+		 */
+		public int[] states;
+
+		public int statesCardinality;
+	}
+
+	public static final int MAX_TRANSITIONS_PER_STATE = 1 << 16;
+
+	private static final long FINITE_STATES_SALT = 0x5DEECE66DL;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private static final long TRANSITIONS_SALT = 0x2545F4914F6CDD1DL;
+
+	private boolean accessible;
+
+	private final List<Character> alphabet;
+
+	/**
+	 * Scratch of the partial shuffle of the characters
+	 */
+	private int[] characterIndexes;
+
+	private boolean deterministic;
+
+	private double finiteStatesRatio;
+
+	private long random;
+
+	private long seed;
+
+	private int statesCardinality;
+
+	private int[] swaps;
+
+	private double transitionsPerState;
+
+	public RandomFiniteAutomataGenerator()
+	{
+		this.alphabet = new ArrayList<Character>();
+		this.statesCardinality = 1;
+		this.transitionsPerState = 1;
+		this.finiteStatesRatio = 0.5;
+		this.deterministic = true;
+		this.accessible = false;
+		this.seed = 0;
+
+		this.setAlphabetCardinality(2);
+	}
+
+	/**
+	 * Finds the states of the generated automata: breadth-first search over
+	 * the transitions, drawn again for every visited state, if the automata
+	 * is accessible
+	 *
+	 * @return
+	 */
+	private Layout createLayout()
+	{
+		Layout layout = new Layout();
+
+		if (this.accessible)
+		{
+			int[] numbers = new int[this.statesCardinality];
+			int[] states = new int[this.statesCardinality];
+			int statesCount = 0;
+
+			long[] transitions = this.createTransitionsBuffer();
+
+			Arrays.fill(numbers, -1);
+
+			numbers[0] = 0;
+			states[statesCount++] = 0;
+
+			for (int i = 0; i < statesCount; i++)
+			{
+				int transitionsCount = this.drawTransitions(states[i],
+						transitions);
+
+				for (int j = 0; j < transitionsCount; j++)
+				{
+					int target = RandomFiniteAutomataGenerator
+							.getTarget(transitions[j]);
+
+					if (numbers[target] == -1)
+					{
+						numbers[target] = statesCount;
+						states[statesCount++] = target;
+					}
+				}
+			}
+
+			layout.numbers = numbers;
+			layout.states = Arrays.copyOf(states, statesCount);
+			layout.statesCardinality = statesCount;
+		}
+		else
+		{
+			layout.statesCardinality = this.statesCardinality;
+		}
+
+		for (int state = 0; state < layout.statesCardinality; state++)
+		{
+			if (this.isFiniteState(layout, state))
+			{
+				layout.finiteStatesCount++;
+			}
+		}
+
+		if (layout.finiteStatesCount == 0)
+		{
+			layout.isLastStateForced = true;
+			layout.finiteStatesCount = 1;
+		}
+
+		return layout;
+	}
+
+	private long[] createTransitionsBuffer()
+	{
+		int maxTransitionsCount = (int) this.transitionsPerState + 1;
+
+		if (this.deterministic)
+		{
+			maxTransitionsCount = Math.min(maxTransitionsCount,
+					this.alphabet.size());
+		}
+
+		return new long[maxTransitionsCount];
+	}
+
+	/**
+	 * Draws the transitions of the given state
+	 *
+	 * @param state
+	 * @param transitions
+	 *            buffer for the transitions, encoded as (character << 32) |
+	 *            target
+	 * @return count of the transitions, sorted by the characters and the
+	 *         targets
+	 */
+	private int drawTransitions(int state, long[] transitions)
+	{
+		this.setRandom(RandomFiniteAutomataGenerator.TRANSITIONS_SALT, state);
+
+		int alphabetCardinality = this.alphabet.size();
+		int transitionsCount = (int) this.transitionsPerState;
+
+		if (this.nextDouble() < this.transitionsPerState - transitionsCount)
+		{
+			transitionsCount++;
+		}
+
+		if (alphabetCardinality == 0)
+		{
+			return 0;
+		}
+
+		if (this.deterministic)
+		{
+			transitionsCount = Math.min(transitionsCount, alphabetCardinality);
+
+			// Partial shuffle picks distinct characters; the swaps are undone
+			// afterwards, so that the scratch is the identity for the next
+			// state.
+			for (int i = 0; i < transitionsCount; i++)
+			{
+				int index = i + this.nextInt(alphabetCardinality - i);
+
+				RandomFiniteAutomataGenerator.swap(this.characterIndexes, i,
+						index);
+				this.swaps[i] = index;
+
+				transitions[i] = RandomFiniteAutomataGenerator.getTransition(
+						this.alphabet.get(this.characterIndexes[i]),
+						this.nextInt(this.statesCardinality));
+			}
+
+			for (int i = transitionsCount - 1; i >= 0; i--)
+			{
+				RandomFiniteAutomataGenerator.swap(this.characterIndexes, i,
+						this.swaps[i]);
+			}
+
+			Arrays.sort(transitions, 0, transitionsCount);
+
+			return transitionsCount;
+		}
+
+		for (int i = 0; i < transitionsCount; i++)
+		{
+			transitions[i] = RandomFiniteAutomataGenerator.getTransition(
+					this.alphabet.get(this.nextInt(alphabetCardinality)),
+					this.nextInt(this.statesCardinality));
+		}
+
+		return RandomFiniteAutomataGenerator.sortDistinct(transitions,
+				transitionsCount);
+	}
+
+	/**
+	 * Creates the automata in memory
+	 *
+	 * @return
+	 */
+	public IFiniteAutomata generate()
+	{
+		Layout layout = this.createLayout();
+
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		finiteAutomataBuilder.setAlphabet(this.alphabet);
+		finiteAutomataBuilder.setStatesCardinality(layout.statesCardinality);
+		finiteAutomataBuilder.setInitialState(0);
+
+		long[] transitions = this.createTransitionsBuffer();
+
+		try
+		{
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				if (this.isFiniteState(layout, state))
+				{
+					finiteAutomataBuilder.addFiniteState(state);
+				}
+
+				int transitionsCount = this.getTransitions(layout, state,
+						transitions);
+
+				for (int i = 0; i < transitionsCount; i++)
+				{
+					finiteAutomataBuilder.addTransition(state,
+							RandomFiniteAutomataGenerator
+									.getCharacter(transitions[i]),
+							RandomFiniteAutomataGenerator
+									.getTarget(transitions[i]));
+				}
+			}
+
+			return finiteAutomataBuilder.build();
+		}
+		catch (Exception exception)
+		{
+			// Transitions of the state are distinct and valid, so this can't
+			// happen.
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Gets alphabet
+	 *
+	 * @return
+	 */
+	public List<Character> getAlphabet()
+	{
+		return new ArrayList<Character>(this.alphabet);
+	}
+
+	private static char getCharacter(long transition)
+	{
+		return (char) (transition >>> 32);
+	}
+
+	/**
+	 * Gets seed
+	 *
+	 * @return
+	 */
+	public long getSeed()
+	{
+		return this.seed;
+	}
+
+	/**
+	 * Gets cardinality of the states
+	 *
+	 * @return
+	 */
+	public int getStatesCardinality()
+	{
+		return this.statesCardinality;
+	}
+
+	private static int getTarget(long transition)
+	{
+		return (int) transition;
+	}
+
+	private static long getTransition(char character, int target)
+	{
+		return ((long) character << 32) | target;
+	}
+
+	/**
+	 * Gets the transitions of the state of the generated automata
+	 *
+	 * @param layout
+	 * @param state
+	 * @param transitions
+	 * @return count of the transitions, sorted by the characters and the
+	 *         targets
+	 */
+	private int getTransitions(Layout layout, int state, long[] transitions)
+	{
+		if (layout.states == null)
+		{
+			return this.drawTransitions(state, transitions);
+		}
+
+		int transitionsCount = this.drawTransitions(layout.states[state],
+				transitions);
+
+		for (int i = 0; i < transitionsCount; i++)
+		{
+			transitions[i] = RandomFiniteAutomataGenerator.getTransition(
+					RandomFiniteAutomataGenerator.getCharacter(transitions[i]),
+					layout.numbers[RandomFiniteAutomataGenerator
+							.getTarget(transitions[i])]);
+		}
+
+		Arrays.sort(transitions, 0, transitionsCount);
+
+		return transitionsCount;
+	}
+
+	/**
+	 * Gets count of the transitions per state
+	 *
+	 * @return
+	 */
+	public double getTransitionsPerState()
+	{
+		return this.transitionsPerState;
+	}
+
+	/**
+	 * Checks whether only the states, reachable from the initial state, are
+	 * kept
+	 *
+	 * @return
+	 */
+	public boolean isAccessible()
+	{
+		return this.accessible;
+	}
+
+	/**
+	 * Checks whether the characters of the transitions of every state are
+	 * distinct
+	 *
+	 * @return
+	 */
+	public boolean isDeterministic()
+	{
+		return this.deterministic;
+	}
+
+	private boolean isFiniteState(Layout layout, int state)
+	{
+		if (layout.isLastStateForced && state == layout.statesCardinality - 1)
+		{
+			return true;
+		}
+
+		this.setRandom(RandomFiniteAutomataGenerator.FINITE_STATES_SALT,
+				(layout.states == null) ? state : layout.states[state]);
+
+		return this.nextDouble() < this.finiteStatesRatio;
+	}
+
+	/**
+	 * Finalizer of SplitMix64
+	 *
+	 * @param value
+	 * @return
+	 */
+	private static long mix(long value)
+	{
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+
+		return value ^ (value >>> 31);
+	}
+
+	private double nextDouble()
+	{
+		return (this.nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Gets the next random number in range [0; bound)
+	 *
+	 * @param bound
+	 * @return
+	 */
+	private int nextInt(int bound)
+	{
+		return (int) (((this.nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	private long nextLong()
+	{
+		this.random += RandomFiniteAutomataGenerator.GOLDEN_GAMMA;
+
+		return RandomFiniteAutomataGenerator.mix(this.random);
+	}
+
+	/**
+	 * Sets whether only the states, reachable from the initial state, are
+	 * kept
+	 *
+	 * @param accessible
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setAccessible(boolean accessible)
+	{
+		this.accessible = accessible;
+
+		return this;
+	}
+
+	/**
+	 * Sets alphabet of arbitrary (distinct) characters
+	 *
+	 * @param alphabet
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setAlphabet(List<Character> alphabet)
+	{
+		if (alphabet == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: alphabet.");
+		}
+
+		BitSet characters = new BitSet();
+
+		for (Character character : alphabet)
+		{
+			if (character == null || characters.get(character))
+			{
+				throw new IllegalArgumentException(String.format(
+						"Alphabet: %1$s contains null or repeated character.",
+						alphabet));
+			}
+
+			characters.set(character);
+		}
+
+		this.alphabet.clear();
+		this.alphabet.addAll(alphabet);
+
+		this.characterIndexes = new int[alphabet.size()];
+		this.swaps = new int[alphabet.size()];
+
+		for (int i = 0; i < this.characterIndexes.length; i++)
+		{
+			this.characterIndexes[i] = i;
+		}
+
+		return this;
+	}
+
+	/**
+	 * Sets alphabet of the first characters of FINITE_AUTOMATA_ALPHABET (the
+	 * only alphabet of the text format)
+	 *
+	 * @param cardinality
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setAlphabetCardinality(int cardinality)
+	{
+		if (cardinality < 0)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be not less than zero: cardinality.");
+		}
+
+		if (cardinality > FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length())
+		{
+			throw new IllegalArgumentException(
+					String.format(
+							"Cardinality: %1$d must be less or equal to FINITE_AUTOMATA_ALPHABET size: %2$d",
+							cardinality,
+							FiniteAutomata.FINITE_AUTOMATA_ALPHABET.length()));
+		}
+
+		List<Character> alphabet = new ArrayList<Character>();
+
+		for (int i = 0; i < cardinality; i++)
+		{
+			alphabet.add(FiniteAutomata.FINITE_AUTOMATA_ALPHABET.charAt(i));
+		}
+
+		return this.setAlphabet(alphabet);
+	}
+
+	/**
+	 * Sets whether the characters of the transitions of every state are
+	 * distinct
+	 *
+	 * @param deterministic
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setDeterministic(boolean deterministic)
+	{
+		this.deterministic = deterministic;
+
+		return this;
+	}
+
+	/**
+	 * Sets probability of the state to be finite
+	 *
+	 * @param ratio
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setFiniteStatesRatio(double ratio)
+	{
+		if (!(ratio >= 0 && ratio <= 1))
+		{
+			throw new IllegalArgumentException(
+					"Argument must be in range [0; 1]: ratio.");
+		}
+
+		this.finiteStatesRatio = ratio;
+
+		return this;
+	}
+
+	private void setRandom(long salt, int state)
+	{
+		this.random = RandomFiniteAutomataGenerator
+				.mix(RandomFiniteAutomataGenerator.mix(this.seed ^ salt)
+						+ state * RandomFiniteAutomataGenerator.GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Sets seed
+	 *
+	 * @param seed
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setSeed(long seed)
+	{
+		this.seed = seed;
+
+		return this;
+	}
+
+	/**
+	 * Sets cardinality of the states
+	 *
+	 * @param cardinality
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setStatesCardinality(int cardinality)
+	{
+		if (cardinality < 1)
+		{
+			throw new IllegalArgumentException(
+					"Argument must be greater than zero: cardinality.");
+		}
+
+		this.statesCardinality = cardinality;
+
+		return this;
+	}
+
+	/**
+	 * Sets average count of the transitions per state (edge density). In the
+	 * deterministic automata the count is limited by the cardinality of the
+	 * alphabet.
+	 *
+	 * @param transitionsPerState
+	 * @return
+	 */
+	public RandomFiniteAutomataGenerator setTransitionsPerState(
+			double transitionsPerState)
+	{
+		if (!(transitionsPerState >= 0 && transitionsPerState <= RandomFiniteAutomataGenerator.MAX_TRANSITIONS_PER_STATE))
+		{
+			throw new IllegalArgumentException(
+					String.format(
+							"Argument must be in range [0; %1$d]: transitionsPerState.",
+							RandomFiniteAutomataGenerator.MAX_TRANSITIONS_PER_STATE));
+		}
+
+		this.transitionsPerState = transitionsPerState;
+
+		return this;
+	}
+
+	/**
+	 * Sorts the transitions and removes the repeated ones
+	 *
+	 * @param transitions
+	 * @param transitionsCount
+	 * @return count of the distinct transitions
+	 */
+	private static int sortDistinct(long[] transitions, int transitionsCount)
+	{
+		Arrays.sort(transitions, 0, transitionsCount);
+
+		int distinctCount = 0;
+
+		for (int i = 0; i < transitionsCount; i++)
+		{
+			if (distinctCount == 0
+					|| transitions[i] != transitions[distinctCount - 1])
+			{
+				transitions[distinctCount++] = transitions[i];
+			}
+		}
+
+		return distinctCount;
+	}
+
+	private static void swap(int[] values, int i, int j)
+	{
+		int value = values[i];
+
+		values[i] = values[j];
+		values[j] = value;
+	}
+
+	/**
+	 * Writes the automata to the binary file, read by MappedFiniteAutomata,
+	 * drawing the transitions again for the offsets, labels and targets
+	 * sections
+	 *
+	 * @param path
+	 * @throws IOException
+	 */
+	public void writeToBinaryFile(Path path) throws IOException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		Layout layout = this.createLayout();
+
+		long[] transitions = this.createTransitionsBuffer();
+		long totalTransitionsCount = 0;
+
+		for (int state = 0; state < layout.statesCardinality; state++)
+		{
+			totalTransitionsCount += this.getTransitions(layout, state,
+					transitions);
+		}
+
+		if (totalTransitionsCount > Integer.MAX_VALUE / 4)
+		{
+			throw new IllegalStateException(String.format(
+					"Binary file can't hold %1$d transitions.",
+					totalTransitionsCount));
+		}
+
+		try (BinaryFiniteAutomataWriter writer = new BinaryFiniteAutomataWriter(
+				path))
+		{
+			writer.writeHeader(this.alphabet, layout.statesCardinality, 0,
+					(int) totalTransitionsCount);
+
+			for (int i = 0; i < layout.statesCardinality; i += 64)
+			{
+				long finiteStates = 0;
+
+				for (int j = 0; j < 64 && i + j < layout.statesCardinality; j++)
+				{
+					if (this.isFiniteState(layout, i + j))
+					{
+						finiteStates |= 1L << j;
+					}
+				}
+
+				writer.writeLong(finiteStates);
+			}
+
+			writer.endSection();
+
+			int offset = 0;
+
+			writer.writeInt(offset);
+
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				offset += this.getTransitions(layout, state, transitions);
+
+				writer.writeInt(offset);
+			}
+
+			writer.endSection();
+
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				int transitionsCount = this.getTransitions(layout, state,
+						transitions);
+
+				for (int i = 0; i < transitionsCount; i++)
+				{
+					writer.writeChar(RandomFiniteAutomataGenerator
+							.getCharacter(transitions[i]));
+				}
+			}
+
+			writer.endSection();
+
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				int transitionsCount = this.getTransitions(layout, state,
+						transitions);
+
+				for (int i = 0; i < transitionsCount; i++)
+				{
+					writer.writeInt(RandomFiniteAutomataGenerator
+							.getTarget(transitions[i]));
+				}
+			}
+
+			writer.endSection();
+			writer.finish();
+		}
+	}
+
+	/**
+	 * Writes the automata to the text file in the format of the list of
+	 * strings, drawing the transitions state by state
+	 *
+	 * @param path
+	 * @throws IOException
+	 */
+	public void writeToFile(Path path) throws IOException
+	{
+		if (path == null)
+		{
+			throw new IllegalArgumentException("Argument can't be null: path.");
+		}
+
+		for (int i = 0; i < this.alphabet.size(); i++)
+		{
+			if (this.alphabet.get(i) != FiniteAutomata.FINITE_AUTOMATA_ALPHABET
+					.charAt(i))
+			{
+				throw new IllegalStateException(
+						"Text format supports only the alphabet, set by cardinality.");
+			}
+		}
+
+		Layout layout = this.createLayout();
+
+		String lineSeparator = System.getProperty("line.separator");
+
+		try (Writer writer = Files.newBufferedWriter(path))
+		{
+			writer.write(Integer.toString(this.alphabet.size()));
+			writer.write(lineSeparator);
+			writer.write(Integer.toString(layout.statesCardinality));
+			writer.write(lineSeparator);
+			writer.write("0");
+			writer.write(lineSeparator);
+			writer.write(Integer.toString(layout.finiteStatesCount));
+
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				if (this.isFiniteState(layout, state))
+				{
+					writer.write(' ');
+					writer.write(Integer.toString(state));
+				}
+			}
+
+			writer.write(lineSeparator);
+
+			long[] transitions = this.createTransitionsBuffer();
+
+			for (int state = 0; state < layout.statesCardinality; state++)
+			{
+				int transitionsCount = this.getTransitions(layout, state,
+						transitions);
+
+				for (int i = 0; i < transitionsCount; i++)
+				{
+					writer.write(Integer.toString(state));
+					writer.write(' ');
+					writer.write(RandomFiniteAutomataGenerator
+							.getCharacter(transitions[i]));
+					writer.write(' ');
+					writer.write(Integer.toString(RandomFiniteAutomataGenerator
+							.getTarget(transitions[i])));
+					writer.write(lineSeparator);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package finite_automata;
+
+import java.util.Arrays;
+
+/**
+ * Transitions of the finite automata table in CSR layout, sorted by
+ * (character; toState) within every state, as kept by CompactFiniteAutomata
+ * and by the binary file of MappedFiniteAutomata. Symbols of the table
+ * follow the alphabet order and may stand for several characters, so the
+ * characters of all the symbols are sorted once, and the transitions of
+ * every state are walked by them.
+ */
+public class SortedTransitions
+{
+	private final char[] characters;
+
+	private final int[] characterSymbols;
+
+	private final FiniteAutomataTable finiteAutomataTable;
+
+	private final int maxStateTransitionsCount;
+
+	private final int[] offsets;
+
+	public SortedTransitions(FiniteAutomataTable finiteAutomataTable)
+	{
+		if (finiteAutomataTable == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: finiteAutomataTable.");
+		}
+
+		this.finiteAutomataTable = finiteAutomataTable;
+
+		int symbolsCount = finiteAutomataTable.getSymbolsCount();
+		int charactersCount = 0;
+
+		for (int symbol = 0; symbol < symbolsCount; symbol++)
+		{
+			charactersCount += finiteAutomataTable.getSymbolCharacters(symbol).length;
+		}
+
+		this.characters = new char[charactersCount];
+		this.characterSymbols = new int[charactersCount];
+
+		charactersCount = 0;
+
+		for (int symbol = 0; symbol < symbolsCount; symbol++)
+		{
+			for (char character : finiteAutomataTable
+					.getSymbolCharacters(symbol))
+			{
+				this.characters[charactersCount++] = character;
+			}
+		}
+
+		Arrays.sort(this.characters);
+
+		for (int i = 0; i < charactersCount; i++)
+		{
+			this.characterSymbols[i] = finiteAutomataTable
+					.getSymbol(this.characters[i]);
+		}
+
+		int statesCardinality = finiteAutomataTable.getStatesCardinality();
+		int maxStateTransitionsCount = 0;
+
+		this.offsets = new int[statesCardinality + 1];
+
+		for (int state = 0; state < statesCardinality; state++)
+		{
+			int count = 0;
+
+			for (int i = 0; i < charactersCount; i++)
+			{
+				count += finiteAutomataTable.getTargetsEnd(state,
+						this.characterSymbols[i])
+						- finiteAutomataTable.getTargetsStart(state,
+								this.characterSymbols[i]);
+			}
+
+			this.offsets[state + 1] = this.offsets[state] + count;
+
+			maxStateTransitionsCount = Math.max(maxStateTransitionsCount,
+					count);
+		}
+
+		this.maxStateTransitionsCount = maxStateTransitionsCount;
+	}
+
+	/**
+	 * Gets maximum count of the transitions of one state
+	 *
+	 * @return
+	 */
+	public int getMaxStateTransitionsCount()
+	{
+		return this.maxStateTransitionsCount;
+	}
+
+	/**
+	 * Gets start of the transitions of every state and the total count of
+	 * the transitions. The array is not copied.
+	 *
+	 * @return
+	 */
+	public int[] getOffsets()
+	{
+		return this.offsets;
+	}
+
+	/**
+	 * Copies the sorted transitions of the state into the arrays
+	 *
+	 * @param state
+	 * @param labels
+	 *            characters of the transitions or null, if they are not
+	 *            needed
+	 * @param targets
+	 *            target states of the transitions or null, if they are not
+	 *            needed
+	 * @param position
+	 *            position of the first transition in the arrays
+	 * @return count of the transitions of the state
+	 */
+	public int getStateTransitions(int state, char[] labels, int[] targets,
+			int position)
+	{
+		int count = 0;
+
+		for (int i = 0; i < this.characters.length; i++)
+		{
+			for (int j = this.finiteAutomataTable.getTargetsStart(state,
+					this.characterSymbols[i]), end = this.finiteAutomataTable
+					.getTargetsEnd(state, this.characterSymbols[i]); j < end; j++)
+			{
+				if (labels != null)
+				{
+					labels[position + count] = this.characters[i];
+				}
+
+				if (targets != null)
+				{
+					targets[position + count] = this.finiteAutomataTable
+							.getTarget(j);
+				}
+
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets total count of the transitions
+	 *
+	 * @return
+	 */
+	public int getTransitionsCount()
+	{
+		return this.offsets[this.offsets.length - 1];
+	}
+}
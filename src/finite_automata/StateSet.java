@@ -0,0 +1,98 @@
+package finite_automata;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of the states, stored as the sorted array with the
+ * precomputed hash code, so it can be cheaply used as a hash table key.
+ */
+public class StateSet
+{
+	private final int hashCode;
+
+	private final int[] states;
+
+	/**
+	 * Creates the set. The array must be sorted, must not contain duplicates
+	 * and must not be modified afterwards.
+	 *
+	 * @param states
+	 */
+	public StateSet(int[] states)
+	{
+		if (states == null)
+		{
+			throw new IllegalArgumentException(
+					"Argument can't be null: states.");
+		}
+
+		this.states = states;
+		this.hashCode = Arrays.hashCode(states);
+	}
+
+	/**
+	 * Checks whether the set contains the state
+	 *
+	 * @param state
+	 * @return
+	 */
+	public boolean contains(int state)
+	{
+		return Arrays.binarySearch(this.states, state) >= 0;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+
+		if (obj == null)
+		{
+			return false;
+		}
+
+		if (this.getClass() != obj.getClass())
+		{
+			return false;
+		}
+
+		StateSet other = (StateSet) obj;
+
+		if (this.hashCode != other.hashCode)
+		{
+			return false;
+		}
+
+		return Arrays.equals(this.states, other.states);
+	}
+
+	/**
+	 * Gets the state by index
+	 *
+	 * @param index
+	 * @return
+	 */
+	public int get(int index)
+	{
+		return this.states[index];
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.hashCode;
+	}
+
+	/**
+	 * Gets count of the states
+	 *
+	 * @return
+	 */
+	public int size()
+	{
+		return this.states.length;
+	}
+}
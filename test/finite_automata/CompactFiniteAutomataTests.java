@@ -0,0 +1,167 @@
+package finite_automata;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+public class CompactFiniteAutomataTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void addFiniteState_FiniteStateSuccessfullyAdded()
+			throws StateIsAlreadyFinalException
+	{
+		this.finiteAutomata.addFiniteState(1);
+
+		Assert.assertEquals(Arrays.asList(1, 2),
+				this.finiteAutomata.getFiniteStates());
+		Assert.assertEquals(true, this.finiteAutomata.getFiniteStates()
+				.contains(1));
+	}
+
+	@Test(expected = StateIsAlreadyFinalException.class)
+	public void addFiniteState_StateIsAlreadyFinite_ThrowsStateIsAlreadyFinalException()
+			throws StateIsAlreadyFinalException
+	{
+		this.finiteAutomata.addFiniteState(2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addTransition_InvalidTransition_ThrowsIllegalArgumentException()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'c', 1));
+	}
+
+	@Test(expected = TransitionAlreadyExistsException.class)
+	public void addTransition_TransitionAlreadyExists_ThrowsTransitionAlreadyExistsException()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+	}
+
+	@Test
+	public void addTransition_TransitionsAreKeptSorted()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 0));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 0),
+				new Transition(0, 'a', 1), new Transition(0, 'a', 2),
+				new Transition(0, 'b', 0)), this.finiteAutomata
+				.getTransitionsMap().get(0));
+		Assert.assertEquals(Arrays.asList(new Transition(1, 'b', 2)),
+				this.finiteAutomata.getTransitionsMap().get(1));
+		Assert.assertEquals(Arrays.asList(new Transition(2, 'a', 0)),
+				this.finiteAutomata.getTransitionsMap().get(2));
+	}
+
+	@Test
+	public void constructor_CopiesFiniteAutomata() throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata.setAlphabetCardinality(3);
+		finiteAutomata.setStatesCardinality(3);
+		finiteAutomata.setInitialState(1);
+		finiteAutomata.addFiniteState(2);
+		finiteAutomata.addFiniteState(0);
+
+		finiteAutomata.addTransition(new Transition(1, 'a', 0));
+		finiteAutomata.addTransition(new Transition(1, 'c', 2));
+		finiteAutomata.addTransition(new Transition(0, 'b', 1));
+
+		IFiniteAutomata copy = new CompactFiniteAutomata(finiteAutomata);
+
+		Assert.assertEquals(finiteAutomata.getAlphabet(), copy.getAlphabet());
+		Assert.assertEquals(finiteAutomata.getInitialState(),
+				copy.getInitialState());
+		Assert.assertEquals(finiteAutomata.getStatesCardinality(),
+				copy.getStatesCardinality());
+		Assert.assertEquals(Arrays.asList(0, 2), copy.getFiniteStates());
+		Assert.assertEquals(finiteAutomata.getTransitionsMap(),
+				copy.getTransitionsMap());
+	}
+
+	@Test(expected = NonExistentTransitionException.class)
+	public void removeTransition_TransitionDoesNotExist_ThrowsNonExistentTransitionException()
+			throws NonExistentTransitionException
+	{
+		this.finiteAutomata.removeTransition(new Transition(0, 'b', 1));
+	}
+
+	@Test
+	public void removeTransition_TransitionIsSuccessfullyRemoved()
+			throws NonExistentTransitionException
+	{
+		this.finiteAutomata.removeTransition(new Transition(0, 'a', 1));
+
+		Assert.assertEquals(0, this.finiteAutomata.getTransitionsMap().get(0)
+				.size());
+		Assert.assertEquals(1, this.finiteAutomata.getTransitionsMap().get(1)
+				.size());
+	}
+
+	@Test
+	public void setAlphabet_SetsArbitraryAlphabetAndClearsTransitionsMap()
+			throws Exception
+	{
+		this.finiteAutomata.setAlphabet(Arrays.asList('\u00ff', '\u0000'));
+
+		Assert.assertEquals(Arrays.asList('\u00ff', '\u0000'),
+				this.finiteAutomata.getAlphabet());
+		Assert.assertEquals(0, this.finiteAutomata.getTransitionsMap().get(0)
+				.size());
+		Assert.assertEquals(0, this.finiteAutomata.getTransitionsMap().get(1)
+				.size());
+
+		this.finiteAutomata.addTransition(new Transition(0, '\u00ff', 1));
+		this.finiteAutomata.addTransition(new Transition(0, '\u0000', 1));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, '\u0000', 1),
+				new Transition(0, '\u00ff', 1)), this.finiteAutomata
+				.getTransitionsMap().get(0));
+	}
+
+	@Test
+	public void setStatesCardinality_SetsStatesAndClearsTransitionsMapFiniteStatesAndInitialState()
+	{
+		this.finiteAutomata.setStatesCardinality(2);
+
+		Assert.assertEquals(2, this.finiteAutomata.getStatesCardinality());
+		Assert.assertEquals(FiniteAutomata.DEFAULT_INITIAL_STATE,
+				this.finiteAutomata.getInitialState());
+		Assert.assertEquals(0, this.finiteAutomata.getFiniteStates().size());
+		Assert.assertEquals(2, this.finiteAutomata.getTransitionsMap().size());
+
+		for (int i = 0; i < 2; i++)
+		{
+			Assert.assertEquals(0,
+					this.finiteAutomata.getTransitionsMap().get(i).size());
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new CompactFiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(3);
+		this.finiteAutomata.setInitialState(0);
+		this.finiteAutomata.addFiniteState(2);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+	}
+}
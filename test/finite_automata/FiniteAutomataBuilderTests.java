@@ -0,0 +1,128 @@
+package finite_automata;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Exceptions.StateIsAlreadyFinalException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+public class FiniteAutomataBuilderTests
+{
+	private FiniteAutomataBuilder finiteAutomataBuilder;
+
+	@Test(expected = StateIsAlreadyFinalException.class)
+	public void addFiniteState_StateIsAlreadyFinite_ThrowsStateIsAlreadyFinalException()
+			throws StateIsAlreadyFinalException
+	{
+		this.finiteAutomataBuilder.addFiniteState(2);
+		this.finiteAutomataBuilder.addFiniteState(2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addTransition_CharacterIsNotInAlphabet_ThrowsIllegalArgumentException()
+	{
+		this.finiteAutomataBuilder.addTransition(0, 'c', 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addTransition_StateIsOutOfRange_ThrowsIllegalArgumentException()
+	{
+		this.finiteAutomataBuilder.addTransition(0, 'a', 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addTransitions_ArraysHaveDifferentLength_ThrowsIllegalArgumentException()
+	{
+		this.finiteAutomataBuilder.addTransitions(new int[] { 0, 1 },
+				new char[] { 'a' }, new int[] { 1, 2 });
+	}
+
+	@Test
+	public void build_BuildsFiniteAutomataWithSortedTransitions()
+			throws Exception
+	{
+		this.finiteAutomataBuilder.setInitialState(1);
+		this.finiteAutomataBuilder.addFiniteState(2);
+
+		this.finiteAutomataBuilder.addTransitions(new int[] { 1, 0, 0, 0 },
+				new char[] { 'a', 'b', 'a', 'a' }, new int[] { 2, 0, 2, 1 });
+		this.finiteAutomataBuilder.addTransitions(Stream.of(new Transition(2,
+				'b', 0)));
+
+		CompactFiniteAutomata finiteAutomata = this.finiteAutomataBuilder
+				.build();
+
+		Assert.assertEquals(Arrays.asList('a', 'b'),
+				finiteAutomata.getAlphabet());
+		Assert.assertEquals(3, finiteAutomata.getStatesCardinality());
+		Assert.assertEquals(1, finiteAutomata.getInitialState());
+		Assert.assertEquals(Arrays.asList(2), finiteAutomata.getFiniteStates());
+		Assert.assertEquals(5, finiteAutomata.getTransitionsCount());
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 1),
+				new Transition(0, 'a', 2), new Transition(0, 'b', 0)),
+				finiteAutomata.getTransitionsMap().get(0));
+		Assert.assertEquals(Arrays.asList(new Transition(1, 'a', 2)),
+				finiteAutomata.getTransitionsMap().get(1));
+		Assert.assertEquals(Arrays.asList(new Transition(2, 'b', 0)),
+				finiteAutomata.getTransitionsMap().get(2));
+	}
+
+	@Test(expected = TransitionAlreadyExistsException.class)
+	public void build_TransitionIsAddedTwice_ThrowsTransitionAlreadyExistsException()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomataBuilder.addTransition(1, 'b', 2);
+		this.finiteAutomataBuilder.addTransition(0, 'a', 1);
+		this.finiteAutomataBuilder.addTransition(1, 'b', 2);
+
+		this.finiteAutomataBuilder.build();
+	}
+
+	@Test
+	public void findRepeatedTransition_TransitionIsAddedTwice_ReturnsIndexOfSecondOne()
+	{
+		this.finiteAutomataBuilder.addTransition(1, 'b', 2);
+		this.finiteAutomataBuilder.addTransition(0, 'a', 1);
+
+		Assert.assertEquals(-1, this.finiteAutomataBuilder
+				.findRepeatedTransition());
+
+		this.finiteAutomataBuilder.addTransition(1, 'b', 2);
+
+		Assert.assertEquals(2, this.finiteAutomataBuilder
+				.findRepeatedTransition());
+	}
+
+	@Test
+	public void setStatesCardinality_ClearsTransitionsFiniteStatesAndInitialState()
+			throws Exception
+	{
+		this.finiteAutomataBuilder.setInitialState(2);
+		this.finiteAutomataBuilder.addFiniteState(2);
+		this.finiteAutomataBuilder.addTransition(0, 'a', 1);
+
+		this.finiteAutomataBuilder.setStatesCardinality(5);
+
+		CompactFiniteAutomata finiteAutomata = this.finiteAutomataBuilder
+				.build();
+
+		Assert.assertEquals(5, finiteAutomata.getStatesCardinality());
+		Assert.assertEquals(FiniteAutomata.DEFAULT_INITIAL_STATE,
+				finiteAutomata.getInitialState());
+		Assert.assertEquals(true, finiteAutomata.getFiniteStates().isEmpty());
+		Assert.assertEquals(0, finiteAutomata.getTransitionsCount());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomataBuilder = new FiniteAutomataBuilder();
+
+		this.finiteAutomataBuilder.setAlphabetCardinality(2);
+		this.finiteAutomataBuilder.setStatesCardinality(3);
+	}
+}
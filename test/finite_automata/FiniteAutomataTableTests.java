@@ -0,0 +1,71 @@
+package finite_automata;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Helpers.AlphabetHelper;
+
+public class FiniteAutomataTableTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void constructor_ByteAlphabet_MergesEquivalentCharacters()
+	{
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				this.finiteAutomata);
+
+		// Other bytes, '.' and the digits.
+		Assert.assertEquals(3, finiteAutomataTable.getSymbolsCount());
+		Assert.assertEquals(0, finiteAutomataTable.getSymbol('\u0000'));
+		Assert.assertEquals(0, finiteAutomataTable.getSymbol('\u00ff'));
+		Assert.assertEquals(1, finiteAutomataTable.getSymbol('.'));
+		Assert.assertEquals(2, finiteAutomataTable.getSymbol('0'));
+		Assert.assertEquals(2, finiteAutomataTable.getSymbol('9'));
+		Assert.assertEquals(-1, finiteAutomataTable.getSymbol('\u0100'));
+		Assert.assertArrayEquals("0123456789".toCharArray(),
+				finiteAutomataTable.getSymbolCharacters(2));
+		Assert.assertEquals(245,
+				finiteAutomataTable.getSymbolCharacters(0).length);
+		Assert.assertEquals(21, finiteAutomataTable.getTransitionsCount());
+		Assert.assertEquals(3, finiteAutomataTable.getTargetsCount());
+		Assert.assertEquals(0, finiteAutomataTable.getTarget(
+				finiteAutomataTable.getTargetsStart(1, 1)));
+		Assert.assertEquals(1, finiteAutomataTable.getTarget(
+				finiteAutomataTable.getTargetsStart(1, 2)));
+	}
+
+	@Test
+	public void constructor_CharactersAreNotMerged_CreatesSymbolPerCharacter()
+	{
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				this.finiteAutomata, false);
+
+		Assert.assertEquals(256, finiteAutomataTable.getSymbolsCount());
+		Assert.assertEquals('7', finiteAutomataTable.getSymbol('7'));
+		Assert.assertEquals(21, finiteAutomataTable.getTransitionsCount());
+		Assert.assertEquals(21, finiteAutomataTable.getTargetsCount());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// [0-9]+(\.[0-9]+)*
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabet(AlphabetHelper.getByteAlphabet());
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		for (char character = '0'; character <= '9'; character++)
+		{
+			this.finiteAutomata.addTransition(new Transition(0, character, 1));
+			this.finiteAutomata.addTransition(new Transition(1, character, 1));
+		}
+
+		this.finiteAutomata.addTransition(new Transition(1, '.', 0));
+	}
+}
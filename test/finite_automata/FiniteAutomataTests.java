@@ -1,6 +1,7 @@
 package finite_automata;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Assert;
@@ -172,6 +173,31 @@ public class FiniteAutomataTests
 						.get(transition.getFromState()).contains(transition));
 	}
 	
+	@Test(expected = IllegalArgumentException.class)
+	public void setAlphabet_AlphabetHasRepeatedCharacter_ThrowsIllegalArgumentException()
+	{
+		this.finiteAutomata.setAlphabet(Arrays.asList('x', '\u00ff', 'x'));
+	}
+	
+	@Test
+	public void setAlphabet_SetsArbitraryAlphabetAndClearsTransitionsMap()
+			throws Exception
+	{
+		List<Character> alphabet = Arrays.asList('\u0000', '\u00ff', '\u044f');
+		
+		this.finiteAutomata.setAlphabet(alphabet);
+		
+		Assert.assertEquals(alphabet, this.finiteAutomata.getAlphabet());
+		
+		for (int i = 0, count = this.finiteAutomata.getStatesCardinality(); i < count; i++)
+		{
+			Assert.assertEquals(0,
+					this.finiteAutomata.getTransitionsMap().get(i).size());
+		}
+		
+		this.finiteAutomata.addTransition(new Transition(0, '\u044f', 1));
+	}
+	
 	@Test
 	public void setAlphabetCardinality_CardinalityIsInvalid_ThrowsIllegalArgumentException()
 	{
@@ -0,0 +1,137 @@
+package finite_automata.Helpers;
+
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class CountingHelperTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void countAcceptedWords_AutomataIsNonDetermined_CountsDistinctWords()
+			throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 3));
+
+		AcceptedWordsCount count = CountingHelper.countAcceptedWords(
+				this.finiteAutomata, 3);
+
+		Assert.assertEquals(0, count.getCount(1));
+		Assert.assertEquals(1, count.getCount(2));
+		Assert.assertEquals(1, count.getTotalCount());
+		Assert.assertEquals(false, count.isLanguageInfinite());
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void countAcceptedWords_CountDoesNotFitIntoLong_ThrowsArithmeticException()
+			throws Exception
+	{
+		CountingHelper.countAcceptedWords(this.finiteAutomata, 64);
+	}
+
+	@Test
+	public void countAcceptedWords_CountsWordsPerLength() throws Exception
+	{
+		AcceptedWordsCount count = CountingHelper.countAcceptedWords(
+				this.finiteAutomata, 10);
+
+		Assert.assertEquals(10, count.getMaxLength());
+		Assert.assertEquals(0, count.getCount(0));
+		Assert.assertEquals(1, count.getCount(1));
+		Assert.assertEquals(512, count.getCount(10));
+		Assert.assertEquals(1023, count.getTotalCount());
+		Assert.assertEquals(true, count.isLanguageInfinite());
+	}
+
+	@Test
+	public void countAcceptedWords_DeterministicAutomataExceedsStatesLimit_CountsWords()
+			throws Exception
+	{
+		// (a|b)*(a(a|b){24}|b), its deterministic automata has 2^25 states.
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(27);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(25);
+		this.finiteAutomata.addFiniteState(26);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 26));
+
+		for (int state = 1; state < 25; state++)
+		{
+			this.finiteAutomata.addTransition(new Transition(state, 'a',
+					state + 1));
+			this.finiteAutomata.addTransition(new Transition(state, 'b',
+					state + 1));
+		}
+
+		AcceptedWordsCount count = CountingHelper.countAcceptedWords(
+				this.finiteAutomata, 8);
+
+		Assert.assertEquals(1, count.getCount(1));
+		Assert.assertEquals(128, count.getCount(8));
+		Assert.assertEquals(255, count.getTotalCount());
+		Assert.assertEquals(true, count.isLanguageInfinite());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void countAcceptedWords_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		CountingHelper.countAcceptedWords(null, 1);
+	}
+
+	@Test
+	public void countAcceptedWordsExactly_CountDoesNotFitIntoLong_ReturnsExactCount()
+			throws Exception
+	{
+		AcceptedWordsCount count = CountingHelper.countAcceptedWordsExactly(
+				this.finiteAutomata, 100);
+
+		Assert.assertEquals(BigInteger.ONE.shiftLeft(99),
+				count.getExactCount(100));
+		Assert.assertEquals(BigInteger.ONE.shiftLeft(100).subtract(
+				BigInteger.ONE), count.getExactTotalCount());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// Words, starting with 'a'.
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(3);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 1));
+	}
+}
@@ -0,0 +1,101 @@
+package finite_automata.Helpers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+import finite_automata.Matchers.IMatcher;
+import finite_automata.Matchers.NonDeterministicMatcher;
+
+public class DeterminizationHelperTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private void assertSameLanguage(IMatcher expected, IMatcher actual,
+			String alphabet, String prefix, int maxLength)
+	{
+		Assert.assertEquals(prefix, expected.accepts(prefix),
+				actual.accepts(prefix));
+
+		if (prefix.length() < maxLength)
+		{
+			for (int i = 0; i < alphabet.length(); i++)
+			{
+				this.assertSameLanguage(expected, actual, alphabet, prefix
+						+ alphabet.charAt(i), maxLength);
+			}
+		}
+	}
+
+	@Test
+	public void determinize_AutomataIsNonDetermined_ReturnsEquivalentDeterministicAutomata()
+			throws Exception
+	{
+		IFiniteAutomata deterministicAutomata = DeterminizationHelper
+				.determinize(this.finiteAutomata);
+
+		this.assertSameLanguage(new NonDeterministicMatcher(
+				this.finiteAutomata), new CompiledFiniteAutomata(
+				deterministicAutomata), "ab", "", 8);
+	}
+
+	@Test
+	public void determinize_FiniteAutomataIsNotSet_ReturnsEmptyAutomata()
+			throws Exception
+	{
+		IFiniteAutomata deterministicAutomata = DeterminizationHelper
+				.determinize(new FiniteAutomata());
+
+		Assert.assertEquals(0, deterministicAutomata.getStatesCardinality());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void determinize_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		DeterminizationHelper.determinize(null);
+	}
+
+	@Test(expected = StatesLimitExceededException.class)
+	public void determinize_StatesLimitIsExceeded_ThrowsStatesLimitExceededException()
+			throws Exception
+	{
+		// Language (a|b)*a(a|b)(a|b) requires 8 deterministic states.
+		DeterminizationHelper.determinize(this.finiteAutomata, 7);
+	}
+
+	@Test
+	public void determinize_StatesLimitIsNotExceeded_ReturnsAutomataWithinLimit()
+			throws Exception
+	{
+		IFiniteAutomata deterministicAutomata = DeterminizationHelper
+				.determinize(this.finiteAutomata, 8);
+
+		Assert.assertEquals(8, deterministicAutomata.getStatesCardinality());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 3));
+	}
+}
@@ -0,0 +1,93 @@
+package finite_automata.Helpers;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+
+public class EquivalenceHelperTests
+{
+	private List<Character> alphabet;
+
+	private IFiniteAutomata compile(String pattern) throws Exception
+	{
+		return RegularExpressionHelper.compile(pattern, this.alphabet);
+	}
+
+	@Test
+	public void getCounterexample_AutomataAreEquivalent_ReturnsNull()
+			throws Exception
+	{
+		Assert.assertNull(EquivalenceHelper.getCounterexample(
+				this.compile("(a|b)*"), this.compile("(a*b*)*")));
+	}
+
+	@Test
+	public void getCounterexample_AutomataDiffer_ReturnsShortestWord()
+			throws Exception
+	{
+		Assert.assertEquals("a", EquivalenceHelper.getCounterexample(
+				this.compile("a*"), this.compile("(aa)*")));
+		Assert.assertEquals("abababab", EquivalenceHelper.getCounterexample(
+				this.compile("(ab){0,3}|(ab){5,}"), this.compile("(ab)*")));
+		Assert.assertEquals("", EquivalenceHelper.getCounterexample(
+				this.compile("a?"), this.compile("a")));
+	}
+
+	@Test
+	public void getCounterexample_LanguageIsEmpty_ReturnsShortestWordOfOther()
+			throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		Assert.assertEquals("ab", EquivalenceHelper.getCounterexample(
+				finiteAutomata, this.compile("ab|abb")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getCounterexample_SecondIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		EquivalenceHelper.getCounterexample(this.compile("a"), null);
+	}
+
+	@Test
+	public void isEquivalent_AlphabetsDiffer_ComparesLanguages()
+			throws Exception
+	{
+		IFiniteAutomata finiteAutomata = RegularExpressionHelper.compile("a+",
+				AlphabetHelper.getAlphabet("a"));
+
+		Assert.assertTrue(EquivalenceHelper.isEquivalent(finiteAutomata,
+				this.compile("aa*")));
+		Assert.assertFalse(EquivalenceHelper.isEquivalent(finiteAutomata,
+				this.compile("a+|b")));
+	}
+
+	@Test
+	public void isEquivalent_AutomataAreNondeterministic_DeterminizesThem()
+			throws Exception
+	{
+		Assert.assertTrue(EquivalenceHelper.isEquivalent(
+				this.compile("(a|b)*abb"), this.compile("(a|b)*a(b)b")));
+		Assert.assertFalse(EquivalenceHelper.isEquivalent(
+				this.compile("(a|b)*abb"), this.compile("(a|b)*bb")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void isEquivalent_FirstIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		EquivalenceHelper.isEquivalent(null, this.compile("a"));
+	}
+
+	@Before
+	public void setUp()
+	{
+		this.alphabet = AlphabetHelper.getAlphabet("ab");
+	}
+}
@@ -1,9 +1,16 @@
 package finite_automata.Helpers;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -12,7 +19,9 @@ import org.junit.Test;
 import finite_automata.FiniteAutomata;
 import finite_automata.IFiniteAutomata;
 import finite_automata.Transition;
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromFileException;
 import finite_automata.Exceptions.FailedToGetFiniteAutomataFromStringListException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
 
 public class FiniteAutomataHelperTests
 {
@@ -63,6 +72,127 @@ public class FiniteAutomataHelperTests
 				.convertFiniteAutomataToList(this.finiteAutomata));
 	}
 
+	@Test
+	public void getAcceptedWordsInParallel_ReturnsSameWordsAsIterator()
+			throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(3);
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'c', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'c', 1));
+
+		List<String> expectedWords = FiniteAutomataHelper
+				.getAcceptedWordsStream(this.finiteAutomata, 8, Long.MAX_VALUE)
+				.collect(Collectors.<String> toList());
+
+		List<String> words = FiniteAutomataHelper.getAcceptedWordsInParallel(
+				this.finiteAutomata, 8, new ForkJoinPool(4));
+
+		Assert.assertEquals(3280, expectedWords.size());
+		Assert.assertEquals(expectedWords, words);
+	}
+
+	@Test
+	public void getAcceptedWordsIterator_AutomataIsNonDetermined_ReturnsWordsWithoutDuplicates()
+			throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 0));
+
+		List<String> words = new ArrayList<String>();
+
+		Iterator<String> iterator = FiniteAutomataHelper
+				.getAcceptedWordsIterator(this.finiteAutomata, 6,
+						Long.MAX_VALUE);
+
+		while (iterator.hasNext())
+		{
+			words.add(iterator.next());
+		}
+
+		Assert.assertEquals(Arrays.asList("aaaaab", "aaab", "ab"), words);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getAcceptedWordsIterator_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+	{
+		FiniteAutomataHelper.getAcceptedWordsIterator(null, 1, 1);
+	}
+
+	@Test
+	public void getAcceptedWordsIterator_MaxCountIsReached_StopsIteration()
+	{
+		Iterator<String> iterator = FiniteAutomataHelper
+				.getAcceptedWordsIterator(this.finiteAutomata, 100, 2);
+
+		Assert.assertEquals(true, iterator.hasNext());
+		Assert.assertEquals(99, iterator.next().length());
+		Assert.assertEquals(true, iterator.hasNext());
+		Assert.assertEquals(96, iterator.next().length());
+		Assert.assertEquals(false, iterator.hasNext());
+	}
+
+	@Test
+	public void getAcceptedWordsStream_ReturnsWordsUpToMaxLength()
+	{
+		List<String> words = FiniteAutomataHelper
+				.getAcceptedWordsStream(this.finiteAutomata, 9, Long.MAX_VALUE)
+				.collect(Collectors.<String> toList());
+
+		Assert.assertEquals(Arrays.asList("abcdbcdbe", "abcdbe", "abe"),
+				words);
+	}
+
+	@Test
+	public void getAllAcceptedWords_AutomataHasCyclesAndDeadStates_KeepsOrderOfTransitions()
+			throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(3);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		// State 2 is dead; the transitions are not sorted by the target.
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 2));
+
+		Assert.assertEquals(
+				new HashSet<String>(Arrays.asList("a", "aa", "aaa", "aaaaa")),
+				FiniteAutomataHelper.getAllAcceptedWords(this.finiteAutomata));
+
+		// The same automata without the dead state.
+		this.finiteAutomata.removeTransition(new Transition(1, 'b', 2));
+
+		Assert.assertEquals(
+				new HashSet<String>(Arrays.asList("a", "aa", "aaa", "aaaaa")),
+				FiniteAutomataHelper.getAllAcceptedWords(this.finiteAutomata));
+	}
+
 	@Test
 	public void getAllAcceptedWords_AutomataIsNonDetermined_ReturnsValidListWithoutDuplicates()
 			throws Exception
@@ -142,6 +272,87 @@ public class FiniteAutomataHelperTests
 				FiniteAutomataHelper.getAllAcceptedWords(this.finiteAutomata));
 	}
 
+	@Test
+	public void getFiniteAutomataFromFile_FileWithInvalidData_ThrowsFailedToGetFiniteAutomataFromFileExceptionWithPosition()
+			throws Exception
+	{
+		Path path = Files.createTempFile("finite_automata", ".txt");
+
+		try
+		{
+			Files.write(path, "2\n3\n0\n1 2\n0 a 1\n1 c 2\n".getBytes(
+					StandardCharsets.UTF_8));
+
+			FiniteAutomataHelper.getFiniteAutomataFromFile(path);
+
+			Assert.fail();
+		}
+		catch (FailedToGetFiniteAutomataFromFileException exception)
+		{
+			Assert.assertEquals(6, exception.getLine());
+			Assert.assertEquals(5, exception.getColumn());
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void getFiniteAutomataFromFile_ReturnsSameAutomataAsStringList()
+			throws Exception
+	{
+		List<String> list = FiniteAutomataHelper
+				.convertFiniteAutomataToList(this.finiteAutomata);
+
+		Path path = Files.createTempFile("finite_automata", ".txt");
+
+		try
+		{
+			// Windows line separators and the trailing empty line are
+			// accepted as well; the small window crosses the tokens.
+			Files.write(path, (String.join("\r\n", list) + "\r\n\r\n")
+					.getBytes(StandardCharsets.UTF_8));
+
+			IFiniteAutomata automata = FiniteAutomataHelper
+					.getFiniteAutomataFromFile(path, 3);
+
+			Assert.assertEquals(list,
+					FiniteAutomataHelper.convertFiniteAutomataToList(automata));
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void getFiniteAutomataFromFile_TransitionIsRepeated_ThrowsFailedToGetFiniteAutomataFromFileExceptionWithLine()
+			throws Exception
+	{
+		Path path = Files.createTempFile("finite_automata", ".txt");
+
+		try
+		{
+			Files.write(path, "2\n3\n0\n1 2\n0 a 1\n1 b 2\n\n0 a 1\n"
+					.getBytes(StandardCharsets.UTF_8));
+
+			FiniteAutomataHelper.getFiniteAutomataFromFile(path);
+
+			Assert.fail();
+		}
+		catch (FailedToGetFiniteAutomataFromFileException exception)
+		{
+			Assert.assertEquals(8, exception.getLine());
+			Assert.assertEquals(true,
+					exception.getCause() instanceof TransitionAlreadyExistsException);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
 	@Test(expected = FailedToGetFiniteAutomataFromStringListException.class)
 	public void getFiniteAutomataFromStringList_InvalidListFormat_ThrowsFailedToGetFiniteAutomataFromStringListException()
 			throws Exception
@@ -223,6 +434,55 @@ public class FiniteAutomataHelperTests
 				automata.getTransitionsMap());
 	}
 
+	@Test
+	public void visitAcceptedWords_SinkReturnsFalse_StopsEnumeration()
+	{
+		final List<String> words = new ArrayList<String>();
+
+		long count = FiniteAutomataHelper.visitAcceptedWords(
+				this.finiteAutomata, 100, new IWordSink()
+				{
+					@Override
+					public boolean accept(CharSequence word)
+					{
+						words.add(word.toString());
+
+						return false;
+					}
+				});
+
+		Assert.assertEquals(1, count);
+		Assert.assertEquals(1, words.size());
+	}
+
+	@Test
+	public void visitAcceptedWords_VisitsWordsUpToMaxLength()
+	{
+		final List<String> words = new ArrayList<String>();
+
+		long count = FiniteAutomataHelper.visitAcceptedWords(
+				this.finiteAutomata, 9, new IWordSink()
+				{
+					@Override
+					public boolean accept(CharSequence word)
+					{
+						words.add(word.toString());
+
+						return true;
+					}
+				});
+
+		Assert.assertEquals(3, count);
+		Assert.assertEquals(Arrays.asList("abcdbcdbe", "abcdbe", "abe"),
+				words);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void visitAcceptedWords_WordSinkIsNull_ThrowsIllegalArgumentException()
+	{
+		FiniteAutomataHelper.visitAcceptedWords(this.finiteAutomata, 1, null);
+	}
+
 	@Before
 	public void setUp() throws Exception
 	{
@@ -0,0 +1,126 @@
+package finite_automata.Helpers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.CompactFiniteAutomata;
+import finite_automata.FiniteAutomata;
+import finite_automata.FiniteAutomataBuilder;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class LanguageHelperTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void getLanguageProperties_CycleCantReachFiniteState_ReturnsFiniteLanguage()
+			throws Exception
+	{
+		// Cycle 3 -> 4 -> 3 is reachable, but useless.
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(3, 'b', 4));
+		this.finiteAutomata.addTransition(new Transition(4, 'a', 3));
+
+		LanguageProperties languageProperties = LanguageHelper
+				.getLanguageProperties(this.finiteAutomata);
+
+		Assert.assertEquals(false, languageProperties.isEmpty());
+		Assert.assertEquals(true, languageProperties.isFinite());
+		Assert.assertEquals(2, languageProperties.getLongestWordLength());
+	}
+
+	@Test
+	public void getLanguageProperties_CycleThroughUsefulStates_ReturnsInfiniteLanguage()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 1));
+
+		LanguageProperties languageProperties = LanguageHelper
+				.getLanguageProperties(this.finiteAutomata);
+
+		Assert.assertEquals(false, languageProperties.isEmpty());
+		Assert.assertEquals(false, languageProperties.isFinite());
+		Assert.assertEquals(-1, languageProperties.getLongestWordLength());
+	}
+
+	@Test
+	public void getLanguageProperties_FiniteStateIsUnreachable_ReturnsEmptyLanguage()
+			throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata.setAlphabetCardinality(1);
+		finiteAutomata.setStatesCardinality(3);
+		finiteAutomata.setInitialState(0);
+		finiteAutomata.addFiniteState(2);
+
+		finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		finiteAutomata.addTransition(new Transition(1, 'a', 2));
+
+		LanguageProperties languageProperties = LanguageHelper
+				.getLanguageProperties(finiteAutomata);
+
+		Assert.assertEquals(true, languageProperties.isEmpty());
+		Assert.assertEquals(true, languageProperties.isFinite());
+		Assert.assertEquals(-1, languageProperties.getLongestWordLength());
+	}
+
+	@Test
+	public void getLanguageProperties_LongChain_DoesNotOverflowStack()
+			throws Exception
+	{
+		int statesCardinality = 1000000;
+
+		FiniteAutomataBuilder finiteAutomataBuilder = new FiniteAutomataBuilder()
+				.setAlphabetCardinality(2)
+				.setStatesCardinality(statesCardinality).setInitialState(0)
+				.addFiniteState(statesCardinality - 1);
+
+		for (int state = 0; state + 1 < statesCardinality; state++)
+		{
+			finiteAutomataBuilder.addTransition(state, 'a', state + 1);
+			finiteAutomataBuilder.addTransition(state, 'b', state + 1);
+		}
+
+		CompactFiniteAutomata finiteAutomata = finiteAutomataBuilder.build();
+
+		Assert.assertEquals(statesCardinality - 1, LanguageHelper
+				.getLanguageProperties(finiteAutomata).getLongestWordLength());
+
+		finiteAutomata.addTransition(new Transition(statesCardinality - 1,
+				'a', 0));
+
+		Assert.assertEquals(false,
+				LanguageHelper.getLanguageProperties(finiteAutomata).isFinite());
+	}
+
+	@Test
+	public void getLanguageProperties_NonDeterministicAutomata_ReturnsLongestPath()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+
+		LanguageProperties languageProperties = LanguageHelper
+				.getLanguageProperties(this.finiteAutomata);
+
+		Assert.assertEquals(true, languageProperties.isFinite());
+		Assert.assertEquals(2, languageProperties.getLongestWordLength());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// "ab"
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(5);
+		this.finiteAutomata.setInitialState(0);
+		this.finiteAutomata.addFiniteState(2);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+	}
+}
@@ -0,0 +1,133 @@
+package finite_automata.Helpers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+import finite_automata.Matchers.IMatcher;
+
+public class MinimizationHelperTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private void assertSameLanguage(IMatcher expected, IMatcher actual,
+			String alphabet, String prefix, int maxLength)
+	{
+		Assert.assertEquals(prefix, expected.accepts(prefix),
+				actual.accepts(prefix));
+
+		if (prefix.length() < maxLength)
+		{
+			for (int i = 0; i < alphabet.length(); i++)
+			{
+				this.assertSameLanguage(expected, actual, alphabet, prefix
+						+ alphabet.charAt(i), maxLength);
+			}
+		}
+	}
+
+	@Test(expected = FiniteAutomataIsNotDeterministicException.class)
+	public void minimize_AutomataIsNonDetermined_ThrowsFiniteAutomataIsNotDeterministicException()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+
+		MinimizationHelper.minimize(this.finiteAutomata);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void minimize_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		MinimizationHelper.minimize(null);
+	}
+
+	@Test
+	public void minimize_LanguageIsEmpty_ReturnsSingleState() throws Exception
+	{
+		this.finiteAutomata.setStatesCardinality(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+
+		MinimizationResult result = MinimizationHelper
+				.minimize(this.finiteAutomata);
+
+		Assert.assertEquals(1, result.getStatesCountAfter());
+		Assert.assertEquals(0, result.getFiniteAutomata().getFiniteStates()
+				.size());
+	}
+
+	@Test
+	public void minimize_NonDeterministicAutomataIsDeterminized_ReturnsMinimalAutomata()
+			throws Exception
+	{
+		// (a|b)*a(a|b)(a|b): subset construction is minimal here already.
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 3));
+
+		IFiniteAutomata deterministicAutomata = DeterminizationHelper
+				.determinize(this.finiteAutomata);
+
+		MinimizationResult result = MinimizationHelper
+				.minimize(deterministicAutomata);
+
+		Assert.assertEquals(8, result.getStatesCountBefore());
+		Assert.assertEquals(8, result.getStatesCountAfter());
+	}
+
+	@Test
+	public void minimize_ReturnsEquivalentMinimalAutomata() throws Exception
+	{
+		MinimizationResult result = MinimizationHelper
+				.minimize(this.finiteAutomata);
+
+		Assert.assertEquals(6, result.getStatesCountBefore());
+		Assert.assertEquals(2, result.getStatesCountAfter());
+		Assert.assertEquals(0, result.getFiniteAutomata().getInitialState());
+
+		this.assertSameLanguage(new CompiledFiniteAutomata(
+				this.finiteAutomata),
+				new CompiledFiniteAutomata(result.getFiniteAutomata()), "ab",
+				"", 8);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// Words with odd count of 'a', written with redundant and
+		// unreachable states.
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(6);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(3, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(3, 'b', 1));
+		this.finiteAutomata.addTransition(new Transition(4, 'a', 5));
+		this.finiteAutomata.addTransition(new Transition(5, 'b', 4));
+	}
+}
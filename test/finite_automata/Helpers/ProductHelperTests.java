@@ -0,0 +1,128 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Exceptions.StatesLimitExceededException;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+import finite_automata.Matchers.IMatcher;
+import finite_automata.Matchers.NonDeterministicMatcher;
+
+public class ProductHelperTests
+{
+	private IFiniteAutomata first;
+
+	private IFiniteAutomata second;
+
+	private void assertProductLanguage(IMatcher product,
+			ProductOperation operation, String prefix, int maxLength)
+	{
+		boolean expected = operation.accepts(new NonDeterministicMatcher(
+				this.first).accepts(prefix), new NonDeterministicMatcher(
+				this.second).accepts(prefix));
+
+		Assert.assertEquals(prefix, expected, product.accepts(prefix));
+
+		if (prefix.length() < maxLength)
+		{
+			this.assertProductLanguage(product, operation, prefix + 'a',
+					maxLength);
+			this.assertProductLanguage(product, operation, prefix + 'b',
+					maxLength);
+		}
+	}
+
+	@Test
+	public void getProduct_AlphabetsDiffer_UsesUnionOfAlphabets()
+			throws Exception
+	{
+		IFiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata.setAlphabet(Arrays.asList('c'));
+		finiteAutomata.setStatesCardinality(1);
+		finiteAutomata.setInitialState(0);
+		finiteAutomata.addFiniteState(0);
+		finiteAutomata.addTransition(new Transition(0, 'c', 0));
+
+		IFiniteAutomata product = ProductHelper.getProduct(this.first,
+				finiteAutomata, ProductOperation.UNION);
+
+		Assert.assertEquals(Arrays.asList('a', 'b', 'c'),
+				product.getAlphabet());
+
+		CompiledFiniteAutomata compiledFiniteAutomata = new CompiledFiniteAutomata(
+				product);
+
+		Assert.assertEquals(true, compiledFiniteAutomata.accepts("ccc"));
+		Assert.assertEquals(true, compiledFiniteAutomata.accepts("aab"));
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts("ac"));
+	}
+
+	@Test
+	public void getProduct_EveryOperation_AcceptsCombinedLanguage()
+			throws Exception
+	{
+		for (ProductOperation operation : ProductOperation.values())
+		{
+			this.assertProductLanguage(new CompiledFiniteAutomata(
+					ProductHelper.getProduct(this.first, this.second,
+							operation)), operation, "", 8);
+		}
+	}
+
+	@Test
+	public void getProduct_Intersection_CreatesOnlyLiveReachablePairs()
+			throws Exception
+	{
+		IFiniteAutomata product = ProductHelper.getProduct(this.first,
+				this.second, ProductOperation.INTERSECTION);
+
+		// Pairs of the 2 states of the first automata and the 3 subsets of
+		// the determinized second one.
+		Assert.assertEquals(6, product.getStatesCardinality());
+	}
+
+	@Test(expected = StatesLimitExceededException.class)
+	public void getProduct_StatesLimitIsExceeded_ThrowsStatesLimitExceededException()
+			throws Exception
+	{
+		ProductHelper.getProduct(this.first, this.second,
+				ProductOperation.UNION, 2);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// Even count of 'a'.
+		this.first = new FiniteAutomata();
+
+		this.first.setAlphabetCardinality(2);
+		this.first.setStatesCardinality(2);
+		this.first.setInitialState(0);
+		this.first.addFiniteState(0);
+
+		this.first.addTransition(new Transition(0, 'a', 1));
+		this.first.addTransition(new Transition(1, 'a', 0));
+		this.first.addTransition(new Transition(0, 'b', 0));
+		this.first.addTransition(new Transition(1, 'b', 1));
+
+		// Words, ending with "ab" (nondeterministic).
+		this.second = new FiniteAutomata();
+
+		this.second.setAlphabetCardinality(2);
+		this.second.setStatesCardinality(3);
+		this.second.setInitialState(0);
+		this.second.addFiniteState(2);
+
+		this.second.addTransition(new Transition(0, 'a', 0));
+		this.second.addTransition(new Transition(0, 'b', 0));
+		this.second.addTransition(new Transition(0, 'a', 1));
+		this.second.addTransition(new Transition(1, 'b', 2));
+	}
+}
@@ -0,0 +1,146 @@
+package finite_automata.Helpers;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Exceptions.FailedToCompileRegularExpressionException;
+import finite_automata.Matchers.CompiledFiniteAutomata;
+
+public class RegularExpressionHelperTests
+{
+	private List<Character> alphabet;
+
+	private boolean accepts(String pattern, String word) throws Exception
+	{
+		return new CompiledFiniteAutomata(
+				DeterminizationHelper.determinize(RegularExpressionHelper
+						.compile(pattern, this.alphabet))).accepts(word);
+	}
+
+	@Test
+	public void compile_Alternation_AcceptsEitherBranch() throws Exception
+	{
+		Assert.assertTrue(this.accepts("ab|c", "ab"));
+		Assert.assertTrue(this.accepts("ab|c", "c"));
+		Assert.assertFalse(this.accepts("ab|c", "abc"));
+		Assert.assertTrue(this.accepts("a(|b)", "a"));
+	}
+
+	@Test
+	public void compile_BoundedRepetition_AcceptsCountsInRange()
+			throws Exception
+	{
+		Assert.assertFalse(this.accepts("(ab){2,3}", "ab"));
+		Assert.assertTrue(this.accepts("(ab){2,3}", "abab"));
+		Assert.assertTrue(this.accepts("(ab){2,3}", "ababab"));
+		Assert.assertFalse(this.accepts("(ab){2,3}", "abababab"));
+		Assert.assertTrue(this.accepts("a{2}{2}", "aaaa"));
+		Assert.assertFalse(this.accepts("a{2}{2}", "aaa"));
+	}
+
+	@Test
+	public void compile_CharacterClass_AcceptsCharactersOfClass()
+			throws Exception
+	{
+		Assert.assertTrue(this.accepts("[a-c]+", "abca"));
+		Assert.assertFalse(this.accepts("[a-c]+", "abd"));
+		Assert.assertTrue(this.accepts("[^a-c]", "d"));
+		Assert.assertFalse(this.accepts("[^a-c]", "b"));
+		Assert.assertTrue(this.accepts("\\d\\d", "42"));
+	}
+
+	@Test
+	public void compile_CharacterIsNotInAlphabet_ThrowsFailedToCompileRegularExpressionException()
+			throws Exception
+	{
+		try
+		{
+			RegularExpressionHelper.compile("ab\u0100", this.alphabet);
+
+			Assert.fail();
+		}
+		catch (FailedToCompileRegularExpressionException exception)
+		{
+			Assert.assertEquals(2, exception.getPosition());
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void compile_LongAlternation_TakesLinearTime() throws Exception
+	{
+		// Keyword lists: the alternation of 80000 branches.
+		int branchesCount = 80000;
+		StringBuilder pattern = new StringBuilder();
+
+		for (int i = 0; i < branchesCount; i++)
+		{
+			if (i > 0)
+			{
+				pattern.append('|');
+			}
+
+			pattern.append((char) ('a' + i % 26));
+		}
+
+		Assert.assertEquals(branchesCount + 1, RegularExpressionHelper
+				.compile(pattern.toString(), this.alphabet)
+				.getStatesCardinality());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compile_PatternIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		RegularExpressionHelper.compile(null);
+	}
+
+	@Test
+	public void compile_Quantifiers_AcceptsRepeatedWords() throws Exception
+	{
+		Assert.assertTrue(this.accepts("ab*c", "ac"));
+		Assert.assertTrue(this.accepts("ab*c", "abbbc"));
+		Assert.assertFalse(this.accepts("ab+c", "ac"));
+		Assert.assertTrue(this.accepts("ab?c", "abc"));
+		Assert.assertFalse(this.accepts("ab?c", "abbc"));
+		Assert.assertTrue(this.accepts("(a*)*", ""));
+	}
+
+	@Test
+	public void compile_ReturnsStatePerPosition() throws Exception
+	{
+		Assert.assertEquals(5,
+				RegularExpressionHelper.compile("a(b|c)*d").getStatesCardinality());
+	}
+
+	@Test
+	public void compile_SyntaxIsInvalid_ThrowsFailedToCompileRegularExpressionException()
+	{
+		String[] patterns = { "(ab", "ab)", "*a", "[ab", "a{3,2}", "a{x}",
+				"\\q" };
+		int[] positions = { 0, 2, 0, 0, 1, 1, 0 };
+
+		for (int i = 0; i < patterns.length; i++)
+		{
+			try
+			{
+				RegularExpressionHelper.compile(patterns[i], this.alphabet);
+
+				Assert.fail(patterns[i]);
+			}
+			catch (FailedToCompileRegularExpressionException exception)
+			{
+				Assert.assertEquals(patterns[i], positions[i],
+						exception.getPosition());
+			}
+		}
+	}
+
+	@Before
+	public void setUp()
+	{
+		this.alphabet = AlphabetHelper.getByteAlphabet();
+	}
+}
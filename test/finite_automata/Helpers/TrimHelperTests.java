@@ -0,0 +1,75 @@
+package finite_automata.Helpers;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class TrimHelperTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void trim_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+	{
+		TrimHelper.trim(null);
+	}
+
+	@Test
+	public void trim_LanguageIsEmpty_ReturnsAutomataWithoutStates()
+			throws Exception
+	{
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+		this.finiteAutomata.addFiniteState(1);
+
+		Assert.assertEquals(0, TrimHelper.trim(this.finiteAutomata)
+				.getStatesCardinality());
+	}
+
+	@Test
+	public void trim_RemovesUnreachableAndDeadStates() throws Exception
+	{
+		IFiniteAutomata trimmedFiniteAutomata = TrimHelper
+				.trim(this.finiteAutomata);
+
+		// States 1, 3 and 5 are renumbered to 0, 1 and 2.
+		Assert.assertEquals(3, trimmedFiniteAutomata.getStatesCardinality());
+		Assert.assertEquals(0, trimmedFiniteAutomata.getInitialState());
+		Assert.assertEquals(Arrays.asList(2),
+				trimmedFiniteAutomata.getFiniteStates());
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 1),
+				new Transition(0, 'b', 1)), trimmedFiniteAutomata
+				.getTransitionsMap().get(0));
+		Assert.assertEquals(Arrays.asList(new Transition(1, 'b', 2)),
+				trimmedFiniteAutomata.getTransitionsMap().get(1));
+		Assert.assertEquals(0, trimmedFiniteAutomata.getTransitionsMap()
+				.get(2).size());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(6);
+		this.finiteAutomata.setInitialState(1);
+		this.finiteAutomata.addFiniteState(5);
+		this.finiteAutomata.addFiniteState(0);
+
+		// 0 is unreachable, 2 and 4 are dead.
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 4));
+		this.finiteAutomata.addTransition(new Transition(3, 'b', 5));
+		this.finiteAutomata.addTransition(new Transition(3, 'a', 4));
+	}
+}
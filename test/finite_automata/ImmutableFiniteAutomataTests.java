@@ -0,0 +1,56 @@
+package finite_automata;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImmutableFiniteAutomataTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void addFiniteState_ThrowsUnsupportedOperationException()
+			throws Exception
+	{
+		this.finiteAutomata.snapshot().addFiniteState(0);
+	}
+
+	@Test
+	public void snapshot_SourceIsChangedAfterwards_SnapshotIsNotChanged()
+			throws Exception
+	{
+		ImmutableFiniteAutomata snapshot = this.finiteAutomata.snapshot();
+
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 0));
+		this.finiteAutomata.addFiniteState(0);
+
+		Assert.assertEquals(Arrays.asList(1), snapshot.getFiniteStates());
+		Assert.assertEquals(1, snapshot.getTransitionsCount());
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'b', 1)), snapshot
+				.getTransitionsMap().get(0));
+		Assert.assertSame(snapshot, snapshot.snapshot());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void snapshot_TransitionsListIsChanged_ThrowsUnsupportedOperationException()
+	{
+		this.finiteAutomata.snapshot().getTransitionsMap().get(0)
+				.add(new Transition(0, 'a', 0));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 1));
+	}
+}
@@ -0,0 +1,120 @@
+package finite_automata;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Exceptions.FailedToGetFiniteAutomataFromFileException;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+public class MappedFiniteAutomataTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private Path path;
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void addTransition_ThrowsUnsupportedOperationException()
+			throws Exception
+	{
+		new MappedFiniteAutomata(this.path).addTransition(new Transition(0,
+				'a', 0));
+	}
+
+	@Test(expected = FailedToGetFiniteAutomataFromFileException.class)
+	public void constructor_ChecksumDoesNotMatch_ThrowsFailedToGetFiniteAutomataFromFileException()
+			throws Exception
+	{
+		byte[] bytes = Files.readAllBytes(this.path);
+
+		// Corrupt the last target: 4 bytes of padding and 8 bytes of the
+		// checksum follow it.
+		bytes[bytes.length - 13] ^= 1;
+
+		Files.write(this.path, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+
+		new MappedFiniteAutomata(this.path, true);
+	}
+
+	@Test(expected = FailedToGetFiniteAutomataFromFileException.class)
+	public void constructor_FileIsNotBinaryFiniteAutomata_ThrowsFailedToGetFiniteAutomataFromFileException()
+			throws Exception
+	{
+		Files.write(this.path,
+				FiniteAutomataHelper.convertFiniteAutomataToList(
+						this.finiteAutomata), StandardOpenOption.TRUNCATE_EXISTING);
+
+		new MappedFiniteAutomata(this.path);
+	}
+
+	@Test
+	public void constructor_MapsWrittenFiniteAutomata() throws Exception
+	{
+		MappedFiniteAutomata finiteAutomata = new MappedFiniteAutomata(
+				this.path, true);
+
+		Assert.assertEquals(this.finiteAutomata.getAlphabet(),
+				finiteAutomata.getAlphabet());
+		Assert.assertEquals(this.finiteAutomata.getStatesCardinality(),
+				finiteAutomata.getStatesCardinality());
+		Assert.assertEquals(this.finiteAutomata.getInitialState(),
+				finiteAutomata.getInitialState());
+		Assert.assertEquals(Arrays.asList(3, 70),
+				finiteAutomata.getFiniteStates());
+		Assert.assertEquals(5, finiteAutomata.getTransitionsCount());
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 1),
+				new Transition(0, 'a', 70), new Transition(0, 'c', 3)),
+				finiteAutomata.getTransitionsMap().get(0));
+		Assert.assertEquals(Arrays.asList(new Transition(70, 'b', 3)),
+				finiteAutomata.getTransitionsMap().get(70));
+	}
+
+	@Test
+	public void findTarget_ReturnsTargetOfFirstTransitionOrMinusOne()
+			throws Exception
+	{
+		MappedFiniteAutomata finiteAutomata = new MappedFiniteAutomata(
+				this.path);
+
+		Assert.assertEquals(1, finiteAutomata.findTarget(0, 'a'));
+		Assert.assertEquals(-1, finiteAutomata.findTarget(0, 'b'));
+		Assert.assertEquals(3, finiteAutomata.findTarget(0, 'c'));
+		Assert.assertEquals(-1, finiteAutomata.findTarget(2, 'a'));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(3);
+		this.finiteAutomata.setStatesCardinality(71);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(70);
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'c', 3));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 70));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 70));
+		this.finiteAutomata.addTransition(new Transition(70, 'b', 3));
+
+		this.path = Files.createTempFile("finite_automata", ".bin");
+
+		FiniteAutomataHelper.writeFiniteAutomataToBinaryFile(
+				this.finiteAutomata, this.path);
+	}
+
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists(this.path);
+	}
+}
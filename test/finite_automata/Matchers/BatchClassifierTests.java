@@ -0,0 +1,92 @@
+package finite_automata.Matchers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class BatchClassifierTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private List<String> words;
+
+	@Test
+	public void classify_AutomataIsNonDetermined_ReturnsAcceptedIndexes()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+
+		BitSet accepted = new BatchClassifier(this.finiteAutomata,
+				new ForkJoinPool(4)).classify(this.words);
+
+		for (int i = 0; i < this.words.size(); i++)
+		{
+			Assert.assertEquals(this.words.get(i).endsWith("ab"),
+					accepted.get(i));
+		}
+	}
+
+	@Test
+	public void classify_ReturnsAcceptedIndexes() throws Exception
+	{
+		BitSet accepted = new BatchClassifier(this.finiteAutomata)
+				.classify(new LinkedList<String>(this.words));
+
+		Assert.assertEquals(this.words.size() / 5, accepted.cardinality());
+		Assert.assertEquals(1, accepted.nextSetBit(0));
+		Assert.assertEquals(6, accepted.nextSetBit(2));
+	}
+
+	@Test
+	public void classify_Stream_ReturnsAcceptedPositions() throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+
+		BitSet accepted = new BatchClassifier(this.finiteAutomata)
+				.classify(this.words.stream());
+
+		Assert.assertEquals(new BatchClassifier(this.finiteAutomata)
+				.classify(this.words), accepted);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void classify_WordsIsNull_ThrowsIllegalArgumentException()
+	{
+		new BatchClassifier(this.finiteAutomata)
+				.classify((List<String>) null);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// ab
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(3);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(2);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+
+		// Enough words to span several chunks and leaf tasks.
+		this.words = new ArrayList<String>();
+
+		for (int i = 0; i < BatchClassifier.STREAM_CHUNK_SIZE + 5000; i++)
+		{
+			this.words.add(new String[] { "a", "ab", "aab", "abc", "" }[i % 5]);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package finite_automata.Matchers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Exceptions.FiniteAutomataIsNotDeterministicException;
+
+public class CompiledFiniteAutomataTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void accepts_AcceptedWords_ReturnsTrue() throws Exception
+	{
+		CompiledFiniteAutomata compiledFiniteAutomata = new CompiledFiniteAutomata(
+				this.finiteAutomata);
+
+		Assert.assertEquals(true, compiledFiniteAutomata.accepts("abe"));
+		Assert.assertEquals(true, compiledFiniteAutomata.accepts("abcdbe"));
+		Assert.assertEquals(true,
+				compiledFiniteAutomata.accepts(new StringBuilder("abcdbcdbe")));
+	}
+
+	@Test
+	public void accepts_FiniteAutomataIsNotSet_ReturnsFalse() throws Exception
+	{
+		CompiledFiniteAutomata compiledFiniteAutomata = new CompiledFiniteAutomata(
+				new FiniteAutomata());
+
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts(""));
+	}
+
+	@Test
+	public void accepts_NotAcceptedWords_ReturnsFalse() throws Exception
+	{
+		CompiledFiniteAutomata compiledFiniteAutomata = new CompiledFiniteAutomata(
+				this.finiteAutomata);
+
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts(""));
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts("ab"));
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts("abea"));
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts("abf"));
+		Assert.assertEquals(false, compiledFiniteAutomata.accepts("ab\u044f"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void accepts_WordIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		new CompiledFiniteAutomata(this.finiteAutomata).accepts(null);
+	}
+
+	@Test(expected = FiniteAutomataIsNotDeterministicException.class)
+	public void constructor_AutomataIsNonDetermined_ThrowsFiniteAutomataIsNotDeterministicException()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+
+		new CompiledFiniteAutomata(this.finiteAutomata);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_FiniteAutomataIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		new CompiledFiniteAutomata((IFiniteAutomata) null);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(5);
+		this.finiteAutomata.setStatesCardinality(5);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(4);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'c', 3));
+		this.finiteAutomata.addTransition(new Transition(3, 'd', 1));
+		this.finiteAutomata.addTransition(new Transition(2, 'e', 4));
+	}
+}
@@ -0,0 +1,186 @@
+package finite_automata.Matchers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.ImmutableFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+public class FiniteAutomataHolderTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void accepts_WritersUpdateConcurrently_ReadersSeeWholeSnapshots()
+			throws Exception
+	{
+		final FiniteAutomataHolder holder = new FiniteAutomataHolder(
+				this.finiteAutomata);
+		final AtomicBoolean isStopped = new AtomicBoolean(false);
+		final AtomicReference<String> failure = new AtomicReference<String>();
+
+		// Every snapshot accepts exactly one of "a" and "b".
+		Thread reader = new Thread()
+		{
+			@Override
+			public void run()
+			{
+				while (!isStopped.get())
+				{
+					IMatcher matcher = holder.getMatcher();
+
+					if (matcher.accepts("a") == matcher.accepts("b"))
+					{
+						failure.set("Snapshot is partially updated.");
+					}
+				}
+			}
+		};
+
+		reader.start();
+
+		for (int i = 0; i < 200; i++)
+		{
+			final char removed = (i % 2 == 0) ? 'a' : 'b';
+			final char added = (i % 2 == 0) ? 'b' : 'a';
+
+			holder.update(new IFiniteAutomataEditor()
+			{
+				@Override
+				public void edit(IFiniteAutomata finiteAutomata)
+						throws TransitionAlreadyExistsException,
+						NonExistentTransitionException
+				{
+					finiteAutomata.removeTransition(new Transition(0, removed,
+							1));
+					finiteAutomata.addTransition(new Transition(0, added, 1));
+				}
+			});
+		}
+
+		isStopped.set(true);
+		reader.join();
+
+		Assert.assertNull(failure.get());
+		Assert.assertEquals(true, holder.accepts("a"));
+	}
+
+	@Test
+	public void update_EditorThrows_KeepsCurrentSnapshot() throws Exception
+	{
+		FiniteAutomataHolder holder = new FiniteAutomataHolder(
+				this.finiteAutomata);
+
+		ImmutableFiniteAutomata snapshot = holder.getFiniteAutomata();
+
+		try
+		{
+			holder.update(new IFiniteAutomataEditor()
+			{
+				@Override
+				public void edit(IFiniteAutomata finiteAutomata)
+						throws TransitionAlreadyExistsException
+				{
+					finiteAutomata.addTransition(new Transition(1, 'b', 1));
+					finiteAutomata.addTransition(new Transition(0, 'a', 1));
+				}
+			});
+
+			Assert.fail();
+		}
+		catch (TransitionAlreadyExistsException exception)
+		{
+			Assert.assertSame(snapshot, holder.getFiniteAutomata());
+			Assert.assertEquals(false, holder.accepts("ab"));
+		}
+	}
+
+	@Test
+	public void update_AutomataStaysNondeterministic_MatchersKeepTheirSnapshots()
+			throws Exception
+	{
+		FiniteAutomataHolder holder = new FiniteAutomataHolder(
+				this.finiteAutomata);
+
+		// a+
+		holder.update(new IFiniteAutomataEditor()
+		{
+			@Override
+			public void edit(IFiniteAutomata finiteAutomata)
+					throws TransitionAlreadyExistsException
+			{
+				finiteAutomata.addTransition(new Transition(0, 'a', 0));
+			}
+		});
+
+		IMatcher matcher = holder.getMatcher();
+
+		Assert.assertEquals(true, matcher.accepts("aa"));
+
+		// a+|a*b
+		holder.update(new IFiniteAutomataEditor()
+		{
+			@Override
+			public void edit(IFiniteAutomata finiteAutomata)
+					throws TransitionAlreadyExistsException
+			{
+				finiteAutomata.addTransition(new Transition(0, 'b', 1));
+			}
+		});
+
+		for (int i = 0; i < 2; i++)
+		{
+			Assert.assertEquals(true, holder.accepts("aab"));
+			Assert.assertEquals(false, matcher.accepts("aab"));
+			Assert.assertEquals(true, matcher.accepts("aa"));
+		}
+	}
+
+	@Test
+	public void update_PublishesEditedSnapshot() throws Exception
+	{
+		FiniteAutomataHolder holder = new FiniteAutomataHolder(
+				this.finiteAutomata);
+
+		IMatcher matcher = holder.getMatcher();
+
+		// Makes the automata nondeterministic.
+		holder.update(new IFiniteAutomataEditor()
+		{
+			@Override
+			public void edit(IFiniteAutomata finiteAutomata)
+					throws TransitionAlreadyExistsException
+			{
+				finiteAutomata.addTransition(new Transition(0, 'a', 0));
+			}
+		});
+
+		Assert.assertEquals(true, holder.accepts("aaa"));
+		Assert.assertEquals(false, matcher.accepts("aaa"));
+		Assert.assertEquals(2, holder.getFiniteAutomata()
+				.getTransitionsCount());
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// a
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+	}
+}
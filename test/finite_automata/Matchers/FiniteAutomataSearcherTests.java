@@ -0,0 +1,268 @@
+package finite_automata.Matchers;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Helpers.AlphabetHelper;
+import finite_automata.Helpers.RegularExpressionHelper;
+
+public class FiniteAutomataSearcherTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void search_AllMode_ReturnsEveryMatchOrderedByEnd()
+			throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(Arrays.asList(new Match(1, 3), new Match(2, 4),
+				new Match(1, 5), new Match(5, 7)),
+				searcher.search("xabcdab", SearchMode.ALL));
+	}
+
+	@Test
+	public void search_ByteAlphabet_FindsMatchesOfMergedCharacters()
+			throws Exception
+	{
+		// [0-9]+
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabet(AlphabetHelper.getByteAlphabet());
+		this.finiteAutomata.setStatesCardinality(2);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(1);
+
+		for (char character = '0'; character <= '9'; character++)
+		{
+			this.finiteAutomata.addTransition(new Transition(0, character, 1));
+			this.finiteAutomata.addTransition(new Transition(1, character, 1));
+		}
+
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(Arrays.asList(new Match(2, 5), new Match(8, 9)),
+				searcher.search("\u00ff 123\tx\u044f7", SearchMode.LEFTMOST_LONGEST));
+	}
+
+	@Test
+	public void search_EmptyWordIsAccepted_ReturnsNonEmptyMatchesOnly()
+			throws Exception
+	{
+		// a*
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(1);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(0);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(Arrays.asList(new Match(1, 3)),
+				searcher.search("baab", SearchMode.LEFTMOST_LONGEST));
+		Assert.assertEquals(Arrays.asList(new Match(1, 2), new Match(1, 3),
+				new Match(2, 3)), searcher.search("baab", SearchMode.ALL));
+	}
+
+	@Test(timeout = 5000)
+	public void search_LeftmostLongestMode_LongNonMatchingPrefix_ScansLinearly()
+			throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				RegularExpressionHelper.compile("a*b|c",
+						AlphabetHelper.getAlphabet("abc")));
+
+		// Words of "a*" prefix the matches of "a*b", but no match starts there.
+		int length = 200000;
+		StringBuilder text = new StringBuilder(length + 1);
+
+		for (int i = 0; i < length; i++)
+		{
+			text.append('a');
+		}
+
+		text.append('c');
+
+		Assert.assertEquals(Arrays.asList(new Match(length, length + 1)),
+				searcher.search(text, SearchMode.LEFTMOST_LONGEST));
+	}
+
+	@Test(timeout = 5000)
+	public void search_LeftmostLongestMode_ScansRunPastMatches_ScansLinearly()
+			throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				RegularExpressionHelper.compile("a|a*b",
+						AlphabetHelper.getAlphabet("ab")));
+
+		// Every scan runs to the end of the text, looking for "b".
+		int length = 200000;
+		StringBuilder text = new StringBuilder(length);
+
+		for (int i = 0; i < length; i++)
+		{
+			text.append('a');
+		}
+
+		List<Match> matches = searcher.search(text,
+				SearchMode.LEFTMOST_LONGEST);
+
+		Assert.assertEquals(length, matches.size());
+		Assert.assertEquals(new Match(length - 1, length),
+				matches.get(length - 1));
+	}
+
+	@Test
+	public void search_LeftmostLongestMode_PrefersLeftmostStartOverEarliestEnd()
+			throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		// "bc" ends before "abcd", but "abcd" starts first.
+		Assert.assertEquals(Arrays.asList(new Match(1, 5), new Match(5, 7),
+				new Match(8, 10)), searcher.search("xabcdabdbc",
+				SearchMode.LEFTMOST_LONGEST));
+	}
+
+	@Test
+	public void search_MappedFile_ReturnsByteOffsets() throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		Path path = Files.createTempFile("finite_automata", ".txt");
+
+		try
+		{
+			Files.write(path, "ab\nzbc".getBytes(StandardCharsets.US_ASCII));
+
+			final List<Match> matches = new ArrayList<Match>();
+
+			long count = searcher.search(path, SearchMode.LEFTMOST_LONGEST,
+					new IMatchSink()
+					{
+						@Override
+						public boolean accept(long start, long end)
+						{
+							matches.add(new Match((int) start, (int) end));
+
+							return true;
+						}
+					});
+
+			Assert.assertEquals(2, count);
+			Assert.assertEquals(Arrays.asList(new Match(0, 2), new Match(4, 6)),
+					matches);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void search_MappedFileWithSmallWindow_FindsMatchesAcrossWindows()
+			throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		Path path = Files.createTempFile("finite_automata", ".txt");
+
+		try
+		{
+			Files.write(path, "xabcdabdbc".getBytes(StandardCharsets.US_ASCII));
+
+			final List<Match> matches = new ArrayList<Match>();
+
+			searcher.search(path, SearchMode.LEFTMOST_LONGEST,
+					new IMatchSink()
+					{
+						@Override
+						public boolean accept(long start, long end)
+						{
+							matches.add(new Match((int) start, (int) end));
+
+							return true;
+						}
+					}, 3);
+
+			Assert.assertEquals(Arrays.asList(new Match(1, 5),
+					new Match(5, 7), new Match(8, 10)), matches);
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void search_SinkReturnsFalse_StopsSearch() throws Exception
+	{
+		FiniteAutomataSearcher searcher = new FiniteAutomataSearcher(
+				this.finiteAutomata);
+
+		long count = searcher.search(new StringReader("abab"), SearchMode.ALL,
+				new IMatchSink()
+				{
+					@Override
+					public boolean accept(long start, long end)
+					{
+						return false;
+					}
+				});
+
+		Assert.assertEquals(1, count);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void search_TextIsNull_ThrowsIllegalArgumentException()
+			throws Exception
+	{
+		new FiniteAutomataSearcher(this.finiteAutomata).search(
+				(CharSequence) null, SearchMode.ALL);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// ab|abcd|bc
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(4);
+		this.finiteAutomata.setStatesCardinality(7);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(2);
+		this.finiteAutomata.addFiniteState(4);
+		this.finiteAutomata.addFiniteState(6);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(2, 'c', 3));
+		this.finiteAutomata.addTransition(new Transition(3, 'd', 4));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 5));
+		this.finiteAutomata.addTransition(new Transition(5, 'c', 6));
+	}
+}
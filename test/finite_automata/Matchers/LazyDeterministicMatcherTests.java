@@ -0,0 +1,116 @@
+package finite_automata.Matchers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class LazyDeterministicMatcherTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private void assertSameLanguage(IMatcher expected, IMatcher actual,
+			String alphabet, String prefix, int maxLength)
+	{
+		Assert.assertEquals(prefix, expected.accepts(prefix),
+				actual.accepts(prefix));
+
+		if (prefix.length() < maxLength)
+		{
+			for (int i = 0; i < alphabet.length(); i++)
+			{
+				this.assertSameLanguage(expected, actual, alphabet, prefix
+						+ alphabet.charAt(i), maxLength);
+			}
+		}
+	}
+
+	@Test
+	public void accepts_CacheIsLarge_CachesStatesWithoutFlushes()
+	{
+		LazyDeterministicMatcher matcher = new LazyDeterministicMatcher(
+				this.finiteAutomata);
+
+		this.assertSameLanguage(new NonDeterministicMatcher(
+				this.finiteAutomata), matcher, "ab", "", 8);
+
+		Assert.assertEquals(16, matcher.getCachedStatesCount());
+		Assert.assertEquals(0, matcher.getFlushesCount());
+		Assert.assertEquals(0, matcher.getFallbacksCount());
+		Assert.assertEquals(true,
+				matcher.getHitsCount() > matcher.getMissesCount());
+	}
+
+	@Test
+	public void accepts_CacheIsSmall_FlushesAndReturnsValidResult()
+	{
+		LazyDeterministicMatcher matcher = new LazyDeterministicMatcher(
+				this.finiteAutomata, 256);
+
+		this.assertSameLanguage(new NonDeterministicMatcher(
+				this.finiteAutomata), matcher, "ab", "", 8);
+
+		Assert.assertEquals(true, matcher.getFlushesCount() > 0);
+		Assert.assertEquals(true, matcher.getFallbacksCount() > 0);
+		Assert.assertEquals(true, matcher.getCachedStatesCount() <= matcher
+				.getMaxCachedStatesCount());
+	}
+
+	@Test
+	public void accepts_FiniteAutomataIsNotSet_ReturnsFalse()
+	{
+		Assert.assertEquals(false, new LazyDeterministicMatcher(
+				new FiniteAutomata()).accepts(""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void accepts_WordIsNull_ThrowsIllegalArgumentException()
+	{
+		new LazyDeterministicMatcher(this.finiteAutomata).accepts(null);
+	}
+
+	@Test
+	public void constructor_MemoryBudgetIsHuge_GrowsCacheOnDemand()
+	{
+		LazyDeterministicMatcher matcher = new LazyDeterministicMatcher(
+				this.finiteAutomata, Long.MAX_VALUE);
+
+		this.assertSameLanguage(new NonDeterministicMatcher(
+				this.finiteAutomata), matcher, "ab", "", 8);
+
+		Assert.assertEquals(16, matcher.getCachedStatesCount());
+		Assert.assertEquals(0, matcher.getFlushesCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_MemoryBudgetIsTooSmall_ThrowsIllegalArgumentException()
+	{
+		new LazyDeterministicMatcher(this.finiteAutomata, 1);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// (a|b)*a(a|b)(a|b)(a|b): 16 deterministic states.
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(5);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(4);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+
+		for (int i = 1; i < 4; i++)
+		{
+			this.finiteAutomata.addTransition(new Transition(i, 'a', i + 1));
+			this.finiteAutomata.addTransition(new Transition(i, 'b', i + 1));
+		}
+	}
+}
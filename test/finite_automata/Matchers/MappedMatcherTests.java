@@ -0,0 +1,103 @@
+package finite_automata.Matchers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.MappedFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+public class MappedMatcherTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	private Path path;
+
+	private MappedMatcher createMatcher() throws Exception
+	{
+		FiniteAutomataHelper.writeFiniteAutomataToBinaryFile(
+				this.finiteAutomata, this.path);
+
+		return new MappedMatcher(new MappedFiniteAutomata(this.path));
+	}
+
+	@Test
+	public void accepts_AutomataIsNondeterministic_ReturnsSameResultAsNonDeterministicMatcher()
+			throws Exception
+	{
+		MappedMatcher matcher = this.createMatcher();
+		NonDeterministicMatcher nonDeterministicMatcher = new NonDeterministicMatcher(
+				this.finiteAutomata);
+
+		Random random = new Random(17);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			StringBuilder word = new StringBuilder();
+
+			for (int j = random.nextInt(8); j > 0; j--)
+			{
+				word.append("abcd".charAt(random.nextInt(4)));
+			}
+
+			Assert.assertEquals(word.toString(),
+					nonDeterministicMatcher.accepts(word),
+					matcher.accepts(word));
+		}
+	}
+
+	@Test
+	public void accepts_FiniteAutomataIsNotSet_ReturnsFalse() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		Assert.assertEquals(false, this.createMatcher().accepts(""));
+	}
+
+	@Test
+	public void accepts_WordsOfLanguage_ReturnsTrue() throws Exception
+	{
+		MappedMatcher matcher = this.createMatcher();
+
+		Assert.assertEquals(true, matcher.accepts("ab"));
+		Assert.assertEquals(true, matcher.accepts("aab"));
+		Assert.assertEquals(true, matcher.accepts("ac"));
+		Assert.assertEquals(false, matcher.accepts("a"));
+		Assert.assertEquals(false, matcher.accepts("abd"));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// a+b|ac
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(3);
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(2);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 3));
+		this.finiteAutomata.addTransition(new Transition(1, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+		this.finiteAutomata.addTransition(new Transition(3, 'c', 2));
+
+		this.path = Files.createTempFile("finite_automata", ".bin");
+	}
+
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists(this.path);
+	}
+}
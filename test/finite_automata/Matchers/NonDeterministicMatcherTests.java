@@ -0,0 +1,113 @@
+package finite_automata.Matchers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+
+public class NonDeterministicMatcherTests
+{
+	private IFiniteAutomata finiteAutomata;
+
+	@Test
+	public void accepts_AcceptedWords_ReturnsTrue()
+	{
+		NonDeterministicMatcher matcher = new NonDeterministicMatcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(true, matcher.accepts("ab"));
+		Assert.assertEquals(true, matcher.accepts("ac"));
+		Assert.assertEquals(true, matcher.accepts("aaab"));
+		Assert.assertEquals(true, matcher.accepts("aaac"));
+	}
+
+	@Test
+	public void accepts_FiniteAutomataIsNotSet_ReturnsFalse()
+	{
+		NonDeterministicMatcher matcher = new NonDeterministicMatcher(
+				new FiniteAutomata());
+
+		Assert.assertEquals(false, matcher.accepts(""));
+	}
+
+	@Test
+	public void accepts_ManyStates_ReturnsValidResult() throws Exception
+	{
+		// (a|b)*a(a|b){n - 2}: the n-th character from the end is 'a'.
+		int statesCardinality = 150;
+
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(statesCardinality);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(statesCardinality - 1);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+
+		for (int i = 1; i < statesCardinality - 1; i++)
+		{
+			this.finiteAutomata.addTransition(new Transition(i, 'a', i + 1));
+			this.finiteAutomata.addTransition(new Transition(i, 'b', i + 1));
+		}
+
+		StringBuilder word = new StringBuilder("bbba");
+
+		for (int i = 0; i < statesCardinality - 2; i++)
+		{
+			word.append((i % 3 == 0) ? 'a' : 'b');
+		}
+
+		NonDeterministicMatcher matcher = new NonDeterministicMatcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(true, matcher.accepts(word));
+
+		word.setCharAt(3, 'b');
+
+		Assert.assertEquals(false, matcher.accepts(word));
+	}
+
+	@Test
+	public void accepts_NotAcceptedWords_ReturnsFalse()
+	{
+		NonDeterministicMatcher matcher = new NonDeterministicMatcher(
+				this.finiteAutomata);
+
+		Assert.assertEquals(false, matcher.accepts(""));
+		Assert.assertEquals(false, matcher.accepts("a"));
+		Assert.assertEquals(false, matcher.accepts("b"));
+		Assert.assertEquals(false, matcher.accepts("abc"));
+		Assert.assertEquals(false, matcher.accepts("ad"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void accepts_WordIsNull_ThrowsIllegalArgumentException()
+	{
+		new NonDeterministicMatcher(this.finiteAutomata).accepts(null);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new FiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(3);
+		this.finiteAutomata.setStatesCardinality(4);
+		this.finiteAutomata.setInitialState(0);
+
+		this.finiteAutomata.addFiniteState(3);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 3));
+		this.finiteAutomata.addTransition(new Transition(2, 'c', 3));
+	}
+}
@@ -0,0 +1,83 @@
+package finite_automata.Matchers;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.FiniteAutomata;
+import finite_automata.IFiniteAutomata;
+import finite_automata.Transition;
+import finite_automata.Helpers.ProductOperation;
+
+public class ProductMatcherTests
+{
+	private IFiniteAutomata first;
+
+	private IFiniteAutomata second;
+
+	@Test
+	public void accepts_Difference_AcceptsWordsOfFirstOnly()
+	{
+		ProductMatcher matcher = new ProductMatcher(this.first, this.second,
+				ProductOperation.DIFFERENCE);
+
+		Assert.assertEquals(true, matcher.accepts("ba"));
+		Assert.assertEquals(false, matcher.accepts("aab"));
+		Assert.assertEquals(false, matcher.accepts("bb"));
+	}
+
+	@Test
+	public void accepts_Intersection_DoesNotRunSecondMatcherOnRejectedWord()
+			throws Exception
+	{
+		IMatcher second = new IMatcher()
+		{
+			@Override
+			public boolean accepts(CharSequence word)
+			{
+				throw new IllegalStateException();
+			}
+		};
+
+		ProductMatcher matcher = new ProductMatcher(new CompiledFiniteAutomata(
+				this.first), second, ProductOperation.INTERSECTION);
+
+		Assert.assertEquals(false, matcher.accepts("bb"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_OperationIsNull_ThrowsIllegalArgumentException()
+	{
+		new ProductMatcher(this.first, this.second, null);
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		// Words, containing 'a'.
+		this.first = new FiniteAutomata();
+
+		this.first.setAlphabetCardinality(2);
+		this.first.setStatesCardinality(2);
+		this.first.setInitialState(0);
+		this.first.addFiniteState(1);
+
+		this.first.addTransition(new Transition(0, 'a', 1));
+		this.first.addTransition(new Transition(0, 'b', 0));
+		this.first.addTransition(new Transition(1, 'a', 1));
+		this.first.addTransition(new Transition(1, 'b', 1));
+
+		// Words, ending with 'b'.
+		this.second = new FiniteAutomata();
+
+		this.second.setAlphabetCardinality(2);
+		this.second.setStatesCardinality(2);
+		this.second.setInitialState(0);
+		this.second.addFiniteState(1);
+
+		this.second.addTransition(new Transition(0, 'a', 0));
+		this.second.addTransition(new Transition(0, 'b', 1));
+		this.second.addTransition(new Transition(1, 'a', 0));
+		this.second.addTransition(new Transition(1, 'b', 1));
+	}
+}
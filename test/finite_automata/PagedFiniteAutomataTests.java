@@ -0,0 +1,168 @@
+package finite_automata;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Exceptions.NonExistentTransitionException;
+import finite_automata.Exceptions.TransitionAlreadyExistsException;
+
+public class PagedFiniteAutomataTests
+{
+	private PagedFiniteAutomata finiteAutomata;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void addTransition_InvalidTransition_ThrowsIllegalArgumentException()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'c', 1));
+	}
+
+	@Test(expected = TransitionAlreadyExistsException.class)
+	public void addTransition_TransitionAlreadyExists_ThrowsTransitionAlreadyExistsException()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+	}
+
+	@Test
+	public void addTransition_TransitionsAreKeptSorted()
+			throws TransitionAlreadyExistsException
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+		this.finiteAutomata.addTransition(new Transition(2, 'a', 0));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 0),
+				new Transition(0, 'a', 1), new Transition(0, 'a', 2),
+				new Transition(0, 'b', 0)), this.finiteAutomata
+				.getTransitionsMap().get(0));
+		Assert.assertEquals(new Transition(0, 'a', 2), this.finiteAutomata
+				.getTransitionsMap().get(0).get(2));
+		Assert.assertEquals(6, this.finiteAutomata.getTransitionsCount());
+	}
+
+	@Test
+	public void constructor_CopiesFiniteAutomata() throws Exception
+	{
+		IFiniteAutomata copy = new PagedFiniteAutomata(new CompactFiniteAutomata(
+				this.finiteAutomata));
+
+		Assert.assertEquals(this.finiteAutomata.getAlphabet(),
+				copy.getAlphabet());
+		Assert.assertEquals(this.finiteAutomata.getStatesCardinality(),
+				copy.getStatesCardinality());
+		Assert.assertEquals(Arrays.asList(2), copy.getFiniteStates());
+		Assert.assertEquals(this.finiteAutomata.getTransitionsMap(),
+				copy.getTransitionsMap());
+	}
+
+	@Test
+	public void constructor_TransitionsAreNotSorted_KeepsTransitionsSorted()
+			throws Exception
+	{
+		FiniteAutomata finiteAutomata = new FiniteAutomata();
+
+		finiteAutomata.setAlphabetCardinality(2);
+		finiteAutomata.setStatesCardinality(3);
+
+		finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		finiteAutomata.addTransition(new Transition(0, 'a', 2));
+		finiteAutomata.addTransition(new Transition(0, 'a', 0));
+
+		PagedFiniteAutomata copy = new PagedFiniteAutomata(finiteAutomata);
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 0),
+				new Transition(0, 'a', 2), new Transition(0, 'b', 0)), copy
+				.getTransitionsMap().get(0));
+		Assert.assertEquals(3, copy.getTransitionsCount());
+
+		copy.addTransition(new Transition(0, 'b', 1));
+		copy.addTransition(new Transition(0, 'a', 1));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 0),
+				new Transition(0, 'a', 1), new Transition(0, 'a', 2),
+				new Transition(0, 'b', 0), new Transition(0, 'b', 1)), copy
+				.getTransitionsMap().get(0));
+	}
+
+	@Test
+	public void removeTransition_LastTransitionIsRemoved_AppendsAfterPreviousOne()
+			throws Exception
+	{
+		this.finiteAutomata.addTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.removeTransition(new Transition(0, 'b', 0));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 2));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 1),
+				new Transition(0, 'a', 2)), this.finiteAutomata
+				.getTransitionsMap().get(0));
+
+		this.finiteAutomata.removeTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.removeTransition(new Transition(0, 'a', 2));
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 0));
+
+		Assert.assertEquals(Arrays.asList(new Transition(0, 'a', 0)),
+				this.finiteAutomata.getTransitionsMap().get(0));
+	}
+
+	@Test(expected = NonExistentTransitionException.class)
+	public void removeTransition_TransitionDoesNotExist_ThrowsNonExistentTransitionException()
+			throws NonExistentTransitionException
+	{
+		this.finiteAutomata.removeTransition(new Transition(0, 'b', 1));
+	}
+
+	@Test
+	public void removeTransition_TransitionIsRemovedAndSlotIsReused()
+			throws Exception
+	{
+		this.finiteAutomata.removeTransition(new Transition(0, 'a', 1));
+
+		Assert.assertEquals(0, this.finiteAutomata.getTransitionsMap().get(0)
+				.size());
+		Assert.assertEquals(1, this.finiteAutomata.getTransitionsCount());
+
+		this.finiteAutomata.addTransition(new Transition(2, 'b', 0));
+
+		Assert.assertEquals(Arrays.asList(new Transition(2, 'b', 0)),
+				this.finiteAutomata.getTransitionsMap().get(2));
+	}
+
+	@Test
+	public void setStatesCardinality_ManyStates_AllocatesOnlyTransitions()
+			throws Exception
+	{
+		int statesCardinality = 50000000;
+
+		this.finiteAutomata.setStatesCardinality(statesCardinality);
+
+		this.finiteAutomata.addTransition(new Transition(statesCardinality - 1,
+				'a', 0));
+
+		Assert.assertEquals(statesCardinality,
+				this.finiteAutomata.getTransitionsMap().size());
+		Assert.assertEquals(0, this.finiteAutomata.getTransitionsMap().get(7)
+				.size());
+		Assert.assertEquals(Arrays.asList(new Transition(
+				statesCardinality - 1, 'a', 0)), this.finiteAutomata
+				.getTransitionsMap().get(statesCardinality - 1));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.finiteAutomata = new PagedFiniteAutomata();
+
+		this.finiteAutomata.setAlphabetCardinality(2);
+		this.finiteAutomata.setStatesCardinality(3);
+		this.finiteAutomata.setInitialState(0);
+		this.finiteAutomata.addFiniteState(2);
+
+		this.finiteAutomata.addTransition(new Transition(0, 'a', 1));
+		this.finiteAutomata.addTransition(new Transition(1, 'b', 2));
+	}
+}
@@ -0,0 +1,65 @@
+package finite_automata.Primitives;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntIntHashMapTests
+{
+	@Test
+	public void get_KeyIsAbsent_ReturnsDefaultValue()
+	{
+		IntIntHashMap map = new IntIntHashMap();
+
+		map.put(1, 10);
+
+		Assert.assertEquals(-1, map.get(2, -1));
+		Assert.assertEquals(false, map.containsKey(2));
+	}
+
+	@Test
+	public void put_ManyKeys_GrowsAndKeepsValues()
+	{
+		IntIntHashMap map = new IntIntHashMap();
+
+		for (int key = 0; key < 100000; key++)
+		{
+			map.put(key * 7, key);
+		}
+
+		map.put(7, -5);
+
+		Assert.assertEquals(100000, map.size());
+		Assert.assertEquals(-5, map.get(7, -1));
+		Assert.assertEquals(99999, map.get(99999 * 7, -1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void put_KeyIsNegative_ThrowsIllegalArgumentException()
+	{
+		new IntIntHashMap().put(-1, 0);
+	}
+
+	@Test
+	public void remove_KeysOfCluster_KeepsOtherKeysReachable()
+	{
+		IntIntHashMap map = new IntIntHashMap();
+
+		for (int key = 0; key < 1000; key++)
+		{
+			map.put(key, key + 1);
+		}
+
+		for (int key = 0; key < 1000; key += 2)
+		{
+			Assert.assertEquals(true, map.remove(key));
+		}
+
+		Assert.assertEquals(false, map.remove(0));
+		Assert.assertEquals(500, map.size());
+
+		for (int key = 0; key < 1000; key++)
+		{
+			Assert.assertEquals((key % 2 == 0) ? -1 : key + 1, map.get(key, -1));
+		}
+	}
+}
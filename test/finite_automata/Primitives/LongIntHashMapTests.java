@@ -0,0 +1,38 @@
+package finite_automata.Primitives;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongIntHashMapTests
+{
+	@Test
+	public void put_KeysDifferInHighBits_KeepsSeparateValues()
+	{
+		LongIntHashMap map = new LongIntHashMap();
+
+		for (int i = 0; i < 10000; i++)
+		{
+			map.put(((long) i << 32) | 5, i);
+		}
+
+		Assert.assertEquals(10000, map.size());
+		Assert.assertEquals(1234, map.get((1234L << 32) | 5, -1));
+		Assert.assertEquals(-1, map.get(1234L << 32, -1));
+	}
+
+	@Test
+	public void remove_KeyIsRemoved_OtherKeysStayReachable()
+	{
+		LongIntHashMap map = new LongIntHashMap();
+
+		for (long key = 0; key < 100; key++)
+		{
+			map.put(key, (int) key);
+		}
+
+		Assert.assertEquals(true, map.remove(50));
+		Assert.assertEquals(false, map.containsKey(50));
+		Assert.assertEquals(99, map.get(99, -1));
+		Assert.assertEquals(99, map.size());
+	}
+}
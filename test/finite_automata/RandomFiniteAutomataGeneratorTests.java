@@ -0,0 +1,192 @@
+package finite_automata;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import finite_automata.Helpers.AlphabetHelper;
+import finite_automata.Helpers.FiniteAutomataHelper;
+
+public class RandomFiniteAutomataGeneratorTests
+{
+	private RandomFiniteAutomataGenerator generator;
+
+	private Path path;
+
+	private void assertEquals(IFiniteAutomata expected, IFiniteAutomata actual)
+	{
+		Assert.assertEquals(expected.getAlphabet(), actual.getAlphabet());
+		Assert.assertEquals(expected.getStatesCardinality(),
+				actual.getStatesCardinality());
+		Assert.assertEquals(expected.getInitialState(),
+				actual.getInitialState());
+		Assert.assertEquals(new HashSet<Integer>(expected.getFiniteStates()),
+				new HashSet<Integer>(actual.getFiniteStates()));
+
+		for (int state = 0; state < expected.getStatesCardinality(); state++)
+		{
+			Assert.assertEquals(new HashSet<Transition>(expected
+					.getTransitionsMap().get(state)), new HashSet<Transition>(
+					actual.getTransitionsMap().get(state)));
+		}
+	}
+
+	@Test
+	public void generate_Accessible_AllStatesAreReachable()
+	{
+		IFiniteAutomata finiteAutomata = this.generator.setAccessible(true)
+				.setTransitionsPerState(2).generate();
+
+		int statesCardinality = finiteAutomata.getStatesCardinality();
+		boolean[] visited = new boolean[statesCardinality];
+		int[] queue = new int[statesCardinality];
+		int queueSize = 0;
+
+		visited[0] = true;
+		queue[queueSize++] = 0;
+
+		for (int i = 0; i < queueSize; i++)
+		{
+			for (Transition transition : finiteAutomata.getTransitionsMap()
+					.get(queue[i]))
+			{
+				if (!visited[transition.getToState()])
+				{
+					visited[transition.getToState()] = true;
+					queue[queueSize++] = transition.getToState();
+				}
+			}
+		}
+
+		Assert.assertTrue(statesCardinality > 0);
+		Assert.assertTrue(statesCardinality <= 1000);
+		Assert.assertEquals(statesCardinality, queueSize);
+	}
+
+	@Test
+	public void generate_Deterministic_ReturnsDeterministicAutomata()
+	{
+		IFiniteAutomata finiteAutomata = this.generator
+				.setTransitionsPerState(1.5).generate();
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata);
+
+		Assert.assertEquals(-1, finiteAutomataTable.findNonDeterministicCell());
+
+		// Every state has 1 or 2 transitions.
+		int transitionsCount = finiteAutomataTable.getTransitionsCount();
+
+		Assert.assertTrue(transitionsCount > 1400 && transitionsCount < 1600);
+	}
+
+	@Test
+	public void generate_Nondeterministic_ReturnsAutomataWithDensity()
+	{
+		IFiniteAutomata finiteAutomata = this.generator
+				.setDeterministic(false).setTransitionsPerState(4).generate();
+
+		FiniteAutomataTable finiteAutomataTable = new FiniteAutomataTable(
+				finiteAutomata, false);
+
+		// Repeated transitions are rare.
+		int transitionsCount = finiteAutomataTable.getTransitionsCount();
+
+		Assert.assertTrue(transitionsCount > 3950 && transitionsCount <= 4000);
+		Assert.assertTrue(finiteAutomataTable.findNonDeterministicCell() != -1);
+	}
+
+	@Test
+	public void generate_RatioIsZero_MakesLastStateFinite()
+	{
+		IFiniteAutomata finiteAutomata = this.generator
+				.setFiniteStatesRatio(0).generate();
+
+		Assert.assertEquals(1, finiteAutomata.getFiniteStates().size());
+		Assert.assertTrue(finiteAutomata.getFiniteStates().contains(999));
+	}
+
+	@Test
+	public void generate_SeedDiffers_ReturnsDifferentAutomata()
+	{
+		IFiniteAutomata finiteAutomata = this.generator.generate();
+
+		Assert.assertNotEquals(FiniteAutomataHelper
+				.convertFiniteAutomataToList(finiteAutomata),
+				FiniteAutomataHelper
+						.convertFiniteAutomataToList(this.generator.setSeed(18)
+								.generate()));
+	}
+
+	@Test
+	public void generate_SeedIsSame_ReturnsSameAutomata()
+	{
+		this.assertEquals(this.generator.generate(), this.generator.generate());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setFiniteStatesRatio_RatioIsGreaterThanOne_ThrowsIllegalArgumentException()
+	{
+		this.generator.setFiniteStatesRatio(1.5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setStatesCardinality_CardinalityIsZero_ThrowsIllegalArgumentException()
+	{
+		this.generator.setStatesCardinality(0);
+	}
+
+	@Test
+	public void writeToBinaryFile_WritesGeneratedAutomata() throws Exception
+	{
+		this.generator.setAlphabet(AlphabetHelper.getByteAlphabet())
+				.setDeterministic(false).setAccessible(true)
+				.setTransitionsPerState(3);
+
+		this.generator.writeToBinaryFile(this.path);
+
+		this.assertEquals(this.generator.generate(), new MappedFiniteAutomata(
+				this.path, true));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeToFile_AlphabetIsArbitrary_ThrowsIllegalStateException()
+			throws Exception
+	{
+		this.generator.setAlphabet(AlphabetHelper.getAlphabet("xy"));
+
+		this.generator.writeToFile(this.path);
+	}
+
+	@Test
+	public void writeToFile_WritesGeneratedAutomata() throws Exception
+	{
+		this.generator.setAccessible(true).setTransitionsPerState(2.5);
+
+		this.generator.writeToFile(this.path);
+
+		this.assertEquals(this.generator.generate(),
+				FiniteAutomataHelper.getFiniteAutomataFromFile(this.path));
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.generator = new RandomFiniteAutomataGenerator()
+				.setAlphabetCardinality(3).setStatesCardinality(1000)
+				.setSeed(17);
+
+		this.path = Files.createTempFile("finite_automata", ".txt");
+	}
+
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists(this.path);
+	}
+}